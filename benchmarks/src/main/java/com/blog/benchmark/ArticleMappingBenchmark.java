@@ -0,0 +1,57 @@
+package com.blog.benchmark;
+
+import com.blog.dto.ArticleDto;
+import com.blog.entity.Article;
+import com.blog.service.impl.ArticleServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文章实体到DTO的转换（ArticleServiceImpl.convertToDto），列表接口每条记录调用一次
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArticleMappingBenchmark {
+
+    @Param({"1", "5"})
+    private int tagCount;
+
+    private ArticleServiceImpl articleService;
+
+    /** convertToDto是私有方法，通过MethodHandle调用，避免反射调用本身的开销计入结果 */
+    private MethodHandle convertToDto;
+
+    private Article article;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        articleService = new ArticleServiceImpl();
+        convertToDto = MethodHandles.privateLookupIn(ArticleServiceImpl.class, MethodHandles.lookup())
+                .findVirtual(ArticleServiceImpl.class, "convertToDto",
+                        MethodType.methodType(ArticleDto.class, Article.class));
+        article = BenchmarkFixtures.article(1L, tagCount);
+    }
+
+    @Benchmark
+    public ArticleDto convertToDto() throws Throwable {
+        return (ArticleDto) convertToDto.invokeExact(articleService, article);
+    }
+}
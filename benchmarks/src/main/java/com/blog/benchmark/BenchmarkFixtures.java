@@ -0,0 +1,148 @@
+package com.blog.benchmark;
+
+import com.blog.config.JwtUtils;
+import com.blog.config.UserDetailsImpl;
+import com.blog.dto.ArticleDto;
+import com.blog.dto.CategoryDto;
+import com.blog.dto.TagDto;
+import com.blog.dto.UserDto;
+import com.blog.entity.Article;
+import com.blog.entity.Category;
+import com.blog.entity.Tag;
+import com.blog.entity.User;
+import com.blog.service.impl.TokenRevocationServiceImpl;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 基准测试共用的样例数据
+ * 组件不启动Spring容器，通过构造方法传入与容器中一致的配置。
+ */
+final class BenchmarkFixtures {
+
+    /** 基准测试使用的JWT密钥，HS512要求至少64字节 */
+    static final String JWT_SECRET = "benchmark-secret-key-that-is-long-enough-for-hs512-signatures-0123456789";
+
+    /** application.yml中的jwt.expiration */
+    static final int JWT_EXPIRATION_SECONDS = 900;
+
+    static final String USERNAME = "benchmark-user";
+
+    private static final String CONTENT = "正文内容，".repeat(200);
+
+    private BenchmarkFixtures() {
+    }
+
+    static User user() {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername(USERNAME);
+        user.setEmail(USERNAME + "@example.com");
+        user.setPassword("password");
+        user.setNickname("基准用户");
+        user.setAvatar("https://example.com/avatar.png");
+        user.setEnabled(true);
+        user.setCreateTime(LocalDateTime.now());
+        user.setUpdateTime(LocalDateTime.now());
+        return user;
+    }
+
+    static Article article(long id, int tagCount) {
+        Category category = new Category();
+        category.setId(1L);
+        category.setName("技术");
+        category.setDescription("技术文章");
+
+        List<Tag> tags = new ArrayList<>();
+        for (int i = 0; i < tagCount; i++) {
+            Tag tag = new Tag();
+            tag.setId((long) i + 1);
+            tag.setName("标签" + i);
+            tags.add(tag);
+        }
+
+        Article article = new Article();
+        article.setId(id);
+        article.setTitle("基准测试文章 " + id);
+        article.setContent(CONTENT);
+        article.setSummary("摘要 " + id);
+        article.setCoverImage("https://example.com/cover/" + id + ".png");
+        article.setPublished(true);
+        article.setViewCount(1024);
+        article.setLikeCount(64);
+        article.setVersion(3L);
+        article.setCreateTime(LocalDateTime.now());
+        article.setUpdateTime(LocalDateTime.now());
+        article.setAuthor(user());
+        article.setCategory(category);
+        article.setTags(tags);
+        return article;
+    }
+
+    static ArticleDto articleDto(long id, int tagCount) {
+        UserDto author = new UserDto();
+        author.setId(1L);
+        author.setUsername(USERNAME);
+        author.setEmail(USERNAME + "@example.com");
+        author.setNickname("基准用户");
+        author.setAvatar("https://example.com/avatar.png");
+        author.setEnabled(true);
+        author.setCreateTime(LocalDateTime.now());
+        author.setUpdateTime(LocalDateTime.now());
+
+        CategoryDto category = new CategoryDto();
+        category.setId(1L);
+        category.setName("技术");
+        category.setDescription("技术文章");
+
+        List<TagDto> tags = new ArrayList<>();
+        for (int i = 0; i < tagCount; i++) {
+            TagDto tag = new TagDto();
+            tag.setId((long) i + 1);
+            tag.setName("标签" + i);
+            tags.add(tag);
+        }
+
+        return new ArticleDto(id, "基准测试文章 " + id, CONTENT, "摘要 " + id,
+                "https://example.com/cover/" + id + ".png", true, 1024, 64,
+                LocalDateTime.now(), LocalDateTime.now(), 3L, author, tags, category);
+    }
+
+    /** application.yml中的jwt.cache-size */
+    static final int JWT_CACHE_SIZE = 10000;
+
+    /**
+     * 按配置创建并初始化JwtUtils
+     */
+    static JwtUtils jwtUtils() {
+        return jwtUtils(JWT_CACHE_SIZE);
+    }
+
+    /**
+     * 创建并初始化JwtUtils
+     * @param cacheSize 已验证令牌缓存的条目上限，为0时每次都校验签名
+     */
+    static JwtUtils jwtUtils(int cacheSize) {
+        JwtUtils jwtUtils = new JwtUtils(JWT_SECRET, JWT_EXPIRATION_SECONDS, cacheSize);
+        jwtUtils.init();
+        return jwtUtils;
+    }
+
+    /**
+     * 按配置创建并初始化令牌吊销服务，不连接数据库：过滤器未命中时不会访问数据访问层
+     */
+    static TokenRevocationServiceImpl tokenRevocationService() {
+        TokenRevocationServiceImpl service = new TokenRevocationServiceImpl(JWT_EXPIRATION_SECONDS, 86400L, 65536, 4);
+        service.init();
+        return service;
+    }
+
+    static String token(JwtUtils jwtUtils) {
+        UserDetailsImpl principal = UserDetailsImpl.build(user());
+        return jwtUtils.generateJwtToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
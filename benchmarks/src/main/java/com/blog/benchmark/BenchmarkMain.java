@@ -0,0 +1,101 @@
+package com.blog.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * benchmarks.jar入口
+ * 接受JMH的全部命令行参数，结果默认以JSON格式写入target/jmh-result.json。
+ * 通过 -Dbaseline=文件 指定基线结果时，运行结束后逐项输出与基线的差异；
+ * 再指定 -Dmax.regression=百分比 时，任一项退化超过该比例则以非零状态退出，便于在CI中使用。
+ */
+public final class BenchmarkMain {
+
+    private static final String DEFAULT_RESULT_FILE = "target/jmh-result.json";
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList()) {
+            // 帮助和列表等命令交给JMH原样处理
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        String resultFile = commandLine.getResult().orElse(DEFAULT_RESULT_FILE);
+        new File(resultFile).getAbsoluteFile().getParentFile().mkdirs();
+        Options options = new OptionsBuilder()
+                .parent(commandLine)
+                .resultFormat(commandLine.getResultFormat().orElse(ResultFormatType.JSON))
+                .result(resultFile)
+                .build();
+        new Runner(options).run();
+
+        String baseline = System.getProperty("baseline");
+        if (baseline != null) {
+            double worst = compare(new File(baseline), new File(resultFile));
+            String maxRegression = System.getProperty("max.regression");
+            if (maxRegression != null && worst > Double.parseDouble(maxRegression)) {
+                System.err.printf("Regression of %.1f%% exceeds the allowed %s%%%n", worst, maxRegression);
+                System.exit(1);
+            }
+        }
+    }
+
+    /**
+     * 输出当前结果与基线的对比
+     * @param baselineFile 基线JSON结果
+     * @param resultFile 本次JSON结果
+     * @return 最大的退化百分比，没有退化时为0
+     */
+    static double compare(File baselineFile, File resultFile) throws IOException {
+        Map<String, JsonNode> baseline = readScores(baselineFile);
+        Map<String, JsonNode> current = readScores(resultFile);
+        double worst = 0;
+
+        System.out.printf("%n%-80s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode result = entry.getValue();
+            double score = result.path("primaryMetric").path("score").asDouble();
+            String unit = result.path("primaryMetric").path("scoreUnit").asText();
+            JsonNode previous = baseline.get(entry.getKey());
+            if (previous == null) {
+                System.out.printf("%-80s %14s %14.3f %9s  %s%n", entry.getKey(), "-", score, "new", unit);
+                continue;
+            }
+            double baselineScore = previous.path("primaryMetric").path("score").asDouble();
+            double change = baselineScore == 0 ? 0 : (score - baselineScore) / baselineScore * 100;
+            // 吞吐量模式分数越高越好，其余模式（耗时）分数越低越好
+            double regression = "thrpt".equals(result.path("mode").asText()) ? -change : change;
+            worst = Math.max(worst, regression);
+            System.out.printf("%-80s %14.3f %14.3f %+8.1f%%  %s%n", entry.getKey(), baselineScore, score, change, unit);
+        }
+        return worst;
+    }
+
+    /**
+     * 读取JMH的JSON结果，以“方法名 + 参数”为键
+     */
+    private static Map<String, JsonNode> readScores(File file) throws IOException {
+        Map<String, JsonNode> scores = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            result.path("params").fields().forEachRemaining(param ->
+                    key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            scores.put(key.toString(), result);
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,80 @@
+package com.blog.benchmark;
+
+import com.blog.config.JwtAuthTokenFilter;
+import com.blog.config.JwtUtils;
+import com.blog.config.UserDetailsImpl;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT认证过滤器处理一个请求的开销
+ * 用户信息由令牌中的声明构建，结果包含令牌验证（命中已验证令牌缓存）、按用户和按令牌的吊销检查和认证对象构建；
+ * 用户详情服务只在早期令牌回退时使用，这里替换为返回固定用户的实现。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthTokenFilterBenchmark {
+
+    private static final FilterChain NOOP_CHAIN = (request, response) -> { };
+
+    private JwtAuthTokenFilter filter;
+
+    private MockHttpServletRequest authenticatedRequest;
+
+    private MockHttpServletRequest anonymousRequest;
+
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        JwtUtils jwtUtils = BenchmarkFixtures.jwtUtils();
+        UserDetailsImpl userDetails = UserDetailsImpl.build(BenchmarkFixtures.user());
+        UserDetailsService userDetailsService = username -> userDetails;
+
+        filter = new JwtAuthTokenFilter(jwtUtils, userDetailsService,
+                BenchmarkFixtures.tokenRevocationService());
+
+        authenticatedRequest = new MockHttpServletRequest("GET", "/api/articles/1");
+        authenticatedRequest.addHeader("Authorization", "Bearer " + BenchmarkFixtures.token(jwtUtils));
+        anonymousRequest = new MockHttpServletRequest("GET", "/api/articles/1");
+        response = new MockHttpServletResponse();
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void authenticatedRequest() throws ServletException, IOException {
+        filter.doFilter(authenticatedRequest, response, NOOP_CHAIN);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void anonymousRequest() throws ServletException, IOException {
+        filter.doFilter(anonymousRequest, response, NOOP_CHAIN);
+    }
+}
@@ -0,0 +1,130 @@
+package com.blog.benchmark;
+
+import com.blog.util.FileResponseWriter;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 输出一个图片文件的开销
+ * heapCopy是改动前Resource消息转换器的做法：InputStream读入堆上的缓冲区再写入响应流；
+ * channelCopy是FileResponseWriter在容器不支持sendfile时的做法（按位置读入固定大小的缓冲区）；
+ * sendfile只设置请求属性，文件内容由容器发送，这里测到的是剩余的头处理开销。
+ * 响应输出流丢弃写入的数据，不计入缓冲区扩容。每MB分配量用-prof gc的gc.alloc.rate.norm乘以(1MB/size)换算，
+ * 吞吐量（MB/s）用size除以每次耗时换算。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MediaServingBenchmark {
+
+    /** 文件大小：卡片图和大图的典型大小 */
+    @Param({"65536", "1048576"})
+    private int size;
+
+    private Path file;
+
+    /**
+     * 丢弃写入数据的响应
+     */
+    private static class DiscardingResponse extends MockHttpServletResponse {
+
+        private final ServletOutputStream output = new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        };
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return output;
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        byte[] content = new byte[size];
+        new Random(42).nextBytes(content);
+        file = Files.createTempFile("media-benchmark-", ".jpg");
+        Files.write(file, content);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * 每个线程自己的请求和响应，每次调用前重置
+     */
+    @State(Scope.Thread)
+    public static class Exchange {
+
+        private MockHttpServletRequest request;
+
+        private DiscardingResponse response;
+
+        @Setup(Level.Invocation)
+        public void setUp() {
+            request = new MockHttpServletRequest("GET", "/media/card.jpg");
+            response = new DiscardingResponse();
+        }
+    }
+
+    @Benchmark
+    public long heapCopy(Exchange exchange) throws IOException {
+        try (InputStream input = Files.newInputStream(file)) {
+            return input.transferTo(exchange.response.getOutputStream());
+        }
+    }
+
+    @Benchmark
+    public Object channelCopy(Exchange exchange) throws IOException {
+        FileResponseWriter.write(exchange.request, exchange.response, file, "image/jpeg", "no-store");
+        return exchange.response;
+    }
+
+    @Benchmark
+    public Object sendfile(Exchange exchange) throws IOException {
+        exchange.request.setAttribute(FileResponseWriter.SENDFILE_SUPPORTED, Boolean.TRUE);
+        FileResponseWriter.write(exchange.request, exchange.response, file, "image/jpeg", "no-store");
+        return exchange.request.getAttribute(FileResponseWriter.SENDFILE_END);
+    }
+}
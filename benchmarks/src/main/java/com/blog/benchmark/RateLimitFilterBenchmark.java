@@ -0,0 +1,95 @@
+package com.blog.benchmark;
+
+import com.blog.config.RateLimitFilter;
+import com.blog.config.RateLimitProperties;
+import com.blog.util.TokenBucketLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 限流过滤器处理一个请求的开销
+ * limitedRoute匹配按IP限流的类别并取令牌（容量足够大，不会被拒绝），所有线程共用同一个令牌桶，
+ * 用-t指定线程数可以测量CAS竞争；
+ * unlimitedRoute是不属于任何类别的GET请求，只经过方法匹配；tryAcquire只测令牌桶本身。
+ * 请求和响应对象按线程分配，结果包含OncePerRequestFilter本身的请求属性读写。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RateLimitFilterBenchmark {
+
+    private static final FilterChain NOOP_CHAIN = (request, response) -> { };
+
+    private RateLimitFilter filter;
+
+    private TokenBucketLimiter limiter;
+
+    /**
+     * 每个线程自己的请求和响应
+     */
+    @State(Scope.Thread)
+    public static class Requests {
+
+        private MockHttpServletRequest limited;
+
+        private MockHttpServletRequest unlimited;
+
+        private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        @Setup
+        public void setUp() {
+            limited = new MockHttpServletRequest("POST", "/api/auth/signin");
+            limited.setRemoteAddr("10.0.0.1");
+            unlimited = new MockHttpServletRequest("GET", "/api/articles/1");
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        RateLimitProperties.Route auth = new RateLimitProperties.Route();
+        auth.setName("auth");
+        auth.setMethods(List.of("POST"));
+        auth.setPaths(List.of("/api/auth/signin", "/api/auth/signup"));
+        auth.setCapacity(Integer.MAX_VALUE / 2);
+        auth.setRefillPerSecond(1_000_000_000);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRoutes(List.of(auth));
+        filter = new RateLimitFilter(properties, new SimpleMeterRegistry());
+        limiter = new TokenBucketLimiter(Integer.MAX_VALUE / 2, 1_000_000_000, 600_000);
+    }
+
+    @Benchmark
+    public void limitedRoute(Requests requests) throws ServletException, IOException {
+        filter.doFilter(requests.limited, requests.response, NOOP_CHAIN);
+    }
+
+    @Benchmark
+    public void unlimitedRoute(Requests requests) throws ServletException, IOException {
+        filter.doFilter(requests.unlimited, requests.response, NOOP_CHAIN);
+    }
+
+    @Benchmark
+    public long tryAcquire() {
+        return limiter.tryAcquire("10.0.0.1");
+    }
+}
@@ -0,0 +1,154 @@
+package com.blog.benchmark;
+
+import com.blog.config.JwtAuthEntryPoint;
+import com.blog.config.JwtAuthTokenFilter;
+import com.blog.config.JwtUtils;
+import com.blog.config.UserDetailsImpl;
+import com.blog.config.WebSecurityConfig;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.web.cors.CorsConfigurationSource;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher;
+
+/**
+ * 匿名GET请求经过安全过滤器链的开销
+ * full只有核心过滤器链，对应引入匿名只读过滤器链之前：公开的文章请求也会经过JWT过滤器、
+ * 安全上下文、匿名认证和授权过滤器；fastPath在此之前注册WebSecurityConfig中的匿名只读过滤器链。
+ * 核心过滤器链按WebSecurityConfig.filterChain搭建，不启动Web容器和数据库。
+ * 过滤器链较长，即时编译需要较长的预热；baseline只创建响应对象，是模拟请求和响应本身的开销。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SecurityFilterChainBenchmark {
+
+    private static final FilterChain NOOP_CHAIN = (request, response) -> { };
+
+    @Param({"full", "fastPath"})
+    private String chain;
+
+    private AnnotationConfigApplicationContext context;
+
+    private Filter springSecurityFilterChain;
+
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext();
+        context.register(CoreChainConfig.class);
+        if ("fastPath".equals(chain)) {
+            context.register(AnonymousReadsConfig.class);
+        }
+        context.refresh();
+        springSecurityFilterChain = context.getBean("springSecurityFilterChain", Filter.class);
+
+        request = new MockHttpServletRequest("GET", "/api/articles/1");
+        request.setServletPath("/api/articles/1");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse anonymousGet() throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        springSecurityFilterChain.doFilter(request, response, NOOP_CHAIN);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse baseline() throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        NOOP_CHAIN.doFilter(request, response);
+        return response;
+    }
+
+    /**
+     * 核心安全过滤器链
+     */
+    @Configuration
+    @EnableWebSecurity
+    static class CoreChainConfig {
+
+        @Bean
+        CorsConfigurationSource corsConfigurationSource() {
+            return new WebSecurityConfig().corsConfigurationSource();
+        }
+
+        @Bean
+        SecurityFilterChain filterChain(HttpSecurity http, CorsConfigurationSource corsConfigurationSource)
+                throws Exception {
+            JwtUtils jwtUtils = BenchmarkFixtures.jwtUtils();
+            UserDetailsImpl userDetails = UserDetailsImpl.build(BenchmarkFixtures.user());
+            UserDetailsService userDetailsService = username -> userDetails;
+            JwtAuthTokenFilter jwtFilter = new JwtAuthTokenFilter(jwtUtils, userDetailsService,
+                    BenchmarkFixtures.tokenRevocationService());
+
+            return http
+                    .cors(cors -> cors.configurationSource(corsConfigurationSource))
+                    .csrf(csrf -> csrf.disable())
+                    .exceptionHandling(ex -> ex.authenticationEntryPoint(new JwtAuthEntryPoint()))
+                    .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                    .authorizeHttpRequests(auth -> auth
+                            .requestMatchers(antMatcher("/api/auth/**")).permitAll()
+                            .requestMatchers(antMatcher("/api/test/**")).permitAll()
+                            .requestMatchers(antMatcher("/api/articles/**")).permitAll()
+                            .requestMatchers(antMatcher("/api/categories/**")).permitAll()
+                            .requestMatchers(antMatcher("/api/tags/**")).permitAll()
+                            .requestMatchers(antMatcher("/api/users/public/**")).permitAll()
+                            .requestMatchers(antMatcher("/api/comments/**")).permitAll()
+                            .anyRequest().authenticated())
+                    .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+                    .build();
+        }
+    }
+
+    /**
+     * 匿名只读过滤器链
+     */
+    @Configuration
+    static class AnonymousReadsConfig {
+
+        @Bean
+        @Order(1)
+        SecurityFilterChain anonymousReadFilterChain(HttpSecurity http, CorsConfigurationSource corsConfigurationSource)
+                throws Exception {
+            return WebSecurityConfig.anonymousReads(http, corsConfigurationSource).build();
+        }
+    }
+}
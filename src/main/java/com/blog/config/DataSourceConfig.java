@@ -1,12 +1,143 @@
 package com.blog.config;
 
+import com.blog.service.SqlStatsService;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * 数据源配置类
- * 用于配置数据源相关设置
+ * 主库使用spring.datasource配置；在blog.datasource.replicas中配置从库后，
+ * 只读事务路由到从库，写操作和非只读事务使用主库。
+ * 应用使用的数据源外层包裹SQL统计代理（blog.sql.enabled），记录每条语句的耗时。
  */
 @Configuration
+@EnableConfigurationProperties({DataSourceRoutingProperties.class, SqlMetricsProperties.class})
 public class DataSourceConfig {
-    
-}
\ No newline at end of file
+
+    /**
+     * 主库连接池
+     * @param properties spring.datasource配置
+     * @return 主库数据源
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * 应用使用的数据源，未配置从库时直接使用主库
+     * @param primaryDataSource 主库数据源
+     * @param properties spring.datasource配置
+     * @param routingProperties 读写分离配置
+     * @param sqlMetricsProperties SQL统计配置
+     * @param sqlStatsService SQL执行统计服务
+     * @param meterRegistry 指标注册表，用于从库连接池指标（主库连接池由Actuator自动注册）
+     * @return 数据源
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, DataSourceProperties properties,
+                                 DataSourceRoutingProperties routingProperties,
+                                 SqlMetricsProperties sqlMetricsProperties, SqlStatsService sqlStatsService,
+                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        DataSource dataSource = routingDataSource(primaryDataSource, properties, routingProperties,
+                meterRegistry.getIfAvailable());
+        if (!sqlMetricsProperties.isEnabled()) {
+            return dataSource;
+        }
+        return ProxyDataSourceBuilder.create(dataSource)
+                .name("blog")
+                .listener(new SqlMetricsListener(sqlStatsService, sqlMetricsProperties))
+                .build();
+    }
+
+    /**
+     * 配置了从库时创建读写分离数据源，否则返回主库
+     */
+    private DataSource routingDataSource(HikariDataSource primaryDataSource, DataSourceProperties properties,
+                                         DataSourceRoutingProperties routingProperties, MeterRegistry meterRegistry) {
+        List<DataSourceRoutingProperties.Replica> replicas = routingProperties.getReplicas();
+        if (replicas.isEmpty()) {
+            return primaryDataSource;
+        }
+
+        Map<String, DataSource> replicaDataSources = new LinkedHashMap<>();
+        for (int i = 0; i < replicas.size(); i++) {
+            replicaDataSources.put("replica-" + i, createReplicaDataSource(
+                    "replica-" + i, replicas.get(i), primaryDataSource, properties, meterRegistry));
+        }
+
+        ReadWriteRoutingDataSource routingDataSource =
+                new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSources, routingProperties);
+        routingDataSource.afterPropertiesSet();
+        routingDataSource.start();
+        // 延迟到第一条语句执行时才获取真实连接，此时只读事务标记已经绑定到当前线程
+        return new RoutingDataSourceProxy(routingDataSource, replicaDataSources.values());
+    }
+
+    private HikariDataSource createReplicaDataSource(String name, DataSourceRoutingProperties.Replica replica,
+                                                     HikariDataSource primary, DataSourceProperties properties,
+                                                     MeterRegistry meterRegistry) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        dataSource.setJdbcUrl(replica.getUrl());
+        dataSource.setUsername(StringUtils.hasText(replica.getUsername()) ? replica.getUsername() : primary.getUsername());
+        dataSource.setPassword(replica.getPassword() != null ? replica.getPassword() : primary.getPassword());
+        if (StringUtils.hasText(properties.getDriverClassName())) {
+            dataSource.setDriverClassName(properties.getDriverClassName());
+        }
+        dataSource.setMaximumPoolSize(primary.getMaximumPoolSize());
+        dataSource.setConnectionTimeout(primary.getConnectionTimeout());
+        dataSource.setReadOnly(true);
+        if (meterRegistry != null) {
+            // 从库连接池不是容器中的Bean，需要自行注册指标，标签pool为从库名称
+            dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        }
+        return dataSource;
+    }
+
+    /**
+     * 负责在容器关闭时停止健康检查并关闭从库连接池，主库连接池由容器自行关闭
+     */
+    static class RoutingDataSourceProxy extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+        private final ReadWriteRoutingDataSource routingDataSource;
+
+        private final Iterable<DataSource> replicas;
+
+        RoutingDataSourceProxy(ReadWriteRoutingDataSource routingDataSource, Iterable<DataSource> replicas) {
+            super(routingDataSource);
+            this.routingDataSource = routingDataSource;
+            this.replicas = replicas;
+        }
+
+        @Override
+        public void close() {
+            routingDataSource.stop();
+            for (DataSource replica : replicas) {
+                if (replica instanceof HikariDataSource hikari) {
+                    hikari.close();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.blog.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 读写分离数据源配置
+ * 未配置任何从库时，所有请求都使用spring.datasource配置的主库
+ */
+@Data
+@ConfigurationProperties(prefix = "blog.datasource")
+public class DataSourceRoutingProperties {
+
+    /** 从库列表 */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /** 从库复制延迟超过该秒数时暂停向其路由读请求 */
+    private long maxLagSeconds = 5;
+
+    /** 查询复制延迟（秒）的SQL，为空时使用MySQL的SHOW REPLICA STATUS */
+    private String lagQuery;
+
+    /** 从库健康检查间隔（毫秒） */
+    private long healthCheckIntervalMs = 5000;
+
+    /** 同一会话写入后多长时间内的读请求仍走主库（毫秒），保证读到自己的写入 */
+    private long stickinessWindowMs = 3000;
+
+    /**
+     * 单个从库的连接信息，连接池大小与超时沿用主库配置
+     */
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
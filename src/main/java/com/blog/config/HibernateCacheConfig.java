@@ -0,0 +1,44 @@
+package com.blog.config;
+
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.ehcache.xml.XmlConfiguration;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * Hibernate二级缓存配置类
+ * 按ehcache.xml为每个应用上下文创建独立的JCache缓存管理器并交给Hibernate使用。
+ * 直接用URI配置时同一JVM内的多个上下文（例如测试）会共享同一个缓存管理器，互相看到对方的缓存数据。
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    /**
+     * 二级缓存使用的缓存管理器，各区域的过期时间和容量见ehcache.xml
+     * @return JCache缓存管理器
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        EhcacheCachingProvider provider =
+                (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        XmlConfiguration configuration = new XmlConfiguration(getClass().getResource("/ehcache.xml"));
+        return provider.getCacheManager(URI.create("urn:blog:hibernate-cache:" + UUID.randomUUID()), configuration);
+    }
+
+    /**
+     * 把缓存管理器传给Hibernate的JCache区域工厂
+     * @param hibernateCacheManager 二级缓存使用的缓存管理器
+     * @return Hibernate配置定制器
+     */
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+}
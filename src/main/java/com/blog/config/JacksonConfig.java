@@ -0,0 +1,24 @@
+package com.blog.config;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Jackson配置类
+ * 注册稀疏字段过滤器，使DTO支持通过fields参数裁剪响应字段
+ */
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * 为Spring MVC使用的ObjectMapper注册稀疏字段过滤器
+     * @return ObjectMapper构建器定制器
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer sparseFieldsCustomizer() {
+        return builder -> builder.filters(new SimpleFilterProvider()
+                .addFilter(SparseFieldsFilter.FILTER_ID, new SparseFieldsFilter()));
+    }
+}
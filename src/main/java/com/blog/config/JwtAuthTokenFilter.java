@@ -1,12 +1,13 @@
 package com.blog.config;
 
+import com.blog.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -27,13 +28,33 @@ public class JwtAuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUtils jwtUtils;
 
-    /** 自动注入用户详情服务类 */
+    /** 自动注入用户详情服务类，仅用于不含用户ID的早期令牌 */
     @Autowired
     private UserDetailsService userDetailsService;
 
+    /** 自动注入令牌吊销服务 */
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     /** 日志记录器 */
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthTokenFilter.class);
 
+    public JwtAuthTokenFilter() {
+    }
+
+    /**
+     * 不经过容器直接创建
+     * @param jwtUtils JWT工具类
+     * @param userDetailsService 用户详情服务
+     * @param tokenRevocationService 令牌吊销服务
+     */
+    public JwtAuthTokenFilter(JwtUtils jwtUtils, UserDetailsService userDetailsService,
+                              TokenRevocationService tokenRevocationService) {
+        this.jwtUtils = jwtUtils;
+        this.userDetailsService = userDetailsService;
+        this.tokenRevocationService = tokenRevocationService;
+    }
+
     /**
      * 过滤器核心方法，用于处理每个HTTP请求
      * @param request HTTP请求对象
@@ -45,21 +66,36 @@ public class JwtAuthTokenFilter extends OncePerRequestFilter {
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
-        // 添加调试日志
-        logger.debug("Request URI: {}", request.getRequestURI());
-        
-        // 由于WebSecurityConfig已经配置了公开接口，这里只需要处理需要认证的请求
+        // 匿名访问公开只读接口的请求由WebSecurityConfig中单独的过滤器链处理，不会经过这里
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
+            Claims claims = jwt != null ? jwtUtils.parseJwtClaims(jwt) : null;
+            if (claims != null) {
+                // 用令牌中的声明构建用户信息；早期签发的令牌不含用户ID，回退到查询数据库
+                // 声明中不含启用状态，被禁用的用户由吊销检查拒绝；只有查询数据库时才能直接判断
+                UserDetailsImpl userDetails = jwtUtils.buildUserDetails(claims);
+                boolean disabled = false;
+                if (userDetails == null) {
+                    RequestTiming.Phase previous = RequestTiming.enter(RequestTiming.Phase.USER);
+                    try {
+                        userDetails = (UserDetailsImpl) userDetailsService.loadUserByUsername(claims.getSubject());
+                    } finally {
+                        RequestTiming.exit(previous);
+                    }
+                    disabled = !userDetails.isEnabled();
+                }
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                if (disabled
+                        || tokenRevocationService.isRevoked(userDetails.getId(), claims.getIssuedAt())
+                        || tokenRevocationService.isTokenRevoked(claims.getId(), claims.getExpiration())) {
+                    logger.debug("Rejected revoked token of user {}", userDetails.getUsername());
+                } else {
+                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                            userDetails, null, userDetails.getAuthorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         } catch (Exception e) {
             logger.error("Cannot set user authentication: {}", e);
@@ -77,9 +113,7 @@ public class JwtAuthTokenFilter extends OncePerRequestFilter {
         String headerAuth = request.getHeader("Authorization");
 
         if (StringUtils.hasText(headerAuth) && headerAuth.startsWith("Bearer ")) {
-            String jwt = headerAuth.substring(7, headerAuth.length());
-            logger.debug("Received JWT token: {}", jwt);
-            return jwt;
+            return headerAuth.substring(7);
         }
 
         return null;
@@ -1,26 +1,46 @@
 package com.blog.config;
 
+import com.blog.util.DigestUtil;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import jakarta.annotation.PostConstruct;
 
 /**
  * JWT工具类
  * 提供JWT令牌的生成、解析和验证功能
+ * 解析器只在初始化时构建一次；验证通过的令牌按摘要缓存到过期时间，同一令牌的后续请求不再做签名校验
  */
 @Component
 public class JwtUtils {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
+    /** 用户ID声明 */
+    public static final String CLAIM_USER_ID = "uid";
+
+    /** 邮箱声明 */
+    public static final String CLAIM_EMAIL = "email";
+
+    /** 权限列表声明 */
+    public static final String CLAIM_ROLES = "roles";
+
     /** JWT密钥 */
     private SecretKey jwtSecret;
     
@@ -32,12 +52,38 @@ public class JwtUtils {
     @Value("${jwt.expiration}")
     private int jwtExpiration;
 
+    /** 已验证令牌缓存的条目上限，为0时不缓存 */
+    @Value("${jwt.cache-size:10000}")
+    private int cacheSize;
+
+    /** 线程安全的令牌解析器，绑定签名密钥 */
+    private JwtParser jwtParser;
+
+    /** 已验证的令牌，键为令牌的SHA-256摘要，不在内存中保留令牌原文 */
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+
+    public JwtUtils() {
+    }
+
     /**
-     * 初始化JWT密钥
+     * 不经过容器直接创建，创建后需调用init
+     * @param jwtSecretString JWT密钥字符串
+     * @param jwtExpiration JWT过期时间（秒）
+     * @param cacheSize 已验证令牌缓存的条目上限
+     */
+    public JwtUtils(String jwtSecretString, int jwtExpiration, int cacheSize) {
+        this.jwtSecretString = jwtSecretString;
+        this.jwtExpiration = jwtExpiration;
+        this.cacheSize = cacheSize;
+    }
+
+    /**
+     * 初始化JWT密钥和解析器
      */
     @PostConstruct
     public void init() {
         jwtSecret = Keys.hmacShaKeyFor(jwtSecretString.getBytes());
+        jwtParser = Jwts.parser().verifyWith(jwtSecret).build();
     }
 
     /**
@@ -46,34 +92,69 @@ public class JwtUtils {
      * @return 生成的JWT令牌字符串
      */
     public String generateJwtToken(Authentication authentication) {
-        UserDetailsImpl userPrincipal = (UserDetailsImpl) authentication.getPrincipal();
+        return generateJwtToken((UserDetailsImpl) authentication.getPrincipal());
+    }
+
+    /**
+     * 为用户生成访问令牌
+     * 令牌中携带令牌ID（用于单独吊销）、用户ID、邮箱和权限，认证过滤器据此直接构建用户信息
+     * @param userPrincipal 用户信息
+     * @return 生成的JWT令牌字符串
+     */
+    public String generateJwtToken(UserDetailsImpl userPrincipal) {
+        Date now = new Date();
 
         return Jwts.builder()
-                .setSubject((userPrincipal.getUsername()))
-                .setIssuedAt(new Date())
-                .setExpiration(new Date((new Date()).getTime() + jwtExpiration * 1000))
-                .signWith(jwtSecret, SignatureAlgorithm.HS512)
+                .id(UUID.randomUUID().toString())
+                .subject(userPrincipal.getUsername())
+                .claim(CLAIM_USER_ID, userPrincipal.getId())
+                .claim(CLAIM_EMAIL, userPrincipal.getEmail())
+                .claim(CLAIM_ROLES, userPrincipal.getAuthorities().stream()
+                        .map(GrantedAuthority::getAuthority)
+                        .toList())
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + jwtExpiration * 1000L))
+                .signWith(jwtSecret, Jwts.SIG.HS512)
                 .compact();
     }
 
     /**
-     * 从JWT令牌中解析用户名
-     * @param token JWT令牌字符串
-     * @return 用户名
+     * 获取访问令牌有效期
+     * @return 有效期（秒）
      */
-    public String getUserNameFromJwtToken(String token) {
-        return Jwts.parser().verifyWith(jwtSecret).build().parseSignedClaims(token).getPayload().getSubject();
+    public int getJwtExpiration() {
+        return jwtExpiration;
     }
 
     /**
-     * 验证JWT令牌的有效性
-     * @param authToken 待验证的JWT令牌
-     * @return 令牌有效返回true，否则返回false
+     * 用已验证令牌中的声明构建用户信息，不查询数据库
+     * @param claims 令牌中的声明
+     * @return 用户信息，令牌不含用户ID（早期签发的令牌）时返回null
      */
-    public boolean validateJwtToken(String authToken) {
+    public UserDetailsImpl buildUserDetails(Claims claims) {
+        Long userId = claims.get(CLAIM_USER_ID, Long.class);
+        if (userId == null) {
+            return null;
+        }
+        List<?> roles = claims.get(CLAIM_ROLES, List.class);
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        if (roles != null) {
+            for (Object role : roles) {
+                authorities.add(new SimpleGrantedAuthority(role.toString()));
+            }
+        }
+        return new UserDetailsImpl(userId, claims.getSubject(), claims.get(CLAIM_EMAIL, String.class),
+                null, true, authorities);
+    }
+
+    /**
+     * 验证令牌并返回其中的声明，签名和有效期只校验一次
+     * @param token JWT令牌字符串
+     * @return 令牌中的声明，令牌无效返回null
+     */
+    public Claims parseJwtClaims(String token) {
         try {
-            Jwts.parser().verifyWith(jwtSecret).build().parseSignedClaims(authToken);
-            return true;
+            return verify(token);
         } catch (SignatureException e) {
             logger.error("Invalid JWT signature: {}", e.getMessage());
         } catch (MalformedJwtException e) {
@@ -86,6 +167,72 @@ public class JwtUtils {
             logger.error("JWT claims string is empty: {}", e.getMessage());
         }
 
-        return false;
+        return null;
+    }
+
+    /**
+     * 从JWT令牌中解析用户名
+     * @param token JWT令牌字符串
+     * @return 用户名
+     */
+    public String getUserNameFromJwtToken(String token) {
+        return verify(token).getSubject();
+    }
+
+    /**
+     * 验证JWT令牌的有效性
+     * @param authToken 待验证的JWT令牌
+     * @return 令牌有效返回true，否则返回false
+     */
+    public boolean validateJwtToken(String authToken) {
+        return parseJwtClaims(authToken) != null;
+    }
+
+    /**
+     * 验证令牌，缓存中未过期的令牌直接返回之前验证得到的声明
+     * @param token JWT令牌字符串
+     * @return 令牌中的声明
+     * @throws JwtException 令牌签名错误、格式错误或已过期
+     */
+    private Claims verify(String token) {
+        if (cacheSize <= 0 || token == null || token.isEmpty()) {
+            return jwtParser.parseSignedClaims(token).getPayload();
+        }
+
+        String key = DigestUtil.sha256(token);
+        long now = System.currentTimeMillis();
+        VerifiedToken cached = verifiedTokens.get(key);
+        if (cached != null) {
+            if (cached.expiresAt > now) {
+                return cached.claims;
+            }
+            verifiedTokens.remove(key, cached);
+        }
+
+        Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+        Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            // 缓存已满时淘汰任意一个条目，过期条目由定时任务清理，未命中时不遍历缓存
+            if (verifiedTokens.size() >= cacheSize) {
+                Iterator<String> keys = verifiedTokens.keySet().iterator();
+                if (keys.hasNext()) {
+                    verifiedTokens.remove(keys.next());
+                }
+            }
+            verifiedTokens.put(key, new VerifiedToken(claims, expiration.getTime()));
+        }
+        return claims;
+    }
+
+    /**
+     * 清理已验证令牌缓存中过期的条目
+     */
+    @Scheduled(fixedDelayString = "${jwt.cache-sweep-interval-ms:60000}")
+    public void sweepVerifiedTokens() {
+        long now = System.currentTimeMillis();
+        verifiedTokens.values().removeIf(entry -> entry.expiresAt <= now);
+    }
+
+    private record VerifiedToken(Claims claims, long expiresAt) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,12 @@
+package com.blog.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 图片存储配置类
+ */
+@Configuration
+@EnableConfigurationProperties(MediaProperties.class)
+public class MediaConfig {
+}
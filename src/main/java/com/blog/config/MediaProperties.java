@@ -0,0 +1,39 @@
+package com.blog.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 图片上传和存储配置
+ */
+@Data
+@ConfigurationProperties(prefix = "blog.media")
+public class MediaProperties {
+
+    /** 图片存储目录，按内容哈希分目录保存原图和各尺寸的图片 */
+    private String storageDir = "data/media";
+
+    /** 返回给客户端的图片地址前缀，图片由本服务的/media路径提供；前面部署CDN时可改为CDN地址 */
+    private String publicUrl = "/media";
+
+    /** 允许的最大像素数，超过时拒绝，避免解码超大图片耗尽内存 */
+    private long maxPixels = 40_000_000L;
+
+    /** 生成缩放图片的线程数 */
+    private int threads = 2;
+
+    /** 等待生成的图片队列上限，队列满时推迟到首次访问时生成 */
+    private int queueCapacity = 256;
+
+    /** 各尺寸的最长边（像素），小图不放大 */
+    private Map<String, Integer> variants = new LinkedHashMap<>();
+
+    public MediaProperties() {
+        variants.put("thumbnail", 160);
+        variants.put("card", 640);
+        variants.put("full", 1920);
+    }
+}
@@ -0,0 +1,107 @@
+package com.blog.config;
+
+import com.blog.dto.CacheRegionStatsDto;
+import com.blog.service.CacheStatsService;
+import com.blog.service.impl.ArticleDtoCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 监控指标配置类
+ * 请求耗时、连接池、JVM和GC指标由Actuator自动注册，这里补充缓存命中和密码哈希线程池指标。
+ * 缓存指标沿用Micrometer缓存指标的命名（cache.gets、cache.puts、cache.size），
+ * 计数在抓取时从已有统计中读取，不在请求路径上额外记录。
+ */
+@Configuration
+public class MetricsConfig {
+
+    /** Hibernate二级缓存和查询缓存 */
+    private static final String HIBERNATE_CACHE_MANAGER = "hibernate";
+
+    /** 批量获取接口使用的文章DTO本地缓存 */
+    private static final String LOCAL_CACHE_MANAGER = "local";
+
+    /**
+     * Hibernate各缓存区域的命中、未命中、写入次数和条目数
+     * @param cacheStatsService 缓存统计服务
+     * @return 指标绑定器
+     */
+    @Bean
+    public MeterBinder hibernateCacheMetrics(CacheStatsService cacheStatsService) {
+        return registry -> {
+            for (CacheRegionStatsDto region : cacheStatsService.getRegionStats()) {
+                String name = region.getRegion();
+                registerRegion(registry, cacheStatsService, name, "hit", CacheRegionStatsDto::getHitCount);
+                registerRegion(registry, cacheStatsService, name, "miss", CacheRegionStatsDto::getMissCount);
+                FunctionCounter.builder("cache.puts", cacheStatsService,
+                                service -> value(service, name, CacheRegionStatsDto::getPutCount))
+                        .tags("cache", name, "cache.manager", HIBERNATE_CACHE_MANAGER)
+                        .register(registry);
+                Gauge.builder("cache.size", cacheStatsService,
+                                service -> value(service, name, CacheRegionStatsDto::getElementCount))
+                        .tags("cache", name, "cache.manager", HIBERNATE_CACHE_MANAGER)
+                        .register(registry);
+            }
+        };
+    }
+
+    /**
+     * 文章DTO本地缓存的命中、未命中次数和条目数
+     * @param articleDtoCache 文章DTO本地缓存
+     * @return 指标绑定器
+     */
+    @Bean
+    public MeterBinder articleDtoCacheMetrics(ArticleDtoCache articleDtoCache) {
+        return registry -> {
+            FunctionCounter.builder("cache.gets", articleDtoCache, ArticleDtoCache::getHitCount)
+                    .tags("cache", "article-dto", "cache.manager", LOCAL_CACHE_MANAGER, "result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("cache.gets", articleDtoCache, ArticleDtoCache::getMissCount)
+                    .tags("cache", "article-dto", "cache.manager", LOCAL_CACHE_MANAGER, "result", "miss")
+                    .register(registry);
+            Gauge.builder("cache.size", articleDtoCache, ArticleDtoCache::size)
+                    .tags("cache", "article-dto", "cache.manager", LOCAL_CACHE_MANAGER)
+                    .register(registry);
+        };
+    }
+
+    /**
+     * 密码哈希线程池的队列长度、活动线程数和拒绝次数
+     * @param passwordEncoder 有界的密码编码器
+     * @return 指标绑定器
+     */
+    @Bean
+    public MeterBinder passwordHashingMetrics(BoundedPasswordEncoder passwordEncoder) {
+        return registry -> {
+            Gauge.builder("blog.password.hash.queue", passwordEncoder, BoundedPasswordEncoder::getQueueDepth)
+                    .description("Password hashing requests waiting for a worker")
+                    .register(registry);
+            Gauge.builder("blog.password.hash.active", passwordEncoder, BoundedPasswordEncoder::getActiveCount)
+                    .description("Password hashing requests being computed")
+                    .register(registry);
+            FunctionCounter.builder("blog.password.hash.rejected", passwordEncoder,
+                            BoundedPasswordEncoder::getRejectedCount)
+                    .description("Password hashing requests shed because the queue was full or timed out")
+                    .register(registry);
+        };
+    }
+
+    private static void registerRegion(MeterRegistry registry, CacheStatsService cacheStatsService, String name,
+                                       String result, ToDoubleFunction<CacheRegionStatsDto> count) {
+        FunctionCounter.builder("cache.gets", cacheStatsService, service -> value(service, name, count))
+                .tags("cache", name, "cache.manager", HIBERNATE_CACHE_MANAGER, "result", result)
+                .register(registry);
+    }
+
+    private static double value(CacheStatsService cacheStatsService, String region,
+                                ToDoubleFunction<CacheRegionStatsDto> count) {
+        CacheRegionStatsDto stats = cacheStatsService.getRegionStats(region);
+        return stats == null ? 0 : count.applyAsDouble(stats);
+    }
+}
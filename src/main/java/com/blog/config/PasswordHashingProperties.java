@@ -0,0 +1,24 @@
+package com.blog.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 密码哈希配置
+ */
+@Data
+@ConfigurationProperties(prefix = "blog.password")
+public class PasswordHashingProperties {
+
+    /** BCrypt强度（4到31），每加1计算量翻倍；提高后旧哈希在用户下次登录时升级 */
+    private int strength = 10;
+
+    /** 专用哈希线程数，为0时使用CPU核数的一半 */
+    private int threads = 0;
+
+    /** 等待哈希的请求队列上限，队列满时直接拒绝 */
+    private int queueCapacity = 64;
+
+    /** 请求等待哈希结果的最长时间（毫秒），超时后拒绝 */
+    private long timeoutMs = 5000;
+}
@@ -0,0 +1,193 @@
+package com.blog.config;
+
+import com.blog.util.TokenBucketLimiter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 限流过滤器
+ * 注册在安全过滤器链中JwtAuthTokenFilter之后，按用户限流的路由可以直接取到已认证用户的ID。
+ * 每个路由类别一个无锁令牌桶限流器，未匹配任何类别的请求只经过方法和路径匹配。
+ * 通过的请求返回X-RateLimit-Limit和X-RateLimit-Remaining，被拒绝的请求返回429和Retry-After（秒）。
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    public static final String LIMIT_HEADER = "X-RateLimit-Limit";
+
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final List<RouteLimiter> routes = new ArrayList<>();
+
+    private final byte[] rejectedBody;
+
+    /**
+     * @param properties 限流配置
+     * @param meterRegistry 指标注册表，记录各类别被拒绝的请求数
+     */
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        for (RateLimitProperties.Route route : properties.getRoutes()) {
+            Counter rejected = Counter.builder("blog.rate.limit.rejected")
+                    .description("Requests rejected by the rate limiter")
+                    .tag("route", route.getName())
+                    .register(meterRegistry);
+            routes.add(new RouteLimiter(route, new TokenBucketLimiter(route.getCapacity(),
+                    route.getRefillPerSecond(), properties.getIdleEvictMs()), rejected));
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("success", false);
+        body.put("error", "请求过于频繁，请稍后重试");
+        try {
+            rejectedBody = new ObjectMapper().writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RouteLimiter route = match(request);
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long result = route.limiter.tryAcquire(key(route.config.getKey(), request));
+        response.setIntHeader(LIMIT_HEADER, route.limiter.getCapacity());
+        if (result >= 0) {
+            response.setIntHeader(REMAINING_HEADER, (int) result);
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        route.rejected.increment();
+        logger.debug("Rate limit {} exceeded by {}", route.config.getName(), request.getRemoteAddr());
+        long retryAfterSeconds = Math.max(1, (-result + 999_999_999L) / 1_000_000_000L);
+        response.setIntHeader(REMAINING_HEADER, 0);
+        response.setHeader("Retry-After", Long.toString(retryAfterSeconds));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(rejectedBody.length);
+        response.getOutputStream().write(rejectedBody);
+    }
+
+    /**
+     * 按配置顺序找到请求所属的路由类别
+     * @param request HTTP请求对象
+     * @return 路由类别，未匹配时为null
+     */
+    private RouteLimiter match(HttpServletRequest request) {
+        String method = request.getMethod();
+        String path = null;
+        for (RouteLimiter route : routes) {
+            if (!route.matchesMethod(method)) {
+                continue;
+            }
+            if (path == null) {
+                path = request.getRequestURI().substring(request.getContextPath().length());
+            }
+            if (route.matchesPath(path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 确定限流键：按用户限流时使用已认证用户的ID，匿名请求与按IP限流一样使用客户端地址
+     * 代理之后部署时需开启server.forward-headers-strategy，使客户端地址取自转发头
+     */
+    private static Object key(RateLimitProperties.KeyType type, HttpServletRequest request) {
+        if (type == RateLimitProperties.KeyType.USER) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl user) {
+                return user.getId();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    /**
+     * 路由类别及其限流器
+     */
+    private static final class RouteLimiter {
+
+        private final RateLimitProperties.Route config;
+
+        private final String[] methods;
+
+        /** 不含通配符的路径直接比较，避免逐段匹配 */
+        private final Set<String> exactPaths = new HashSet<>();
+
+        private final List<String> patterns = new ArrayList<>();
+
+        private final TokenBucketLimiter limiter;
+
+        private final Counter rejected;
+
+        RouteLimiter(RateLimitProperties.Route config, TokenBucketLimiter limiter, Counter rejected) {
+            this.config = config;
+            this.methods = config.getMethods().stream().map(m -> m.toUpperCase(Locale.ROOT)).toArray(String[]::new);
+            this.limiter = limiter;
+            this.rejected = rejected;
+            for (String path : config.getPaths()) {
+                if (PATH_MATCHER.isPattern(path)) {
+                    patterns.add(path);
+                } else {
+                    exactPaths.add(path);
+                }
+            }
+        }
+
+        boolean matchesMethod(String method) {
+            if (methods.length == 0) {
+                return true;
+            }
+            for (String each : methods) {
+                if (each.equals(method)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean matchesPath(String path) {
+            if (exactPaths.contains(path)) {
+                return true;
+            }
+            for (String pattern : patterns) {
+                if (PATH_MATCHER.match(pattern, path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.blog.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 限流配置
+ * 每个路由类别独立计数，请求按配置顺序匹配第一个类别，未匹配的请求不限流
+ */
+@Data
+@ConfigurationProperties(prefix = "blog.rate-limit")
+public class RateLimitProperties {
+
+    /** 是否启用限流 */
+    private boolean enabled = true;
+
+    /** 令牌桶补满后保留多久才清理（毫秒），也是清理的间隔 */
+    private long idleEvictMs = 600000;
+
+    /** 路由类别 */
+    private List<Route> routes = new ArrayList<>();
+
+    /**
+     * 限流键的来源
+     */
+    public enum KeyType {
+        /** 客户端IP */
+        IP,
+        /** 已认证用户的ID，匿名请求按客户端IP */
+        USER
+    }
+
+    /**
+     * 一类需要限流的路由
+     */
+    @Data
+    public static class Route {
+        /** 类别名称，用于日志 */
+        private String name;
+        /** HTTP方法，为空时匹配所有方法 */
+        private List<String> methods = new ArrayList<>();
+        /** Ant风格的路径模式 */
+        private List<String> paths = new ArrayList<>();
+        /** 限流键 */
+        private KeyType key = KeyType.IP;
+        /** 桶容量，即允许的突发请求数 */
+        private int capacity = 10;
+        /** 每秒补充的令牌数 */
+        private double refillPerSecond = 1;
+    }
+}
@@ -0,0 +1,250 @@
+package com.blog.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 读写分离路由数据源
+ * 只读事务（@Transactional(readOnly = true)）轮询路由到健康的从库，其余连接都使用主库。
+ * 需要包装在LazyConnectionDataSourceProxy中使用，保证获取真实连接时事务的只读标记已经生效。
+ * 从库定期做健康检查，连接失败或复制延迟超过上限时暂时摘除，恢复后重新加入；
+ * 会话（登录用户名，未登录时为客户端IP）写入后的一段时间内，其只读事务仍走主库，保证读到自己的写入；
+ * 浏览量、点赞数这类计数更新通过{@link #withoutStickiness}执行，不开启粘滞窗口。
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    public static final String PRIMARY = "primary";
+
+    /** MySQL 8.0.22+ 查看复制状态的语句 */
+    private static final String REPLICA_STATUS_QUERY = "SHOW REPLICA STATUS";
+
+    private static final String REPLICA_LAG_COLUMN = "Seconds_Behind_Source";
+
+    private final List<ReplicaNode> replicas = new ArrayList<>();
+
+    /** 当前线程执行的写入不记录会话写入时间 */
+    private static final ThreadLocal<Boolean> UNTRACKED_WRITES = new ThreadLocal<>();
+
+    /** 会话最近一次写入的时间 */
+    private final Map<String, Long> lastWriteTimes = new ConcurrentHashMap<>();
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private final long maxLagSeconds;
+
+    private final String lagQuery;
+
+    private final long stickinessWindowMs;
+
+    private final long healthCheckIntervalMs;
+
+    private ScheduledExecutorService healthChecker;
+
+    public ReadWriteRoutingDataSource(DataSource primary, Map<String, DataSource> replicaDataSources,
+                                      DataSourceRoutingProperties properties) {
+        this.maxLagSeconds = properties.getMaxLagSeconds();
+        this.lagQuery = properties.getLagQuery();
+        this.stickinessWindowMs = properties.getStickinessWindowMs();
+        this.healthCheckIntervalMs = properties.getHealthCheckIntervalMs();
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicaDataSources.forEach((name, dataSource) -> {
+            targets.put(name, dataSource);
+            replicas.add(new ReplicaNode(name, dataSource));
+        });
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    /**
+     * 立即检查一次所有从库，并启动定期健康检查
+     */
+    public void start() {
+        checkReplicas();
+        healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthChecker.scheduleWithFixedDelay(this::checkReplicas,
+                healthCheckIntervalMs, healthCheckIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 停止健康检查
+     */
+    public void stop() {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String session = currentSession();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            // 读写事务内获取连接视为写入，开启该会话的粘滞窗口
+            if (session != null && TransactionSynchronizationManager.isActualTransactionActive()
+                    && UNTRACKED_WRITES.get() == null) {
+                lastWriteTimes.put(session, System.currentTimeMillis());
+            }
+            return PRIMARY;
+        }
+        if (session != null && wroteRecently(session)) {
+            return PRIMARY;
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            ReplicaNode replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica.name;
+            }
+        }
+        return PRIMARY;
+    }
+
+    /**
+     * 执行不需要读到自己写入的更新，例如计数增量，不开启会话的粘滞窗口
+     * 只有在事务内第一次获取连接时才生效，事务此前已经获取过连接时路由不变
+     * @param write 写入操作
+     * @param <T> 返回值类型
+     * @return 写入操作的返回值
+     */
+    public static <T> T withoutStickiness(Supplier<T> write) {
+        Boolean previous = UNTRACKED_WRITES.get();
+        UNTRACKED_WRITES.set(Boolean.TRUE);
+        try {
+            return write.get();
+        } finally {
+            if (previous == null) {
+                UNTRACKED_WRITES.remove();
+            }
+        }
+    }
+
+    /**
+     * 检查所有从库的连通性和复制延迟，同时清理过期的会话写入记录
+     */
+    public void checkReplicas() {
+        for (ReplicaNode replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                replica.lagSeconds = queryLag(connection);
+                healthy = replica.lagSeconds >= 0 && replica.lagSeconds <= maxLagSeconds;
+            } catch (Exception e) {
+                logger.debug("Replica {} health check failed", replica.name, e);
+                replica.lagSeconds = -1;
+                healthy = false;
+            }
+            if (healthy != replica.healthy) {
+                if (healthy) {
+                    logger.info("Replica {} is back in rotation, lag {} s", replica.name, replica.lagSeconds);
+                } else {
+                    logger.warn("Replica {} removed from rotation, lag {} s (max {} s)",
+                            replica.name, replica.lagSeconds, maxLagSeconds);
+                }
+                replica.healthy = healthy;
+            }
+        }
+        long expiredBefore = System.currentTimeMillis() - stickinessWindowMs;
+        lastWriteTimes.values().removeIf(writeTime -> writeTime < expiredBefore);
+    }
+
+    /**
+     * 获取当前可以接收读请求的从库
+     * @return 健康从库名称列表
+     */
+    public List<String> getHealthyReplicas() {
+        List<String> healthy = new ArrayList<>();
+        for (ReplicaNode replica : replicas) {
+            if (replica.healthy) {
+                healthy.add(replica.name);
+            }
+        }
+        return Collections.unmodifiableList(healthy);
+    }
+
+    /**
+     * 查询复制延迟
+     * @return 延迟秒数，复制中断时返回-1
+     */
+    private long queryLag(Connection connection) throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            if (StringUtils.hasText(lagQuery)) {
+                try (ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                    return resultSet.next() ? resultSet.getLong(1) : 0;
+                }
+            }
+            try (ResultSet resultSet = statement.executeQuery(REPLICA_STATUS_QUERY)) {
+                if (!resultSet.next()) {
+                    // 没有复制状态说明不是从库（例如本地把主库配置成从库），不存在延迟
+                    return 0;
+                }
+                long lag = resultSet.getLong(REPLICA_LAG_COLUMN);
+                return resultSet.wasNull() ? -1 : lag;
+            }
+        }
+    }
+
+    private boolean wroteRecently(String session) {
+        Long writeTime = lastWriteTimes.get(session);
+        return writeTime != null && System.currentTimeMillis() - writeTime < stickinessWindowMs;
+    }
+
+    /**
+     * 当前会话标识：已登录用户的用户名，否则为请求的客户端IP，均不可用时返回null
+     */
+    private String currentSession() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return "ip:" + servletAttributes.getRequest().getRemoteAddr();
+        }
+        return null;
+    }
+
+    private static class ReplicaNode {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy;
+        private volatile long lagSeconds = -1;
+
+        private ReplicaNode(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.blog.config;
+
+import java.util.Locale;
+
+/**
+ * 单个请求的分阶段计时
+ * 绑定在处理请求的线程上，由RequestTimingFilter创建和结束。同一时刻只有一个阶段在计时，
+ * 进入嵌套阶段时外层阶段暂停，退出后恢复，因此各阶段耗时互不重叠，
+ * 例如用户查询中执行的SQL计入db而不是user。不在请求中时所有方法都是空操作。
+ */
+public final class RequestTiming {
+
+    /**
+     * 请求阶段，名称用作Server-Timing条目名和指标的phase标签
+     */
+    public enum Phase {
+        /** 安全过滤器链（JWT解析和验证等），不含用户查询 */
+        SECURITY("security"),
+        /** 认证时加载用户 */
+        USER("user"),
+        /** SQL语句执行 */
+        DB("db"),
+        /** 实体转换为DTO */
+        MAPPING("mapping"),
+        /** 响应体JSON序列化 */
+        SERIALIZATION("serialization"),
+        /** 其余处理时间（控制器、服务逻辑和框架开销） */
+        APP("app");
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+
+        public String getMetricName() {
+            return metricName;
+        }
+    }
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final long startNanos = System.nanoTime();
+
+    private final long[] phaseNanos = new long[PHASES.length];
+
+    private Phase phase = Phase.APP;
+
+    private long phaseStartNanos = startNanos;
+
+    private int statementCount;
+
+    private long totalNanos = -1;
+
+    private RequestTiming() {
+    }
+
+    /**
+     * 为当前线程开始计时
+     * @return 请求计时
+     */
+    static RequestTiming begin() {
+        RequestTiming timing = new RequestTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    /**
+     * 获取当前线程的请求计时
+     * @return 请求计时，不在请求中时为null
+     */
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 结束当前线程的计时
+     */
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * 进入一个阶段，调用方在finally中用返回值调用{@link #exit(Phase)}
+     * @param phase 要进入的阶段
+     * @return 之前的阶段，不在请求中时为null
+     */
+    public static Phase enter(Phase phase) {
+        RequestTiming timing = CURRENT.get();
+        return timing != null ? timing.switchTo(phase) : null;
+    }
+
+    /**
+     * 退出当前阶段，恢复之前的阶段
+     * @param previous {@link #enter(Phase)}的返回值
+     */
+    public static void exit(Phase previous) {
+        if (previous == null) {
+            return;
+        }
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.switchTo(previous);
+        }
+    }
+
+    /**
+     * 切换到新阶段，之前阶段的耗时累加到它自己名下
+     * @param next 新阶段
+     * @return 之前的阶段
+     */
+    Phase switchTo(Phase next) {
+        long now = System.nanoTime();
+        Phase previous = phase;
+        phaseNanos[previous.ordinal()] += now - phaseStartNanos;
+        phase = next;
+        phaseStartNanos = now;
+        return previous;
+    }
+
+    /**
+     * 记录执行了一条SQL语句
+     */
+    void countStatement() {
+        statementCount++;
+    }
+
+    /**
+     * 停止计时，当前阶段的耗时计入结果
+     */
+    void finish() {
+        if (totalNanos < 0) {
+            switchTo(Phase.APP);
+            totalNanos = System.nanoTime() - startNanos;
+        }
+    }
+
+    public long getPhaseNanos(Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    /**
+     * 生成Server-Timing响应头，耗时单位为毫秒，省略未经过的阶段
+     * @return 响应头的值
+     */
+    String toServerTiming() {
+        StringBuilder header = new StringBuilder();
+        for (Phase each : PHASES) {
+            long nanos = phaseNanos[each.ordinal()];
+            if (nanos == 0) {
+                continue;
+            }
+            header.append(each.metricName);
+            if (each == Phase.DB) {
+                header.append(";desc=\"").append(statementCount).append(" statements\"");
+            }
+            header.append(";dur=").append(toMillis(nanos)).append(", ");
+        }
+        return header.append("total;dur=").append(toMillis(totalNanos)).toString();
+    }
+
+    private static String toMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,82 @@
+package com.blog.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * 请求分阶段计时配置类
+ * 注册计时过滤器，在进入控制器时结束安全阶段，并为JSON序列化计时
+ */
+@Configuration
+@ConditionalOnProperty(name = "blog.timing.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(RequestTimingProperties.class)
+public class RequestTimingConfig implements WebMvcConfigurer {
+
+    /**
+     * 请求计时过滤器，紧排在Spring Security之前，安全过滤器链的耗时计入security阶段
+     * @param meterRegistry 指标注册表
+     * @param properties 计时配置
+     * @return 过滤器注册
+     */
+    @Bean
+    public FilterRegistrationBean<RequestTimingFilter> requestTimingFilter(MeterRegistry meterRegistry,
+                                                                           RequestTimingProperties properties) {
+        FilterRegistrationBean<RequestTimingFilter> registration =
+                new FilterRegistrationBean<>(new RequestTimingFilter(meterRegistry, properties));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
+    /**
+     * 替换默认的Jackson消息转换器，写响应体的耗时计入serialization阶段
+     * @param objectMapper Spring MVC使用的ObjectMapper（已注册稀疏字段过滤器）
+     * @return JSON消息转换器
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2HttpMessageConverter(objectMapper) {
+            @Override
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+                    throws IOException, HttpMessageNotWritableException {
+                RequestTiming.Phase previous = RequestTiming.enter(RequestTiming.Phase.SERIALIZATION);
+                try {
+                    super.writeInternal(object, type, outputMessage);
+                } finally {
+                    RequestTiming.exit(previous);
+                }
+            }
+        };
+    }
+
+    /**
+     * 进入处理器时从security阶段切换到app阶段
+     * @param registry 拦截器注册表
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                RequestTiming.enter(RequestTiming.Phase.APP);
+                return true;
+            }
+        });
+    }
+}
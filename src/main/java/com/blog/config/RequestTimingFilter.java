@@ -0,0 +1,114 @@
+package com.blog.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 请求分阶段计时过滤器
+ * 排在Spring Security之前开始计时，请求结束后按路由模板和阶段记录blog.request.phase指标。
+ * 被抽样或携带X-Server-Timing请求头的请求会缓冲响应体，以便在提交响应前附加Server-Timing响应头；
+ * 其余请求不缓冲，只多几次计时器记录；unbuffered-paths中的文件响应始终不缓冲。
+ */
+public class RequestTimingFilter extends OncePerRequestFilter {
+
+    /** 请求Server-Timing响应头的请求头 */
+    public static final String OPT_IN_HEADER = "X-Server-Timing";
+
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private static final RequestTiming.Phase[] PHASES = RequestTiming.Phase.values();
+
+    private final MeterRegistry meterRegistry;
+
+    private final double sampleRate;
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    /** 不缓冲响应体的路径 */
+    private final List<String> unbufferedPaths;
+
+    /** 按“方法 路由模板”缓存各阶段的计时器，避免每个请求都查找注册表 */
+    private final Map<String, Timer[]> timers = new ConcurrentHashMap<>();
+
+    public RequestTimingFilter(MeterRegistry meterRegistry, RequestTimingProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.sampleRate = properties.getSampleRate();
+        this.unbufferedPaths = List.copyOf(properties.getUnbufferedPaths());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean sampled = (request.getHeader(OPT_IN_HEADER) != null
+                || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate))
+                && !isUnbuffered(request);
+        ContentCachingResponseWrapper buffered = sampled ? new ContentCachingResponseWrapper(response) : null;
+
+        RequestTiming timing = RequestTiming.begin();
+        timing.switchTo(RequestTiming.Phase.SECURITY);
+        try {
+            filterChain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            timing.finish();
+            RequestTiming.end();
+            record(request, timing);
+            if (buffered != null) {
+                if (!response.isCommitted()) {
+                    response.setHeader(SERVER_TIMING_HEADER, timing.toServerTiming());
+                }
+                buffered.copyBodyToResponse();
+            }
+        }
+    }
+
+    private boolean isUnbuffered(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String pattern : unbufferedPaths) {
+            if (PATH_MATCHER.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void record(HttpServletRequest request, RequestTiming timing) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String method = request.getMethod();
+        String uri = pattern != null ? pattern.toString() : "UNMAPPED";
+        Timer[] endpointTimers = timers.computeIfAbsent(method + " " + uri, key -> register(method, uri));
+        for (RequestTiming.Phase phase : PHASES) {
+            long nanos = timing.getPhaseNanos(phase);
+            if (nanos > 0) {
+                endpointTimers[phase.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private Timer[] register(String method, String uri) {
+        Timer[] endpointTimers = new Timer[PHASES.length];
+        for (RequestTiming.Phase phase : PHASES) {
+            endpointTimers[phase.ordinal()] = Timer.builder("blog.request.phase")
+                    .description("Time spent in each request phase")
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .tag("phase", phase.getMetricName())
+                    .register(meterRegistry);
+        }
+        return endpointTimers;
+    }
+}
@@ -0,0 +1,27 @@
+package com.blog.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 请求分阶段计时配置
+ */
+@Data
+@ConfigurationProperties(prefix = "blog.timing")
+public class RequestTimingProperties {
+
+    /** 是否统计请求各阶段耗时 */
+    private boolean enabled = true;
+
+    /** 随机附加Server-Timing响应头的请求比例（0到1），携带X-Server-Timing请求头的请求总是附加 */
+    private double sampleRate = 0.0;
+
+    /**
+     * 不缓冲响应体的路径（Ant风格），这些请求只记录指标，不附加Server-Timing响应头。
+     * 图片等文件响应由容器通过sendfile发送或分块写出，缓冲会丢失Content-Length并把整个文件读入堆
+     */
+    private List<String> unbufferedPaths = new ArrayList<>(List.of("/media/**"));
+}
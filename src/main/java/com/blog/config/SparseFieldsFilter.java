@@ -0,0 +1,88 @@
+package com.blog.config;
+
+import com.blog.util.FieldSelection;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * 稀疏字段序列化过滤器
+ * 作用于标注了@JsonFilter("fields")的DTO，按当前请求的fields参数决定输出哪些属性。
+ * 属性路径从最近的一组DTO祖先拼出，因此分页对象、ResponseUtil的包装层不计入路径，
+ * 例如Page&lt;ArticleDto&gt;中作者昵称的路径仍是"author.nickname"。
+ */
+public class SparseFieldsFilter extends SimpleBeanPropertyFilter {
+
+    /** DTO上@JsonFilter使用的过滤器ID */
+    public static final String FILTER_ID = "fields";
+
+    /** 请求参数名 */
+    public static final String PARAMETER = "fields";
+
+    /** 当前请求解析后的字段集在请求属性中的键 */
+    private static final String SELECTION_ATTRIBUTE = SparseFieldsFilter.class.getName() + ".SELECTION";
+
+    @Override
+    public void serializeAsField(Object pojo, JsonGenerator gen, SerializerProvider provider, PropertyWriter writer)
+            throws Exception {
+        FieldSelection selection = currentSelection();
+        if (selection.isAll() || selection.includes(pathOf(gen.getOutputContext(), writer.getName()))) {
+            writer.serializeAsField(pojo, gen, provider);
+        } else if (!gen.canOmitFields()) {
+            writer.serializeAsOmittedField(pojo, gen, provider);
+        }
+    }
+
+    /**
+     * 获取当前请求的字段集，同一请求内只解析一次
+     * @return 字段集，不在请求线程中时返回全部字段
+     */
+    public static FieldSelection currentSelection() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return FieldSelection.all();
+        }
+        HttpServletRequest request = servletAttributes.getRequest();
+        Object cached = request.getAttribute(SELECTION_ATTRIBUTE);
+        if (cached instanceof FieldSelection selection) {
+            return selection;
+        }
+        FieldSelection selection = FieldSelection.parse(request.getParameter(PARAMETER));
+        request.setAttribute(SELECTION_ATTRIBUTE, selection);
+        return selection;
+    }
+
+    /**
+     * 根据输出上下文拼出属性的完整路径
+     * @param context 当前对象的输出上下文
+     * @param property 属性名
+     * @return 以点号分隔的属性路径
+     */
+    private static String pathOf(JsonStreamContext context, String property) {
+        StringBuilder path = null;
+        JsonStreamContext parent = context.getParent();
+        while (parent != null) {
+            if (parent.inObject()) {
+                Object owner = parent.getCurrentValue();
+                if (owner == null || !owner.getClass().isAnnotationPresent(JsonFilter.class)) {
+                    break;
+                }
+                if (path == null) {
+                    path = new StringBuilder();
+                }
+                path.insert(0, '.').insert(0, parent.getCurrentName());
+            } else if (!parent.inArray()) {
+                break;
+            }
+            parent = parent.getParent();
+        }
+        return path == null ? property : path.append(property).toString();
+    }
+}
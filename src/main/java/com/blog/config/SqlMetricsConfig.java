@@ -0,0 +1,32 @@
+package com.blog.config;
+
+import com.blog.service.SqlStatsService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * SQL统计配置类
+ * 数据源代理在DataSourceConfig中安装，这里注册请求级统计过滤器
+ */
+@Configuration
+@ConditionalOnProperty(name = "blog.sql.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlMetricsConfig {
+
+    /**
+     * 请求级SQL统计过滤器，排在Spring Security之前，认证阶段的用户查询也计入请求
+     * @param sqlStatsService SQL执行统计服务
+     * @param properties SQL统计配置
+     * @return 过滤器注册
+     */
+    @Bean
+    public FilterRegistrationBean<SqlMetricsFilter> sqlMetricsFilter(SqlStatsService sqlStatsService,
+                                                                     SqlMetricsProperties properties) {
+        FilterRegistrationBean<SqlMetricsFilter> registration =
+                new FilterRegistrationBean<>(new SqlMetricsFilter(sqlStatsService, properties));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,58 @@
+package com.blog.config;
+
+import com.blog.service.SqlStatsService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 请求级SQL统计过滤器
+ * 在安全过滤器之前开始记录，请求结束后把语句耗时归到路由模板下，
+ * 同一语句形态执行次数超过阈值时记录为疑似N+1查询。
+ */
+public class SqlMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlMetricsFilter.class);
+
+    private final SqlStatsService sqlStatsService;
+
+    private final int repeatedStatementThreshold;
+
+    public SqlMetricsFilter(SqlStatsService sqlStatsService, SqlMetricsProperties properties) {
+        this.sqlStatsService = sqlStatsService;
+        this.repeatedStatementThreshold = properties.getRepeatedStatementThreshold();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlRequestContext context = SqlRequestContext.begin(request.getMethod() + " " + request.getRequestURI());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlRequestContext.end();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String endpoint = request.getMethod() + " " + (pattern != null ? pattern : "UNMAPPED");
+
+            List<String> repeatedShapes = new ArrayList<>();
+            for (Map.Entry<String, Integer> entry : context.getShapeCounts().entrySet()) {
+                if (entry.getValue() > repeatedStatementThreshold) {
+                    repeatedShapes.add(entry.getKey());
+                    logger.warn("Possible N+1 query: {} ran the same statement {} times: {}",
+                            context.getRequest(), entry.getValue(), entry.getKey());
+                }
+            }
+            sqlStatsService.recordRequest(endpoint, context.getStatementNanos(), repeatedShapes);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.blog.config;
+
+import com.blog.service.SqlStatsService;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * SQL执行监听器
+ * 由数据源代理在每条语句执行后回调：按语句形态记录耗时，写入当前请求的执行记录，并输出慢查询日志。
+ * 日志只包含语句形态和绑定参数个数，不输出参数值。
+ */
+public class SqlMetricsListener implements QueryExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlMetricsListener.class);
+
+    private static final String START_NANOS = "sqlMetrics.startNanos";
+
+    private static final String PREVIOUS_PHASE = "sqlMetrics.previousPhase";
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?\\b");
+
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final SqlStatsService sqlStatsService;
+
+    private final long slowQueryNanos;
+
+    public SqlMetricsListener(SqlStatsService sqlStatsService, SqlMetricsProperties properties) {
+        this.sqlStatsService = sqlStatsService;
+        this.slowQueryNanos = TimeUnit.MILLISECONDS.toNanos(properties.getSlowQueryMs());
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // 语句执行期间计入请求的db阶段
+        execInfo.addCustomValue(PREVIOUS_PHASE, RequestTiming.enter(RequestTiming.Phase.DB));
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestTiming.exit(execInfo.getCustomValue(PREVIOUS_PHASE, RequestTiming.Phase.class));
+        RequestTiming timing = RequestTiming.current();
+        if (timing != null) {
+            timing.countStatement();
+        }
+        Long start = execInfo.getCustomValue(START_NANOS, Long.class);
+        if (start == null || queryInfoList.isEmpty()) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        // 批量执行的多条语句共用一次耗时，以第一条的形态记录
+        String shape = normalize(queryInfoList.get(0).getQuery());
+        int binds = 0;
+        for (QueryInfo queryInfo : queryInfoList) {
+            for (List<?> parameters : queryInfo.getParametersList()) {
+                binds += parameters.size();
+            }
+        }
+
+        sqlStatsService.recordStatement(shape, elapsed, binds);
+        SqlRequestContext context = SqlRequestContext.current();
+        if (context != null) {
+            context.record(shape, elapsed);
+        }
+        if (elapsed >= slowQueryNanos) {
+            logger.warn("Slow SQL {} ms, {} bind parameters{}{}: {}",
+                    TimeUnit.NANOSECONDS.toMillis(elapsed), binds,
+                    execInfo.isBatch() ? ", batch of " + execInfo.getBatchSize() : "",
+                    context != null ? ", during " + context.getRequest() : "",
+                    shape);
+        }
+    }
+
+    /**
+     * 把语句归一化为形态：字面量替换为?，IN列表合并，空白压缩
+     * @param sql 原始SQL
+     * @return 语句形态
+     */
+    public static String normalize(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = PLACEHOLDER_LIST.matcher(shape).replaceAll("(?...)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+}
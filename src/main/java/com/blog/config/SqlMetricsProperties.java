@@ -0,0 +1,24 @@
+package com.blog.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * SQL执行统计配置
+ */
+@Data
+@ConfigurationProperties(prefix = "blog.sql")
+public class SqlMetricsProperties {
+
+    /** 是否通过数据源代理统计SQL执行 */
+    private boolean enabled = true;
+
+    /** 执行时间超过该毫秒数的语句记录为慢查询 */
+    private long slowQueryMs = 200;
+
+    /** 同一请求中同一语句形态执行次数超过该值时视为N+1查询 */
+    private int repeatedStatementThreshold = 5;
+
+    /** 最多单独统计的语句形态数，超出的归入(other) */
+    private int maxShapes = 2000;
+}
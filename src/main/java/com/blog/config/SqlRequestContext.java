@@ -0,0 +1,84 @@
+package com.blog.config;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 单个请求内的SQL执行记录
+ * 绑定在处理请求的线程上，由SqlMetricsFilter创建和结束，SqlMetricsListener在语句执行后写入
+ */
+public class SqlRequestContext {
+
+    private static final ThreadLocal<SqlRequestContext> CURRENT = new ThreadLocal<>();
+
+    /** 请求方法和URI，用于慢查询日志 */
+    private final String request;
+
+    /** 每种语句形态的执行次数 */
+    private final Map<String, Integer> shapeCounts = new HashMap<>();
+
+    /** 每条语句的耗时（纳秒） */
+    private long[] statementNanos = new long[16];
+
+    private int statementCount;
+
+    private SqlRequestContext(String request) {
+        this.request = request;
+    }
+
+    /**
+     * 为当前线程开始记录
+     * @param request 请求方法和URI
+     * @return 请求记录
+     */
+    public static SqlRequestContext begin(String request) {
+        SqlRequestContext context = new SqlRequestContext(request);
+        CURRENT.set(context);
+        return context;
+    }
+
+    /**
+     * 获取当前线程的请求记录
+     * @return 请求记录，不在请求中时为null
+     */
+    public static SqlRequestContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 结束当前线程的记录
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * 记录一次语句执行
+     * @param shape 语句形态
+     * @param elapsedNanos 耗时（纳秒）
+     */
+    public void record(String shape, long elapsedNanos) {
+        shapeCounts.merge(shape, 1, Integer::sum);
+        if (statementCount == statementNanos.length) {
+            statementNanos = Arrays.copyOf(statementNanos, statementCount * 2);
+        }
+        statementNanos[statementCount++] = elapsedNanos;
+    }
+
+    public String getRequest() {
+        return request;
+    }
+
+    public Map<String, Integer> getShapeCounts() {
+        return shapeCounts;
+    }
+
+    public long[] getStatementNanos() {
+        return Arrays.copyOf(statementNanos, statementCount);
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+}
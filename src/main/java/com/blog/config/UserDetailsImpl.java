@@ -8,11 +8,20 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 
 public class UserDetailsImpl implements UserDetails {
     private static final long serialVersionUID = 1L;
 
+    /** 普通用户的默认权限 */
+    private static final List<GrantedAuthority> DEFAULT_AUTHORITIES =
+            Collections.singletonList(new SimpleGrantedAuthority("USER"));
+
+    /** 管理员的权限，可访问/api/admin下的监控接口 */
+    private static final List<GrantedAuthority> ADMIN_AUTHORITIES =
+            List.of(new SimpleGrantedAuthority("USER"), new SimpleGrantedAuthority("ADMIN"));
+
     private Long id;
 
     private String username;
@@ -22,19 +31,36 @@ public class UserDetailsImpl implements UserDetails {
     @JsonIgnore
     private String password;
 
+    private boolean enabled;
+
+    private Collection<? extends GrantedAuthority> authorities;
+
     public UserDetailsImpl(Long id, String username, String email, String password) {
+        this(id, username, email, password, true, DEFAULT_AUTHORITIES);
+    }
+
+    public UserDetailsImpl(Long id, String username, String email, String password, boolean enabled,
+                           Collection<? extends GrantedAuthority> authorities) {
         this.id = id;
         this.username = username;
         this.email = email;
         this.password = password;
+        this.enabled = enabled;
+        this.authorities = authorities;
     }
 
     public static UserDetailsImpl build(User user) {
+        return build(user, false);
+    }
+
+    public static UserDetailsImpl build(User user, boolean admin) {
         return new UserDetailsImpl(
                 user.getId(),
                 user.getUsername(),
                 user.getEmail(),
-                user.getPassword());
+                user.getPassword(),
+                !Boolean.FALSE.equals(user.getEnabled()),
+                admin ? ADMIN_AUTHORITIES : DEFAULT_AUTHORITIES);
     }
 
     public Long getId() {
@@ -47,7 +73,7 @@ public class UserDetailsImpl implements UserDetails {
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return Collections.singletonList(new SimpleGrantedAuthority("USER"));
+        return authorities;
     }
 
     @Override
@@ -77,7 +103,7 @@ public class UserDetailsImpl implements UserDetails {
 
     @Override
     public boolean isEnabled() {
-        return true;
+        return enabled;
     }
 
     @Override
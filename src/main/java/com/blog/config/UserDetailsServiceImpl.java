@@ -3,24 +3,62 @@ package com.blog.config;
 import com.blog.entity.User;
 import com.blog.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
+import java.util.Set;
+
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
     @Autowired
     UserRepository userRepository;
 
+    /** 拥有ADMIN权限的用户名，逗号分隔 */
+    @Value("${blog.security.admin-users:}")
+    private Set<String> adminUsers;
+
     @Override
     @Transactional
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + username));
 
-        return UserDetailsImpl.build(user);
+        return build(user);
+    }
+
+    /**
+     * 按用户ID加载用户信息，权限与登录时一致，供刷新令牌时签发新的访问令牌
+     * @param id 用户ID
+     * @return 用户信息，用户不存在时为空
+     */
+    @Transactional
+    public Optional<UserDetailsImpl> loadUserById(Long id) {
+        return userRepository.findById(id).map(this::build);
+    }
+
+    /**
+     * 登录成功后保存按当前强度重新计算的密码哈希，密码本身没有变化，不吊销已签发的令牌
+     * @param user 已认证的用户
+     * @param newPassword 新的密码哈希
+     * @return 更新后的用户信息
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User entity = userRepository.findByUsername(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + user.getUsername()));
+        entity.setPassword(newPassword);
+        return build(userRepository.save(entity));
+    }
+
+    private UserDetailsImpl build(User user) {
+        return UserDetailsImpl.build(user, adminUsers.contains(user.getUsername()));
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.blog.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.Executors;
+
+/**
+ * 虚拟线程配置类
+ * 设置blog.threads.virtual=true后，Tomcat请求处理和应用异步任务都运行在虚拟线程上。
+ * 请求线程不再是并发上限，数据库并发由Hikari连接池大小（spring.datasource.hikari.maximum-pool-size）限制，
+ * 超出的请求在获取连接时排队，等待超过connection-timeout后失败。
+ */
+@Configuration
+@ConditionalOnProperty(name = "blog.threads.virtual", havingValue = "true")
+public class VirtualThreadConfig {
+
+    /**
+     * 让Tomcat为每个请求创建一个虚拟线程，替代有界的平台线程池
+     * @return Tomcat协议处理器定制器
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    /**
+     * 应用异步任务执行器（Spring MVC异步请求等），每个任务一个虚拟线程
+     * @return 异步任务执行器
+     */
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    /**
+     * 虚拟线程钉住（pinning）监视器
+     * 虚拟线程在synchronized块或本地方法中阻塞时无法让出载体线程，超过阈值的事件会被记录到日志
+     * @param thresholdMs 记录钉住事件的最短持续时间（毫秒）
+     * @return 钉住监视器
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${blog.threads.pinned-threshold-ms:20}") long thresholdMs) {
+        return new VirtualThreadPinningMonitor(thresholdMs);
+    }
+}
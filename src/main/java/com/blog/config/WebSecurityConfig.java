@@ -1,8 +1,14 @@
 package com.blog.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -10,12 +16,16 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -32,8 +42,21 @@ import java.util.Collections;
 @EnableWebSecurity
 // 开启方法级别的权限控制（如 @PreAuthorize("hasRole('ADMIN')")）
 @EnableGlobalMethodSecurity(prePostEnabled = true)
+@EnableConfigurationProperties({PasswordHashingProperties.class, RateLimitProperties.class})
 public class WebSecurityConfig {
 
+    /** 公开的只读接口：文章、分类、标签、用户公开资料和图片的GET请求 */
+    private static final RequestMatcher PUBLIC_READS = new OrRequestMatcher(
+            AntPathRequestMatcher.antMatcher(HttpMethod.GET, "/api/articles/**"),
+            AntPathRequestMatcher.antMatcher(HttpMethod.GET, "/api/categories/**"),
+            AntPathRequestMatcher.antMatcher(HttpMethod.GET, "/api/tags/**"),
+            AntPathRequestMatcher.antMatcher(HttpMethod.GET, "/api/users/public/**"),
+            AntPathRequestMatcher.antMatcher(HttpMethod.GET, "/media/**"));
+
+    /** 不带Authorization头的公开只读请求 */
+    public static final RequestMatcher ANONYMOUS_READS =
+            request -> request.getHeader(HttpHeaders.AUTHORIZATION) == null && PUBLIC_READS.matches(request);
+
     /** 自动注入用户详情服务，用于获取用户信息 */
     @Autowired
     private UserDetailsService userDetailsService;
@@ -42,6 +65,22 @@ public class WebSecurityConfig {
     @Autowired
     private JwtAuthEntryPoint unauthorizedHandler;
 
+    /** 自动注入密码更新服务，登录时把低于当前强度的哈希升级 */
+    @Autowired
+    private UserDetailsPasswordService userDetailsPasswordService;
+
+    /** 自动注入密码哈希配置 */
+    @Autowired
+    private PasswordHashingProperties passwordHashingProperties;
+
+    /** 自动注入限流配置 */
+    @Autowired
+    private RateLimitProperties rateLimitProperties;
+
+    /** 自动注入指标注册表，记录被限流的请求数 */
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     /**
      * 创建JWT认证过滤器Bean
      * @return JwtAuthTokenFilter实例
@@ -52,6 +91,19 @@ public class WebSecurityConfig {
         return new JwtAuthTokenFilter();
     }
 
+    /**
+     * 禁止把JWT认证过滤器Bean自动注册为Servlet过滤器
+     * 它只应在安全过滤器链中执行，否则匿名只读请求绕过安全过滤器链后仍会经过它
+     * @param filter JWT认证过滤器
+     * @return 禁用的过滤器注册
+     */
+    @Bean
+    public FilterRegistrationBean<JwtAuthTokenFilter> authenticationJwtTokenFilterRegistration(JwtAuthTokenFilter filter) {
+        FilterRegistrationBean<JwtAuthTokenFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     /**
      * 创建认证提供者Bean
      * 关联UserDetailsService和密码编码器，用于用户认证
@@ -63,6 +115,7 @@ public class WebSecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService);
         return authProvider;
     }
 
@@ -81,13 +134,17 @@ public class WebSecurityConfig {
 
     /**
      * 创建密码编码器Bean
-     * 使用BCrypt加密算法
+     * 使用BCrypt加密算法，哈希计算在有界的专用线程池中执行，繁忙时快速拒绝
      * @return PasswordEncoder实例
      */
     // 密码编码器（BCrypt 加密）
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Bean(destroyMethod = "shutdown")
+    public BoundedPasswordEncoder passwordEncoder() {
+        int threads = passwordHashingProperties.getThreads() > 0
+                ? passwordHashingProperties.getThreads()
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(passwordHashingProperties.getStrength()),
+                threads, passwordHashingProperties.getQueueCapacity(), passwordHashingProperties.getTimeoutMs());
     }
 
     /**
@@ -100,9 +157,10 @@ public class WebSecurityConfig {
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(Collections.singletonList("*")); // 开发环境允许所有源，生产环境需指定
-        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type"));
-        configuration.setExposedHeaders(Collections.singletonList("X-Token-Expired"));
+        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "If-Match", "X-Server-Timing"));
+        configuration.setExposedHeaders(Arrays.asList("X-Token-Expired", "ETag", "Server-Timing",
+                RateLimitFilter.LIMIT_HEADER, RateLimitFilter.REMAINING_HEADER, "Retry-After"));
         configuration.setAllowCredentials(false);
         configuration.setMaxAge(3600L);
 
@@ -111,6 +169,43 @@ public class WebSecurityConfig {
         return source;
     }
 
+    /**
+     * 创建匿名只读请求的安全过滤器链Bean
+     * 优先于核心安全过滤器链匹配，只处理{@link #ANONYMOUS_READS}
+     * @param http HttpSecurity对象
+     * @return SecurityFilterChain实例
+     * @throws Exception 安全过滤器链构建异常
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain anonymousReadFilterChain(HttpSecurity http) throws Exception {
+        return anonymousReads(http, corsConfigurationSource()).build();
+    }
+
+    /**
+     * 配置匿名只读请求的安全过滤器链
+     * 这些请求对所有人公开且不需要当前用户，因此不解析令牌、不创建认证对象和安全上下文，
+     * 只保留CORS和安全响应头。带令牌的请求仍走核心过滤器链，控制器和读写分离的会话粘滞可以取到登录用户。
+     * @param http HttpSecurity对象
+     * @param corsConfigurationSource CORS配置源
+     * @return 配置好的HttpSecurity
+     * @throws Exception 配置异常
+     */
+    public static HttpSecurity anonymousReads(HttpSecurity http, CorsConfigurationSource corsConfigurationSource)
+            throws Exception {
+        return http
+                .securityMatcher(ANONYMOUS_READS)
+                .cors(cors -> cors.configurationSource(corsConfigurationSource))
+                .csrf(AbstractHttpConfigurer::disable)
+                .securityContext(AbstractHttpConfigurer::disable)
+                .sessionManagement(AbstractHttpConfigurer::disable)
+                .requestCache(AbstractHttpConfigurer::disable)
+                .anonymous(AbstractHttpConfigurer::disable)
+                .servletApi(AbstractHttpConfigurer::disable)
+                .exceptionHandling(AbstractHttpConfigurer::disable)
+                .logout(AbstractHttpConfigurer::disable);
+    }
+
     /**
      * 创建安全过滤器链Bean
      * 配置接口权限、认证逻辑、CORS、CSRF、会话策略等安全策略
@@ -133,6 +228,8 @@ public class WebSecurityConfig {
                 // 配置接口权限规则
                 .authorizeHttpRequests(auth -> auth
                         // 1. 业务相关公开接口（保持原有逻辑）
+                        // 上传封面会写入图片存储，放在/api/articles/**的放行规则之前
+                        .requestMatchers(HttpMethod.POST, "/api/articles/*/cover").authenticated()
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/test/**").permitAll()
                         .requestMatchers("/api/articles/**").permitAll()
@@ -140,9 +237,14 @@ public class WebSecurityConfig {
                         .requestMatchers("/api/tags/**").permitAll()
                         .requestMatchers("/api/users/public/**").permitAll()
                         .requestMatchers("/api/comments/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/media/**").permitAll()
                         // 2. SpringDoc OpenAPI 文档路径（必须放行）
                         .requestMatchers("/swagger-ui/**", "/swagger-ui.html", "/v3/api-docs/**", "/v3/api-docs.yaml").permitAll()
-                        // 3. 其他所有接口都需要认证
+                        // 健康检查和Prometheus抓取，生产环境应在网关或网络层限制访问来源
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
+                        // 3. 监控接口只对管理员开放
+                        .requestMatchers("/api/admin/cache/**", "/api/admin/sql/**").hasAuthority("ADMIN")
+                        // 4. 其他所有接口都需要认证
                         .anyRequest().authenticated()
                 )
                 // 注册认证提供者（使用 DaoAuthenticationProvider）
@@ -150,6 +252,12 @@ public class WebSecurityConfig {
                 // 注册 JWT 过滤器（在 UsernamePasswordAuthenticationFilter 之前执行）
                 .addFilterBefore(authenticationJwtTokenFilter(), UsernamePasswordAuthenticationFilter.class);
 
+        // 限流过滤器紧跟在 JWT 过滤器之后，按用户限流时可以取到已认证用户；
+        // 不注册为 Bean，避免再被自动注册到 Servlet 过滤器链中执行两次
+        if (rateLimitProperties.isEnabled() && !rateLimitProperties.getRoutes().isEmpty()) {
+            http.addFilterAfter(new RateLimitFilter(rateLimitProperties, meterRegistry), JwtAuthTokenFilter.class);
+        }
+
         return http.build();
     }
 }
\ No newline at end of file
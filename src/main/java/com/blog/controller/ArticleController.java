@@ -1,21 +1,29 @@
 package com.blog.controller;
 
+import com.blog.dto.ArticleDraftDto;
 import com.blog.dto.ArticleDto;
 import com.blog.entity.User;
+import com.blog.service.ArticleDraftService;
 import com.blog.service.ArticleService;
+import com.blog.service.MediaService;
 import com.blog.config.UserDetailsImpl;
 import com.blog.exception.ResourceNotFoundException;
+import com.blog.util.FieldSelection;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import jakarta.validation.Valid;
 import java.util.List;
@@ -29,12 +37,27 @@ import java.util.List;
 @Tag(name = "文章管理", description = "文章管理相关接口")
 public class ArticleController {
     
+    /** 批量获取接口单次最多返回的文章数量 */
+    private static final int MAX_BATCH_SIZE = 100;
+    
     /**
      * 自动注入文章服务类
      */
     @Autowired
     private ArticleService articleService;
     
+    /**
+     * 自动注入文章草稿服务类
+     */
+    @Autowired
+    private ArticleDraftService articleDraftService;
+    
+    /**
+     * 自动注入图片存储服务类
+     */
+    @Autowired
+    private MediaService mediaService;
+    
     /**
      * 创建新文章
      * @param articleDto 包含文章信息的数据传输对象，必须经过验证
@@ -61,10 +84,25 @@ public class ArticleController {
         }
     }
     
+    /**
+     * 批量获取文章
+     * 一次请求返回多篇文章，结果按请求顺序排列，不存在的文章被跳过；不增加浏览量
+     * @param ids 文章ID列表，逗号分隔，最多100个
+     * @return 文章列表，ID数量超出限制时返回400
+     */
+    @GetMapping("/batch")
+    @Operation(summary = "批量获取文章", description = "按ID列表一次获取多篇文章，不计入浏览量")
+    public ResponseEntity<List<ArticleDto>> getArticlesByIds(@RequestParam List<Long> ids) {
+        if (ids.isEmpty() || ids.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(articleService.getArticlesByIds(ids));
+    }
+    
     /**
      * 根据文章ID获取文章详情
      * @param id 文章的唯一标识符
-     * @return 对应ID的文章信息，如果不存在则返回404
+     * @return 对应ID的文章信息，响应头ETag为当前版本号；如果不存在则返回404
      * @throws com.blog.exception.ResourceNotFoundException 如果文章不存在
      */
     @GetMapping("/{id}")
@@ -72,28 +110,115 @@ public class ArticleController {
     public ResponseEntity<ArticleDto> getArticleById(@PathVariable Long id) throws com.blog.exception.ResourceNotFoundException {
         articleService.incrementViewCount(id); // 增加浏览量
         return articleService.getArticleById(id)
-                .map(ResponseEntity::ok)
+                .map(article -> ResponseEntity.ok().eTag(String.valueOf(article.getVersion())).body(article))
                 .orElse(ResponseEntity.notFound().build());
     }
     
     /**
      * 更新指定ID的文章
+     * 请求头携带If-Match时按乐观锁校验版本，版本不一致返回412；未携带时服务端遇到并发冲突会自动重试，仍失败返回409
      * @param id 要更新的文章ID
+     * @param ifMatch 客户端持有的ETag（版本号），可选
      * @param articleDto 包含更新信息的数据传输对象，必须经过验证
      * @return 更新后的文章信息，如果文章不存在则返回404
      * @throws com.blog.exception.ResourceNotFoundException 如果文章不存在
      */
     @PutMapping("/{id}")
-    @Operation(summary = "更新文章", description = "更新指定ID的文章")
-    public ResponseEntity<ArticleDto> updateArticle(@PathVariable Long id, @Valid @RequestBody ArticleDto articleDto) throws com.blog.exception.ResourceNotFoundException {
+    @Operation(summary = "更新文章", description = "更新指定ID的文章，支持If-Match乐观锁校验")
+    public ResponseEntity<ArticleDto> updateArticle(@PathVariable Long id,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                    @Valid @RequestBody ArticleDto articleDto) throws com.blog.exception.ResourceNotFoundException {
+        Long expectedVersion = null;
+        if (ifMatch != null && !"*".equals(ifMatch.trim())) {
+            expectedVersion = parseVersion(ifMatch);
+            if (expectedVersion == null) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+            }
+        }
         try {
-            ArticleDto updatedArticle = articleService.updateArticle(id, articleDto);
-            return ResponseEntity.ok(updatedArticle);
+            ArticleDto updatedArticle = articleService.updateArticle(id, articleDto, expectedVersion);
+            return ResponseEntity.ok().eTag(String.valueOf(updatedArticle.getVersion())).body(updatedArticle);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(expectedVersion != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
     }
     
+    /**
+     * 上传文章封面，封面地址改写为本站保存的卡片图
+     * @param id 文章ID
+     * @param file 图片文件
+     * @return 更新后的文章信息，ETag为新的版本号
+     * @throws com.blog.exception.ResourceNotFoundException 如果文章不存在
+     * @throws java.io.IOException 保存图片失败
+     */
+    @PostMapping(value = "/{id}/cover", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "上传封面", description = "保存封面图片并将文章封面设置为卡片图地址")
+    public ResponseEntity<ArticleDto> uploadCover(@PathVariable Long id, @RequestParam("file") MultipartFile file)
+            throws com.blog.exception.ResourceNotFoundException, java.io.IOException {
+        // 先确认文章存在，避免为不存在的文章保存图片和提交生成任务
+        if (articleService.getArticleById(id).isEmpty()) {
+            throw new ResourceNotFoundException("Article not found");
+        }
+        String coverImage = mediaService.storeImage(file).getVariants().get(MediaService.COVER_VARIANT);
+        ArticleDto updatedArticle = articleService.updateCoverImage(id, coverImage);
+        return ResponseEntity.ok().eTag(String.valueOf(updatedArticle.getVersion())).body(updatedArticle);
+    }
+    
+    /**
+     * 点赞文章
+     * @param id 文章ID
+     * @return 操作结果
+     * @throws com.blog.exception.ResourceNotFoundException 如果文章不存在
+     */
+    @PostMapping("/{id}/like")
+    @Operation(summary = "点赞文章", description = "增加指定文章的点赞数")
+    public ResponseEntity<Void> likeArticle(@PathVariable Long id) throws com.blog.exception.ResourceNotFoundException {
+        articleService.incrementLikeCount(id);
+        return ResponseEntity.ok().build();
+    }
+    
+    /**
+     * 自动保存文章草稿
+     * 草稿先缓冲在内存中，多次保存会被合并，静默一段时间后才写入数据库
+     * @param id 文章ID
+     * @param draftDto 本次提交的草稿字段，为null的字段保持不变
+     * @return 合并后的草稿，状态码202表示已接受但尚未持久化
+     * @throws com.blog.exception.ResourceNotFoundException 如果文章不存在
+     */
+    @PatchMapping("/{id}/draft")
+    @Operation(summary = "自动保存草稿", description = "缓冲并合并编辑器的自动保存，延迟写入数据库")
+    public ResponseEntity<ArticleDraftDto> saveDraft(@PathVariable Long id, @RequestBody ArticleDraftDto draftDto) throws com.blog.exception.ResourceNotFoundException {
+        ArticleDraftDto draft = articleDraftService.saveDraft(id, draftDto);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(draft);
+    }
+    
+    /**
+     * 获取尚未持久化的草稿
+     * @param id 文章ID
+     * @return 草稿信息，没有待持久化的草稿时返回404
+     */
+    @GetMapping("/{id}/draft")
+    @Operation(summary = "获取草稿", description = "获取尚未写入数据库的草稿内容")
+    public ResponseEntity<ArticleDraftDto> getDraft(@PathVariable Long id) {
+        return articleDraftService.getDraft(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * 立即保存草稿
+     * @param id 文章ID
+     * @return 草稿已写入数据库返回200，没有待保存的草稿返回204
+     */
+    @PostMapping("/{id}/draft/save")
+    @Operation(summary = "立即保存草稿", description = "跳过静默期，立即将草稿写入数据库")
+    public ResponseEntity<Void> flushDraft(@PathVariable Long id) {
+        boolean flushed = articleDraftService.flushDraft(id);
+        return flushed ? ResponseEntity.ok().build() : ResponseEntity.noContent().build();
+    }
+    
     /**
      * 删除指定ID的文章
      * @param id 要删除的文章ID
@@ -112,15 +237,17 @@ public class ArticleController {
      * 分页获取所有文章列表
      * @param page 页码，从0开始，默认为0
      * @param size 每页大小，默认为10
+     * @param fields 需要返回的字段，逗号分隔，支持"author.nickname"形式的嵌套字段；为空返回全部字段
      * @return 分页的文章列表
      */
     @GetMapping
     @Operation(summary = "分页获取所有文章", description = "分页获取所有文章列表")
     public ResponseEntity<Page<ArticleDto>> getAllArticles(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String fields) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<ArticleDto> articles = articleService.getAllArticles(pageable);
+        Page<ArticleDto> articles = articleService.getAllArticles(pageable, FieldSelection.parse(fields));
         return ResponseEntity.ok(articles);
     }
     
@@ -128,15 +255,17 @@ public class ArticleController {
      * 分页获取已发布的文章列表
      * @param page 页码，从0开始，默认为0
      * @param size 每页大小，默认为10
+     * @param fields 需要返回的字段，逗号分隔，支持"author.nickname"形式的嵌套字段；为空返回全部字段
      * @return 分页的已发布文章列表
      */
     @GetMapping("/published")
     @Operation(summary = "分页获取已发布的文章", description = "分页获取已发布的文章列表")
     public ResponseEntity<Page<ArticleDto>> getPublishedArticles(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String fields) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<ArticleDto> articles = articleService.getPublishedArticles(pageable);
+        Page<ArticleDto> articles = articleService.getPublishedArticles(pageable, FieldSelection.parse(fields));
         return ResponseEntity.ok(articles);
     }
     
@@ -145,6 +274,7 @@ public class ArticleController {
      * @param authorId 作者的唯一标识符
      * @param page 页码，从0开始，默认为0
      * @param size 每页大小，默认为10
+     * @param fields 需要返回的字段，逗号分隔，支持"author.nickname"形式的嵌套字段；为空返回全部字段
      * @return 指定作者的分页文章列表
      * @throws com.blog.exception.ResourceNotFoundException 如果作者不存在
      */
@@ -153,9 +283,10 @@ public class ArticleController {
     public ResponseEntity<Page<ArticleDto>> getArticlesByAuthor(
             @PathVariable Long authorId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) throws com.blog.exception.ResourceNotFoundException {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String fields) throws com.blog.exception.ResourceNotFoundException {
         Pageable pageable = PageRequest.of(page, size);
-        Page<ArticleDto> articles = articleService.getArticlesByAuthor(authorId, pageable);
+        Page<ArticleDto> articles = articleService.getArticlesByAuthor(authorId, pageable, FieldSelection.parse(fields));
         return ResponseEntity.ok(articles);
     }
     
@@ -164,6 +295,7 @@ public class ArticleController {
      * @param categoryId 分类的唯一标识符
      * @param page 页码，从0开始，默认为0
      * @param size 每页大小，默认为10
+     * @param fields 需要返回的字段，逗号分隔，支持"author.nickname"形式的嵌套字段；为空返回全部字段
      * @return 指定分类的分页文章列表
      * @throws com.blog.exception.ResourceNotFoundException 如果分类不存在
      */
@@ -172,9 +304,10 @@ public class ArticleController {
     public ResponseEntity<Page<ArticleDto>> getArticlesByCategory(
             @PathVariable Long categoryId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) throws com.blog.exception.ResourceNotFoundException {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String fields) throws com.blog.exception.ResourceNotFoundException {
         Pageable pageable = PageRequest.of(page, size);
-        Page<ArticleDto> articles = articleService.getArticlesByCategory(categoryId, pageable);
+        Page<ArticleDto> articles = articleService.getArticlesByCategory(categoryId, pageable, FieldSelection.parse(fields));
         return ResponseEntity.ok(articles);
     }
     
@@ -183,6 +316,7 @@ public class ArticleController {
      * @param tagId 标签的唯一标识符
      * @param page 页码，从0开始，默认为0
      * @param size 每页大小，默认为10
+     * @param fields 需要返回的字段，逗号分隔，支持"author.nickname"形式的嵌套字段；为空返回全部字段
      * @return 指定标签的分页文章列表
      * @throws com.blog.exception.ResourceNotFoundException 如果标签不存在
      */
@@ -191,9 +325,10 @@ public class ArticleController {
     public ResponseEntity<Page<ArticleDto>> getArticlesByTag(
             @PathVariable Long tagId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) throws com.blog.exception.ResourceNotFoundException {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String fields) throws com.blog.exception.ResourceNotFoundException {
         Pageable pageable = PageRequest.of(page, size);
-        Page<ArticleDto> articles = articleService.getArticlesByTag(tagId, pageable);
+        Page<ArticleDto> articles = articleService.getArticlesByTag(tagId, pageable, FieldSelection.parse(fields));
         return ResponseEntity.ok(articles);
     }
     
@@ -201,15 +336,17 @@ public class ArticleController {
      * 分页获取热门文章列表
      * @param page 页码，从0开始，默认为0
      * @param size 每页大小，默认为10
+     * @param fields 需要返回的字段，逗号分隔，支持"author.nickname"形式的嵌套字段；为空返回全部字段
      * @return 分页的热门文章列表
      */
     @GetMapping("/popular")
     @Operation(summary = "分页获取热门文章", description = "分页获取热门文章列表")
     public ResponseEntity<Page<ArticleDto>> getPopularArticles(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String fields) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<ArticleDto> articles = articleService.getPopularArticles(pageable);
+        Page<ArticleDto> articles = articleService.getPopularArticles(pageable, FieldSelection.parse(fields));
         return ResponseEntity.ok(articles);
     }
     
@@ -223,4 +360,24 @@ public class ArticleController {
         List<ArticleDto> articles = articleService.getTopPopularArticles();
         return ResponseEntity.ok(articles);
     }
-}
\ No newline at end of file
+    
+    /**
+     * 解析If-Match中的版本号，支持带引号和弱校验前缀的ETag
+     * @param ifMatch If-Match请求头
+     * @return 版本号，格式不正确时返回null
+     */
+    private Long parseVersion(String ifMatch) {
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        try {
+            return Long.valueOf(tag);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
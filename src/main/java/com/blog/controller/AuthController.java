@@ -2,15 +2,23 @@ package com.blog.controller;
 
 import com.blog.dto.JwtResponse;
 import com.blog.dto.LoginRequest;
+import com.blog.dto.RefreshTokenRequest;
 import com.blog.dto.UserDto;
 import com.blog.entity.User;
+import com.blog.service.RefreshTokenService;
+import com.blog.service.TokenRevocationService;
 import com.blog.service.UserService;
 import com.blog.config.JwtUtils;
 import com.blog.config.UserDetailsImpl;
+import com.blog.config.UserDetailsServiceImpl;
 import com.blog.util.ResponseUtil;
+import io.jsonwebtoken.Claims;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -23,6 +31,7 @@ import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * 认证控制器
@@ -57,6 +66,24 @@ public class AuthController {
     @Autowired
     JwtUtils jwtUtils;
     
+    /**
+     * 自动注入用户详情服务，刷新令牌时按登录时的方式构建用户信息
+     */
+    @Autowired
+    UserDetailsServiceImpl userDetailsService;
+    
+    /**
+     * 自动注入刷新令牌服务
+     */
+    @Autowired
+    RefreshTokenService refreshTokenService;
+    
+    /**
+     * 自动注入令牌吊销服务
+     */
+    @Autowired
+    TokenRevocationService tokenRevocationService;
+    
     /**
      * 用户登录接口
      * @param loginRequest 包含用户名和密码的登录请求对象
@@ -78,11 +105,14 @@ public class AuthController {
             // 获取认证用户详细信息
             UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
             
+            // 签发刷新令牌，访问令牌过期后用它换取新令牌
+            String refreshToken = refreshTokenService.issue(userDetails.getId());
+            
             // 返回JWT响应对象
-        return ResponseUtil.buildSuccessResponse(new JwtResponse(jwt, 
-                userDetails.getId(), 
-                userDetails.getUsername(), 
-                userDetails.getEmail()));
+            return ResponseUtil.buildSuccessResponse(new JwtResponse(jwt, refreshToken, jwtUtils.getJwtExpiration(),
+                    userDetails.getId(), 
+                    userDetails.getUsername(), 
+                    userDetails.getEmail()));
         } catch (AuthenticationException e) {
             // 认证失败，返回401状态码和错误信息
             return ResponseUtil.buildErrorResponse("用户名或密码错误");
@@ -97,7 +127,7 @@ public class AuthController {
     @PostMapping("/signup")
     @Operation(summary = "用户注册", description = "用户注册接口")
     public ResponseEntity<?> registerUser(@Valid @RequestBody UserDto userDto) {
-        // 检查用户名是否已被使用
+        // 检查用户名是否已被使用（过滤器判定一定未被使用时不查询数据库）
         if (userService.existsByUsername(userDto.getUsername())) {
             return ResponseUtil.buildErrorResponse("用户名已被使用");
         }
@@ -107,10 +137,64 @@ public class AuthController {
             return ResponseUtil.buildErrorResponse("邮箱已被使用");
         }
         
-        // 创建新用户
-        UserDto newUser = userService.createUser(userDto);
+        // 创建新用户；并发注册或其他实例刚注册的用户名和邮箱由唯一约束兜底
+        try {
+            userService.createUser(userDto);
+        } catch (DataIntegrityViolationException e) {
+            return ResponseUtil.buildErrorResponse("用户名或邮箱已被使用");
+        }
         
         // 返回注册成功信息
         return ResponseUtil.buildSuccessResponse("用户注册成功");
     }
-}
\ No newline at end of file
+    
+    /**
+     * 刷新令牌接口
+     * 用刷新令牌换取新的访问令牌和刷新令牌，旧的刷新令牌随即失效
+     * @param request 包含刷新令牌的请求对象
+     * @return 新的令牌信息；刷新令牌无效、过期、已被使用或用户已被禁用时返回401
+     */
+    @PostMapping("/refresh")
+    @Operation(summary = "刷新令牌", description = "用刷新令牌换取新的访问令牌，刷新令牌同时轮换")
+    public ResponseEntity<?> refreshToken(@Valid @RequestBody RefreshTokenRequest request) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+        if (rotation == null) {
+            return ResponseUtil.buildErrorResponse("刷新令牌无效或已过期", HttpStatus.UNAUTHORIZED);
+        }
+        
+        // 刷新时重新读取用户，被禁用或删除的用户不能再换取令牌；权限与登录时一致
+        Optional<UserDetailsImpl> user = userDetailsService.loadUserById(rotation.userId());
+        if (user.isEmpty() || !user.get().isEnabled()) {
+            refreshTokenService.revokeAll(rotation.userId());
+            return ResponseUtil.buildErrorResponse("刷新令牌无效或已过期", HttpStatus.UNAUTHORIZED);
+        }
+        
+        UserDetailsImpl userDetails = user.get();
+        String jwt = jwtUtils.generateJwtToken(userDetails);
+        return ResponseUtil.buildSuccessResponse(new JwtResponse(jwt, rotation.refreshToken(), jwtUtils.getJwtExpiration(),
+                userDetails.getId(), userDetails.getUsername(), userDetails.getEmail()));
+    }
+    
+    /**
+     * 用户注销接口
+     * 吊销请求头中的访问令牌；请求体携带刷新令牌时，同一次登录轮换出的刷新令牌一并失效
+     * @param authorization Authorization请求头
+     * @param request 包含刷新令牌的请求对象，可选
+     * @return 注销结果信息
+     */
+    @PostMapping("/logout")
+    @Operation(summary = "用户注销", description = "吊销当前访问令牌和刷新令牌")
+    public ResponseEntity<?> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                    @RequestBody(required = false) RefreshTokenRequest request) {
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            Claims claims = jwtUtils.parseJwtClaims(authorization.substring(7));
+            if (claims != null) {
+                tokenRevocationService.revokeToken(claims.getId(), claims.getExpiration());
+            }
+        }
+        if (request != null && request.getRefreshToken() != null) {
+            refreshTokenService.revoke(request.getRefreshToken());
+        }
+        return ResponseUtil.buildSuccessResponse("已注销");
+    }
+}
@@ -0,0 +1,46 @@
+package com.blog.controller;
+
+import com.blog.dto.CacheRegionStatsDto;
+import com.blog.service.CacheStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 缓存监控控制器
+ * 查看二级缓存和查询缓存各区域的命中情况，需要登录
+ */
+@RestController
+@RequestMapping("/api/admin/cache")
+@Tag(name = "缓存监控", description = "缓存统计相关接口")
+public class CacheController {
+    
+    /** 自动注入缓存统计服务 */
+    @Autowired
+    private CacheStatsService cacheStatsService;
+    
+    /**
+     * 获取各缓存区域的统计
+     * @return 区域统计列表
+     */
+    @GetMapping("/stats")
+    @Operation(summary = "获取缓存统计", description = "获取二级缓存和查询缓存各区域的命中、未命中、写入次数和条目数")
+    public ResponseEntity<List<CacheRegionStatsDto>> getStats() {
+        return ResponseEntity.ok(cacheStatsService.getRegionStats());
+    }
+    
+    /**
+     * 清空统计计数
+     * @return 无内容
+     */
+    @DeleteMapping("/stats")
+    @Operation(summary = "重置缓存统计", description = "清空统计计数，不影响缓存内容")
+    public ResponseEntity<Void> clearStats() {
+        cacheStatsService.clearStats();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -74,12 +74,15 @@ public class CategoryController {
     /**
      * 删除指定ID的分类
      * @param id 要删除的分类ID
+     * @param moveTo 目标分类ID，指定时分类下的文章移到目标分类，否则文章变为无分类
      * @return 删除结果的ResponseEntity对象
+     * @throws com.blog.exception.ResourceNotFoundException 如果分类或目标分类不存在
      */
     @DeleteMapping("/{id}")
-    @Operation(summary = "删除分类", description = "删除指定ID的分类")
-    public ResponseEntity<Void> deleteCategory(@PathVariable Long id) {
-        categoryService.deleteCategory(id);
+    @Operation(summary = "删除分类", description = "删除指定ID的分类，文章移到目标分类或变为无分类")
+    public ResponseEntity<Void> deleteCategory(@PathVariable Long id,
+                                               @RequestParam(required = false) Long moveTo) throws com.blog.exception.ResourceNotFoundException {
+        categoryService.deleteCategory(id, moveTo);
         return ResponseEntity.ok().build();
     }
     
@@ -0,0 +1,88 @@
+package com.blog.controller;
+
+import com.blog.dto.MediaImageDto;
+import com.blog.service.MediaService;
+import com.blog.util.FileResponseWriter;
+import com.blog.util.ResponseUtil;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * 图片控制器
+ * 提供图片上传和按内容摘要访问图片的接口
+ */
+@RestController
+@Tag(name = "图片管理", description = "图片上传和访问接口")
+public class MediaController {
+
+    /** 内容摘要地址的缓存策略：一年内直接使用缓存，不再校验 */
+    private static final String IMMUTABLE =
+            CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable().getHeaderValue();
+
+    /** 自动注入图片存储服务类 */
+    @Autowired
+    private MediaService mediaService;
+
+    /**
+     * 上传图片
+     * @param file 图片文件，支持JPEG、PNG和GIF
+     * @return 图片信息和各尺寸的地址
+     */
+    @PostMapping(value = "/api/media/images", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "上传图片", description = "按内容摘要保存图片，后台生成缩略图、卡片图和大图")
+    public ResponseEntity<Object> uploadImage(
+            @Parameter(description = "图片文件", required = true) @RequestParam("file") MultipartFile file) {
+        try {
+            MediaImageDto image = mediaService.storeImage(file);
+            return ResponseUtil.buildSuccessResponse(image);
+        } catch (Exception e) {
+            return ResponseUtil.buildErrorResponse("上传图片失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 访问图片
+     * 地址包含内容摘要，内容不会变化，完整命中时允许客户端和CDN永久缓存；
+     * 请求的尺寸尚未生成时临时返回原图，此时不允许缓存。支持Range和条件请求，
+     * 文件内容由容器通过sendfile零拷贝发送
+     * @param hash 内容摘要
+     * @param fileName 文件名，如"card.jpg"
+     * @param request 请求
+     * @param response 响应
+     * @throws IOException 读取文件或写入响应失败
+     */
+    @GetMapping("/media/{hash}/{fileName}")
+    @Operation(summary = "访问图片", description = "按内容摘要和尺寸访问图片，支持Range和条件请求")
+    public void getImage(@PathVariable String hash, @PathVariable String fileName,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Optional<Path> file = mediaService.resolve(hash, fileName);
+        if (file.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        Path path = file.get();
+        String served = path.getFileName().toString();
+        String contentType = MediaTypeFactory.getMediaType(served).orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+        FileResponseWriter.write(request, response, path, contentType,
+                served.equals(fileName) ? IMMUTABLE : CacheControl.noStore().getHeaderValue());
+    }
+}
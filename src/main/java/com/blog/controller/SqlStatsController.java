@@ -0,0 +1,59 @@
+package com.blog.controller;
+
+import com.blog.dto.SqlEndpointStatsDto;
+import com.blog.dto.SqlShapeStatsDto;
+import com.blog.service.SqlStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * SQL统计控制器
+ * 查看各语句形态和各接口的数据库耗时，需要登录
+ */
+@RestController
+@RequestMapping("/api/admin/sql")
+@Tag(name = "SQL统计", description = "SQL执行统计相关接口")
+public class SqlStatsController {
+    
+    /** 自动注入SQL执行统计服务 */
+    @Autowired
+    private SqlStatsService sqlStatsService;
+    
+    /**
+     * 获取各语句形态的统计
+     * @param limit 最多返回的条数
+     * @return 按总耗时倒序的语句形态统计
+     */
+    @GetMapping("/shapes")
+    @Operation(summary = "获取语句统计", description = "按语句形态统计执行次数、耗时分位数、绑定参数个数和慢查询次数")
+    public ResponseEntity<List<SqlShapeStatsDto>> getShapeStats(@RequestParam(defaultValue = "50") int limit) {
+        List<SqlShapeStatsDto> shapes = sqlStatsService.getShapeStats();
+        return ResponseEntity.ok(shapes.subList(0, Math.min(Math.max(limit, 0), shapes.size())));
+    }
+    
+    /**
+     * 获取各接口的统计
+     * @return 按请求数倒序的接口统计
+     */
+    @GetMapping("/endpoints")
+    @Operation(summary = "获取接口统计", description = "按接口统计语句数、语句耗时分位数和疑似N+1查询")
+    public ResponseEntity<List<SqlEndpointStatsDto>> getEndpointStats() {
+        return ResponseEntity.ok(sqlStatsService.getEndpointStats());
+    }
+    
+    /**
+     * 清空统计
+     * @return 无内容
+     */
+    @DeleteMapping("/stats")
+    @Operation(summary = "重置SQL统计", description = "清空全部SQL执行统计")
+    public ResponseEntity<Void> reset() {
+        sqlStatsService.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,18 +1,22 @@
 package com.blog.controller;
 
+import com.blog.dto.AuthorProfileDto;
+import com.blog.dto.CursorPageDto;
 import com.blog.dto.UserDto;
+import com.blog.dto.UserSummaryDto;
 import com.blog.exception.ResourceNotFoundException;
+import com.blog.service.AuthorStatsService;
+import com.blog.service.MediaService;
 import com.blog.service.UserService;
 import com.blog.util.ResponseUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.Optional;
 
@@ -32,6 +36,14 @@ public class UserController {
     @Autowired
     private UserService userService;
     
+    /** 自动注入作者统计服务类 */
+    @Autowired
+    private AuthorStatsService authorStatsService;
+    
+    /** 自动注入图片存储服务类 */
+    @Autowired
+    private MediaService mediaService;
+    
     /**
      * 创建新的用户
      * @param userDto 包含用户信息的数据传输对象
@@ -67,20 +79,38 @@ public class UserController {
     }
     
     /**
-     * 分页获取所有用户列表
-     * @param page 页码（从0开始）
-     * @param size 每页大小
-     * @return 包含用户列表的ResponseEntity对象
+     * 获取作者主页，无需登录
+     * @param id 作者的用户ID
+     * @return 包含作者公开资料、文章统计和最新文章的ResponseEntity对象
+     */
+    @GetMapping("/public/{id}/profile")
+    @Operation(summary = "获取作者主页", description = "获取作者的公开资料、已发布文章数、总浏览量、总点赞数和最新文章")
+    public ResponseEntity<Object> getAuthorProfile(
+            @Parameter(description = "用户ID", required = true) @PathVariable Long id) {
+        Optional<AuthorProfileDto> profile = authorStatsService.getAuthorProfile(id);
+        if (profile.isPresent()) {
+            return ResponseUtil.buildSuccessResponse(profile.get());
+        } else {
+            return ResponseUtil.buildNotFoundResponse("用户未找到");
+        }
+    }
+    
+    /**
+     * 按游标分页获取用户目录
+     * @param sort 排序方式：id（按ID升序）或createTime（按注册时间倒序）
+     * @param cursor 上一页返回的nextCursor，第一页不传
+     * @param size 每页大小，最大100
+     * @return 包含用户公开资料和下一页游标的ResponseEntity对象
      */
     @GetMapping
-    @Operation(summary = "获取所有用户", description = "分页获取所有用户列表")
+    @Operation(summary = "获取用户目录", description = "按游标分页获取用户公开资料，不统计总数")
     public ResponseEntity<Object> getAllUsers(
-            @Parameter(description = "页码", example = "0") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "排序方式：id或createTime", example = "id") @RequestParam(defaultValue = "id") String sort,
+            @Parameter(description = "上一页返回的游标") @RequestParam(required = false) String cursor,
             @Parameter(description = "每页大小", example = "10") @RequestParam(defaultValue = "10") int size) {
         try {
-            Pageable pageable = PageRequest.of(page, size);
-            Page<UserDto> users = userService.getAllUsers(pageable);
-            return ResponseUtil.buildSuccessResponse(users.getContent());
+            CursorPageDto<UserSummaryDto> users = userService.getAllUsers(sort, cursor, size);
+            return ResponseUtil.buildSuccessResponse(users);
         } catch (Exception e) {
             return ResponseUtil.buildErrorResponse("获取用户列表失败: " + e.getMessage());
         }
@@ -105,6 +135,28 @@ public class UserController {
         }
     }
     
+    /**
+     * 上传用户头像，头像地址改写为本站保存的缩略图
+     * @param id 用户ID
+     * @param file 图片文件
+     * @return 更新后的用户信息
+     */
+    @PostMapping(value = "/{id}/avatar", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "上传头像", description = "保存头像图片并将用户头像设置为缩略图地址")
+    public ResponseEntity<Object> uploadAvatar(
+            @Parameter(description = "用户ID", required = true) @PathVariable Long id,
+            @Parameter(description = "图片文件", required = true) @RequestParam("file") MultipartFile file) {
+        try {
+            String avatar = mediaService.storeImage(file).getVariants().get(MediaService.AVATAR_VARIANT);
+            UserDto updatedUser = userService.updateAvatar(id, avatar);
+            return ResponseUtil.buildSuccessResponse(updatedUser);
+        } catch (ResourceNotFoundException e) {
+            return ResponseUtil.buildNotFoundResponse("用户未找到");
+        } catch (Exception e) {
+            return ResponseUtil.buildErrorResponse("上传头像失败: " + e.getMessage());
+        }
+    }
+    
     /**
      * 根据用户ID删除用户
      * @param id 要删除的用户ID
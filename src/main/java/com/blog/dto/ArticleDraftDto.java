@@ -0,0 +1,32 @@
+package com.blog.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文章草稿数据传输对象
+ * 编辑器自动保存时只提交发生变化的字段，为null的字段表示保持不变
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArticleDraftDto {
+    private Long articleId;
+
+    private String title;
+
+    private String content;
+
+    private String summary;
+
+    private String coverImage;
+
+    /** 草稿最近一次写入缓冲区的时间 */
+    private LocalDateTime updateTime;
+
+    /** 是否还有尚未持久化的草稿内容 */
+    private Boolean pending;
+}
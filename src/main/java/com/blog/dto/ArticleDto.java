@@ -1,5 +1,6 @@
 package com.blog.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -11,6 +12,7 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonFilter("fields")
 public class ArticleDto {
     private Long id;
     
@@ -34,6 +36,9 @@ public class ArticleDto {
     
     private LocalDateTime updateTime;
     
+    /** 乐观锁版本号，与响应头ETag一致 */
+    private Long version;
+    
     private UserDto author;
     
     private List<TagDto> tags;
@@ -0,0 +1,31 @@
+package com.blog.dto;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 作者主页：公开资料、已发布文章的统计和最新文章
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonFilter("fields")
+public class AuthorProfileDto {
+    private UserSummaryDto author;
+    
+    /** 已发布文章数 */
+    private Long articleCount;
+    
+    /** 已发布文章的总浏览量 */
+    private Long viewCount;
+    
+    /** 已发布文章的总点赞数 */
+    private Long likeCount;
+    
+    /** 最新发布的文章，只含标题、摘要、封面、计数和创建时间 */
+    private List<ArticleDto> latestArticles;
+}
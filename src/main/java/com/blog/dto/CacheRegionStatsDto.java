@@ -0,0 +1,24 @@
+package com.blog.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheRegionStatsDto {
+    private String region;
+    
+    private long hitCount;
+    
+    private long missCount;
+    
+    private long putCount;
+    
+    /** 当前缓存的条目数，缓存实现不支持时为-1 */
+    private long elementCount;
+    
+    /** 命中率，没有访问时为0 */
+    private double hitRatio;
+}
@@ -0,0 +1,23 @@
+package com.blog.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 游标分页结果，不统计总数
+ * @param <T> 元素类型
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDto<T> {
+    private List<T> content;
+    
+    /** 下一页的游标，原样传回即可获取下一页；没有下一页时为null */
+    private String nextCursor;
+    
+    private boolean hasNext;
+}
@@ -13,6 +13,10 @@ public class JwtResponse {
     private Long id;
     private String username;
     private String email;
+    /** 刷新令牌，访问令牌过期后调用/api/auth/refresh换取新令牌 */
+    private String refreshToken;
+    /** 访问令牌有效期（秒） */
+    private Integer expiresIn;
     
     public JwtResponse(String accessToken, Long id, String username, String email) {
         this.token = accessToken;
@@ -20,4 +24,10 @@ public class JwtResponse {
         this.username = username;
         this.email = email;
     }
+    
+    public JwtResponse(String accessToken, String refreshToken, Integer expiresIn, Long id, String username, String email) {
+        this(accessToken, id, username, email);
+        this.refreshToken = refreshToken;
+        this.expiresIn = expiresIn;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.blog.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * 上传后的图片
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MediaImageDto {
+    /** 原图内容的SHA-256摘要（十六进制），相同内容只保存一份 */
+    private String hash;
+    
+    /** 原图格式：jpeg、png或gif */
+    private String format;
+    
+    private Integer width;
+    
+    private Integer height;
+    
+    /** 原图大小（字节） */
+    private Long size;
+    
+    /** 原图地址 */
+    private String original;
+    
+    /** 各尺寸图片的地址，键为尺寸名（thumbnail、card、full） */
+    private Map<String, String> variants;
+}
@@ -0,0 +1,38 @@
+package com.blog.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SqlEndpointStatsDto {
+    /** 请求方法和路由模板，例如GET /api/articles/{id} */
+    private String endpoint;
+    
+    private long requests;
+    
+    private long statements;
+    
+    /** 单条语句耗时分位数 */
+    private double statementP50Ms;
+    
+    private double statementP99Ms;
+    
+    /** 每个请求执行的语句数分位数 */
+    private long statementsPerRequestP50;
+    
+    private long statementsPerRequestP99;
+    
+    /** 每个请求的数据库总耗时p99 */
+    private double dbTimePerRequestP99Ms;
+    
+    /** 被判定为疑似N+1的请求数 */
+    private long repeatedStatementRequests;
+    
+    /** 重复执行的语句形态 */
+    private List<String> repeatedShapes;
+}
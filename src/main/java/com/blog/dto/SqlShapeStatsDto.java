@@ -0,0 +1,28 @@
+package com.blog.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SqlShapeStatsDto {
+    /** 归一化后的语句，字面量和绑定参数都替换为? */
+    private String shape;
+    
+    private long count;
+    
+    private double totalMs;
+    
+    private double p50Ms;
+    
+    private double p99Ms;
+    
+    private double maxMs;
+    
+    /** 平均每次执行的绑定参数个数 */
+    private double meanBinds;
+    
+    private long slowCount;
+}
@@ -0,0 +1,27 @@
+package com.blog.dto;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 用户目录中的公开资料，不含邮箱、密码和账号状态
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonFilter("fields")
+public class UserSummaryDto {
+    private Long id;
+    
+    private String username;
+    
+    private String nickname;
+    
+    private String avatar;
+    
+    private LocalDateTime createTime;
+}
@@ -5,12 +5,14 @@ import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import jakarta.validation.constraints.NotBlank;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "articles")
+@Table(name = "articles", indexes = @Index(name = "idx_articles_author_published_time", columnList = "author_id, published, createTime"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -33,10 +35,18 @@ public class Article {
     
     private Boolean published = false;
     
+    /** 计数器只通过增量UPDATE语句修改，实体保存时不回写，避免覆盖并发累加的结果 */
+    @Column(updatable = false)
     private Integer viewCount = 0;
     
+    @Column(updatable = false)
     private Integer likeCount = 0;
     
+    /** 乐观锁版本号，内容编辑时自动递增 */
+    @Version
+    @Column(nullable = false)
+    private Long version = 0L;
+    
     private LocalDateTime createTime;
     
     private LocalDateTime updateTime;
@@ -45,7 +55,9 @@ public class Article {
     @JoinColumn(name = "author_id")
     private User author;
     
+    /** 缓存标签ID集合，标签实体本身从二级缓存读取 */
     @ManyToMany(fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "article-tags")
     @JoinTable(
         name = "article_tags",
         joinColumns = @JoinColumn(name = "article_id"),
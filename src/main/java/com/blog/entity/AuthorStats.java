@@ -0,0 +1,43 @@
+package com.blog.entity;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 作者统计
+ * 只统计已发布的文章，随文章的发布、撤回、删除和浏览点赞增量更新，定期按文章表校正
+ */
+@Entity
+@Table(name = "author_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthorStats {
+    
+    /** 作者ID，与users表主键一致 */
+    @Id
+    private Long authorId;
+    
+    /** 已发布文章数 */
+    @Column(nullable = false)
+    private Long articleCount = 0L;
+    
+    /** 已发布文章的总浏览量 */
+    @Column(nullable = false)
+    private Long viewCount = 0L;
+    
+    /** 已发布文章的总点赞数 */
+    @Column(nullable = false)
+    private Long likeCount = 0L;
+    
+    /** 最近一次按文章表校正的时间 */
+    private LocalDateTime reconcileTime;
+    
+    public AuthorStats(Long authorId) {
+        this.authorId = authorId;
+    }
+}
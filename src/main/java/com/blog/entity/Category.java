@@ -5,12 +5,16 @@ import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import jakarta.validation.constraints.NotBlank;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
 @Table(name = "categories")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "category")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -30,7 +34,8 @@ public class Category {
     
     private LocalDateTime updateTime;
     
-    @OneToMany(mappedBy = "category", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    /** 只用于查询，不级联；删除分类时由CategoryService用批量UPDATE处理其下的文章 */
+    @OneToMany(mappedBy = "category", fetch = FetchType.LAZY)
     private List<Article> articles;
     
     @PrePersist
@@ -0,0 +1,53 @@
+package com.blog.entity;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 刷新令牌
+ * 只保存令牌的摘要；每次刷新签发同一家族的新令牌并把旧令牌标记为已使用，
+ * 已使用的令牌再次出现说明令牌泄露，整个家族随即失效
+ */
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_family", columnList = "familyId"),
+        @Index(name = "idx_refresh_tokens_user", columnList = "userId")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshToken {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    /** 令牌的SHA-256摘要 */
+    @Column(nullable = false, unique = true, length = 64)
+    private String tokenHash;
+    
+    /** 令牌所属用户ID，不建外键，删除用户时由服务层清理 */
+    @Column(nullable = false)
+    private Long userId;
+    
+    /** 同一次登录轮换出的令牌共享家族ID */
+    @Column(nullable = false, length = 36)
+    private String familyId;
+    
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+    
+    /** 是否已经用于刷新 */
+    private boolean used;
+    
+    private LocalDateTime createTime;
+    
+    @PrePersist
+    protected void onCreate() {
+        createTime = LocalDateTime.now();
+    }
+}
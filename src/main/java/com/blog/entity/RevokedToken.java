@@ -0,0 +1,41 @@
+package com.blog.entity;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 被吊销的访问令牌
+ * 只保留到令牌过期为止，各实例据此重建内存中的吊销过滤器。
+ * userId不为空的记录表示吊销该用户在createTime之前签发的全部令牌（如用户被删除），
+ * 保留到此前签发的令牌都过期为止
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = @Index(name = "idx_revoked_tokens_create_time", columnList = "createTime"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedToken {
+    
+    /** 令牌ID（jti） */
+    @Id
+    @Column(length = 64)
+    private String jti;
+    
+    /** 令牌过期时间，过期后记录可以删除 */
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+    
+    /** 按用户吊销时为用户ID，吊销单个令牌时为空 */
+    private Long userId;
+    
+    private LocalDateTime createTime;
+    
+    @PrePersist
+    protected void onCreate() {
+        createTime = LocalDateTime.now();
+    }
+}
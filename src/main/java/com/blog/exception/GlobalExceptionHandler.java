@@ -1,5 +1,6 @@
 package com.blog.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -19,6 +20,14 @@ public class GlobalExceptionHandler {
         return ResponseUtil.buildNotFoundResponse(ex.getMessage());
     }
     
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ResponseEntity<?> passwordHashingRejectedException(PasswordHashingRejectedException ex, WebRequest request) {
+        // 登录和注册繁忙时快速拒绝，提示客户端稍后重试
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ResponseUtil.buildErrorResponse("服务繁忙，请稍后重试").getBody());
+    }
+    
     @ExceptionHandler(Exception.class)
     public ResponseEntity<?> globalExceptionHandler(Exception ex, WebRequest request) {
         return ResponseUtil.buildErrorResponse(ex.getMessage());
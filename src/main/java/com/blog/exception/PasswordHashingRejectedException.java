@@ -0,0 +1,14 @@
+package com.blog.exception;
+
+/**
+ * 密码哈希线程池繁忙时拒绝请求
+ * 由全局异常处理器转换为503响应
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+}
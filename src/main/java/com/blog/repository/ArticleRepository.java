@@ -7,13 +7,18 @@ import com.blog.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface ArticleRepository extends JpaRepository<Article, Long> {
+public interface ArticleRepository extends JpaRepository<Article, Long>, ArticleRepositoryCustom {
     Page<Article> findByPublishedTrueOrderByCreateTimeDesc(Pageable pageable);
     Page<Article> findByAuthorAndPublishedTrueOrderByCreateTimeDesc(User author, Pageable pageable);
     Page<Article> findByCategoryAndPublishedTrueOrderByCreateTimeDesc(Category category, Pageable pageable);
@@ -23,4 +28,107 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
     Page<Article> findPopularArticles(Pageable pageable);
     
     List<Article> findTop5ByPublishedTrueOrderByViewCountDesc();
+    
+    /**
+     * 查询作者最新发布的文章，只取列表展示需要的列，
+     * 每行为[ID, 标题, 摘要, 封面, 浏览量, 点赞数, 创建时间]
+     */
+    @Query("SELECT a.id, a.title, a.summary, a.coverImage, a.viewCount, a.likeCount, a.createTime FROM Article a " +
+            "WHERE a.author.id = :authorId AND a.published = true ORDER BY a.createTime DESC, a.id DESC")
+    List<Object[]> findLatestPublishedByAuthor(@Param("authorId") Long authorId, Pageable pageable);
+    
+    /**
+     * 按文章表统计作者已发布的文章，结果只有一行：[文章数, 总浏览量, 总点赞数]
+     */
+    @Query("SELECT COUNT(a), COALESCE(SUM(a.viewCount), 0), COALESCE(SUM(a.likeCount), 0) FROM Article a " +
+            "WHERE a.author.id = :authorId AND a.published = true")
+    List<Object[]> summarizePublishedByAuthor(@Param("authorId") Long authorId);
+    
+    /**
+     * 批量查询文章，同时抓取作者和分类
+     */
+    @Query("SELECT DISTINCT a FROM Article a LEFT JOIN FETCH a.author LEFT JOIN FETCH a.category WHERE a.id IN :ids")
+    List<Article> findAllWithAuthorAndCategoryByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * 为同一持久化上下文中已加载的文章批量抓取标签，避免逐篇加载
+     */
+    @Query("SELECT DISTINCT a FROM Article a LEFT JOIN FETCH a.tags WHERE a.id IN :ids")
+    List<Article> fetchTagsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * 批量查询文章与标签的对应关系，每行为[文章ID, 标签]
+     */
+    @Query("SELECT a.id, t FROM Article a JOIN a.tags t WHERE a.id IN :ids")
+    List<Object[]> findTagsByArticleIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * 将草稿内容直接写入文章，为null的字段保持原值
+     * 不加载实体、不处理标签关联，供草稿自动保存使用；同时递增版本号，使持有旧版本的编辑请求能够发现冲突
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Article a SET a.title = COALESCE(:title, a.title), a.content = COALESCE(:content, a.content), " +
+            "a.summary = COALESCE(:summary, a.summary), a.coverImage = COALESCE(:coverImage, a.coverImage), " +
+            "a.updateTime = :updateTime, a.version = a.version + 1 WHERE a.id = :id")
+    int updateDraftContent(@Param("id") Long id,
+                           @Param("title") String title,
+                           @Param("content") String content,
+                           @Param("summary") String summary,
+                           @Param("coverImage") String coverImage,
+                           @Param("updateTime") LocalDateTime updateTime);
+    
+    /**
+     * 查询一批文章中已发布文章的作者，用于把按文章累加的浏览量和点赞数合并到作者
+     * @return 每行为[文章ID, 作者ID]
+     */
+    @Query("SELECT a.id, a.author.id FROM Article a WHERE a.id IN :ids AND a.published = true AND a.author IS NOT NULL")
+    List<Object[]> findPublishedAuthorIds(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * 只修改封面，同时递增版本号
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Article a SET a.coverImage = :coverImage, a.updateTime = :updateTime, a.version = a.version + 1 WHERE a.id = :id")
+    int updateCoverImage(@Param("id") Long id,
+                         @Param("coverImage") String coverImage,
+                         @Param("updateTime") LocalDateTime updateTime);
+    
+    /**
+     * 把一个分类下的全部文章移到另一个分类，一条UPDATE完成，不加载文章；同时递增版本号
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Article a SET a.category = :target, a.updateTime = :updateTime, a.version = a.version + 1 " +
+            "WHERE a.category.id = :categoryId")
+    int moveCategory(@Param("categoryId") Long categoryId,
+                     @Param("target") Category target,
+                     @Param("updateTime") LocalDateTime updateTime);
+    
+    /**
+     * 清空一个分类下全部文章的分类，一条UPDATE完成，不加载文章；同时递增版本号
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Article a SET a.category = null, a.updateTime = :updateTime, a.version = a.version + 1 " +
+            "WHERE a.category.id = :categoryId")
+    int detachCategory(@Param("categoryId") Long categoryId,
+                       @Param("updateTime") LocalDateTime updateTime);
+    
+    /**
+     * 以增量方式增加浏览量，不触碰版本号，与内容编辑互不冲突
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Article a SET a.viewCount = a.viewCount + 1 WHERE a.id = :id")
+    int incrementViewCount(@Param("id") Long id);
+    
+    /**
+     * 以增量方式增加点赞数，不触碰版本号，与内容编辑互不冲突
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Article a SET a.likeCount = a.likeCount + 1 WHERE a.id = :id")
+    int incrementLikeCount(@Param("id") Long id);
 }
\ No newline at end of file
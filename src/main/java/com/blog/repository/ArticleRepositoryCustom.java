@@ -0,0 +1,24 @@
+package com.blog.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 文章数据访问层的自定义扩展
+ * 提供按需选择列的分页查询，供稀疏字段集（fields参数）使用
+ */
+public interface ArticleRepositoryCustom {
+    /**
+     * 只查询指定列的文章分页
+     * @param columns 要查询的JPQL表达式，以文章别名a书写，如"a.id"、"a.title"、"a.author.id"；至少一列
+     * @param filter 查询条件，以文章别名a书写，为null表示不过滤
+     * @param params 查询条件中的命名参数
+     * @param orderBy 排序表达式，为null表示不排序
+     * @param pageable 分页信息
+     * @return 每行按columns顺序排列的分页结果，只有一列时每行也是长度为1的数组
+     */
+    Page<Object[]> findColumns(List<String> columns, String filter, Map<String, Object> params, String orderBy, Pageable pageable);
+}
@@ -0,0 +1,48 @@
+package com.blog.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 文章数据访问层自定义扩展的实现
+ * 列、条件和排序都由服务层从白名单拼出，不直接使用请求参数
+ */
+public class ArticleRepositoryImpl implements ArticleRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<Object[]> findColumns(List<String> columns, String filter, Map<String, Object> params, String orderBy, Pageable pageable) {
+        String from = " FROM Article a" + (filter == null ? "" : " WHERE " + filter);
+        String jpql = "SELECT " + String.join(", ", columns) + from + (orderBy == null ? "" : " ORDER BY " + orderBy);
+
+        Query query = entityManager.createQuery(jpql);
+        params.forEach(query::setParameter);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        // 只选一列时每行是该列的值而不是数组，统一包装成数组
+        List<Object[]> rows = new ArrayList<>();
+        for (Object row : query.getResultList()) {
+            rows.add(columns.size() == 1 ? new Object[]{row} : (Object[]) row);
+        }
+
+        // 第一页不满一页时无需COUNT查询
+        return PageableExecutionUtils.getPage(rows, pageable, () -> {
+            TypedQuery<Long> countQuery = entityManager.createQuery("SELECT COUNT(a)" + from, Long.class);
+            params.forEach(countQuery::setParameter);
+            return countQuery.getSingleResult();
+        });
+    }
+}
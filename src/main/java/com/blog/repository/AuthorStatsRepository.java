@@ -0,0 +1,61 @@
+package com.blog.repository;
+
+import com.blog.entity.AuthorStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface AuthorStatsRepository extends JpaRepository<AuthorStats, Long> {
+
+    /**
+     * 按增量调整作者统计，不加载实体
+     * @param authorId 作者ID
+     * @param articles 已发布文章数的增量
+     * @param views 浏览量的增量
+     * @param likes 点赞数的增量
+     * @return 更新的行数，统计记录尚未创建时为0
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE AuthorStats s SET s.articleCount = s.articleCount + :articles, " +
+            "s.viewCount = s.viewCount + :views, s.likeCount = s.likeCount + :likes WHERE s.authorId = :authorId")
+    int addDeltas(@Param("authorId") Long authorId,
+                  @Param("articles") long articles,
+                  @Param("views") long views,
+                  @Param("likes") long likes);
+
+    /**
+     * 为ID区间内还没有统计记录的用户创建空记录（JPQL不支持INSERT，使用原生SQL）
+     * @param fromId 起始用户ID（不含）
+     * @param toId 结束用户ID（含）
+     * @return 创建的记录数
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO author_stats (author_id, article_count, view_count, like_count) " +
+            "SELECT u.id, 0, 0, 0 FROM users u WHERE u.id > :fromId AND u.id <= :toId " +
+            "AND NOT EXISTS (SELECT 1 FROM author_stats s WHERE s.author_id = u.id)", nativeQuery = true)
+    int insertMissing(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    /**
+     * 按文章表重新计算ID区间内作者的统计，覆盖增量更新累积的偏差
+     * @param fromId 起始作者ID（不含）
+     * @param toId 结束作者ID（含）
+     * @param now 校正时间
+     * @return 更新的行数
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE AuthorStats s SET " +
+            "s.articleCount = (SELECT COUNT(a) FROM Article a WHERE a.author.id = s.authorId AND a.published = true), " +
+            "s.viewCount = (SELECT COALESCE(SUM(a.viewCount), 0) FROM Article a WHERE a.author.id = s.authorId AND a.published = true), " +
+            "s.likeCount = (SELECT COALESCE(SUM(a.likeCount), 0) FROM Article a WHERE a.author.id = s.authorId AND a.published = true), " +
+            "s.reconcileTime = :now WHERE s.authorId > :fromId AND s.authorId <= :toId")
+    int reconcile(@Param("fromId") Long fromId, @Param("toId") Long toId, @Param("now") LocalDateTime now);
+}
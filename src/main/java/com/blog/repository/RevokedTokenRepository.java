@@ -0,0 +1,35 @@
+package com.blog.repository;
+
+import com.blog.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    /**
+     * 查找在指定时间之后吊销且尚未过期的令牌
+     * @param since 起始时间
+     * @param now 当前时间
+     * @return 吊销记录
+     */
+    @Query("SELECT r FROM RevokedToken r WHERE r.createTime > :since AND r.expiresAt > :now")
+    List<RevokedToken> findRevokedSince(@Param("since") LocalDateTime since, @Param("now") LocalDateTime now);
+
+    /**
+     * 删除已经过期的吊销记录
+     * @param now 当前时间
+     * @return 删除的行数
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
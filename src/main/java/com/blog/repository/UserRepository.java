@@ -1,15 +1,95 @@
 package com.blog.repository;
 
+import com.blog.dto.UserSummaryDto;
 import com.blog.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = "lookup-query")
+    })
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
     Boolean existsByUsername(String username);
     Boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    /**
+     * 查找在指定时间之后更新过且已被禁用的用户ID，用于吊销其令牌
+     * @param since 起始时间
+     * @return 用户ID列表
+     */
+    @Query("SELECT u.id FROM User u WHERE u.enabled = false AND u.updateTime > :since")
+    List<Long> findDisabledUserIdsUpdatedAfter(@Param("since") LocalDateTime since);
+
+    /**
+     * 按ID顺序分批读取用户名和邮箱，用于构建用户名和邮箱的过滤器
+     * @param afterId 上一批的最大ID
+     * @param pageable 批大小
+     * @return 每行为[ID, 用户名, 邮箱]
+     */
+    @Query("SELECT u.id, u.username, u.email FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<Object[]> findUsernamesAndEmailsAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * 查找在指定时间之后创建的用户的用户名和邮箱
+     * @param since 起始时间
+     * @return 每行为[用户名, 邮箱]
+     */
+    @Query("SELECT u.username, u.email FROM User u WHERE u.createTime > :since")
+    List<Object[]> findUsernamesAndEmailsCreatedAfter(@Param("since") LocalDateTime since);
+
+    /**
+     * 查询当前最大的用户ID
+     * @return 最大用户ID，没有用户时为null
+     */
+    @Query("SELECT MAX(u.id) FROM User u")
+    Long findMaxId();
+
+    /**
+     * 按ID升序获取用户目录的一页，只查询公开资料列，不统计总数
+     * @param afterId 上一页最后一个用户的ID，第一页传0
+     * @param pageable 页大小，页码固定为0
+     * @return 用户目录切片
+     */
+    @Query("SELECT new com.blog.dto.UserSummaryDto(u.id, u.username, u.nickname, u.avatar, u.createTime) "
+            + "FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    Slice<UserSummaryDto> findDirectoryAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * 按注册时间倒序获取用户目录的第一页
+     * @param pageable 页大小，页码固定为0
+     * @return 用户目录切片
+     */
+    @Query("SELECT new com.blog.dto.UserSummaryDto(u.id, u.username, u.nickname, u.avatar, u.createTime) "
+            + "FROM User u ORDER BY u.createTime DESC, u.id DESC")
+    Slice<UserSummaryDto> findDirectoryNewest(Pageable pageable);
+
+    /**
+     * 按注册时间倒序获取指定位置之后的一页
+     * 冗余的createTime <= :createTime条件保证数据库按索引范围扫描
+     * @param createTime 上一页最后一个用户的注册时间
+     * @param id 上一页最后一个用户的ID
+     * @param pageable 页大小，页码固定为0
+     * @return 用户目录切片
+     */
+    @Query("SELECT new com.blog.dto.UserSummaryDto(u.id, u.username, u.nickname, u.avatar, u.createTime) "
+            + "FROM User u WHERE u.createTime <= :createTime "
+            + "AND (u.createTime < :createTime OR u.id < :id) "
+            + "ORDER BY u.createTime DESC, u.id DESC")
+    Slice<UserSummaryDto> findDirectoryCreatedBefore(@Param("createTime") LocalDateTime createTime,
+                                                     @Param("id") Long id, Pageable pageable);
+}
@@ -0,0 +1,46 @@
+package com.blog.service;
+
+import com.blog.dto.ArticleDraftDto;
+
+import java.util.Optional;
+
+/**
+ * 文章草稿服务接口
+ * 在内存中按文章缓冲编辑器的自动保存请求，合并频繁的写入，只把最新状态持久化到数据库
+ */
+public interface ArticleDraftService {
+    /**
+     * 缓冲一次草稿保存，与尚未持久化的草稿合并
+     * @param articleId 文章ID
+     * @param draftDto 本次提交的草稿字段，为null的字段保持不变
+     * @return 合并后的草稿
+     * @throws com.blog.exception.ResourceNotFoundException 如果文章不存在
+     */
+    ArticleDraftDto saveDraft(Long articleId, ArticleDraftDto draftDto) throws com.blog.exception.ResourceNotFoundException;
+
+    /**
+     * 获取尚未持久化的草稿
+     * @param articleId 文章ID
+     * @return 包含草稿信息的Optional对象，没有待持久化的草稿时为空
+     */
+    Optional<ArticleDraftDto> getDraft(Long articleId);
+
+    /**
+     * 立即持久化指定文章的草稿（显式保存）
+     * @param articleId 文章ID
+     * @return 有草稿被写入数据库返回true，否则返回false
+     */
+    boolean flushDraft(Long articleId);
+
+    /**
+     * 丢弃指定文章尚未持久化的草稿，在文章被完整更新或删除时调用
+     * @param articleId 文章ID
+     */
+    void discardDraft(Long articleId);
+
+    /**
+     * 持久化所有已到期的草稿（静默期已过或超过最大延迟）
+     * @return 本次写入数据库的草稿数量
+     */
+    int flushDueDrafts();
+}
@@ -2,6 +2,7 @@ package com.blog.service;
 
 import com.blog.dto.ArticleDto;
 import com.blog.entity.User;
+import com.blog.util.FieldSelection;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -29,6 +30,13 @@ public interface ArticleService {
      */
     Optional<ArticleDto> getArticleById(Long id);
     
+    /**
+     * 批量获取文章，不增加浏览量
+     * @param ids 文章ID列表
+     * @return 按请求顺序排列的文章列表，不存在的文章被跳过
+     */
+    List<ArticleDto> getArticlesByIds(List<Long> ids);
+    
     /**
      * 更新指定ID的文章
      * @param id 要更新的文章ID
@@ -38,6 +46,18 @@ public interface ArticleService {
      */
     ArticleDto updateArticle(Long id, ArticleDto articleDto) throws com.blog.exception.ResourceNotFoundException;
     
+    /**
+     * 基于乐观锁更新指定ID的文章
+     * 指定了期望版本号时，版本不一致立即失败；未指定时遇到并发冲突会基于最新数据重试有限次数
+     * @param id 要更新的文章ID
+     * @param articleDto 包含更新信息的数据传输对象
+     * @param expectedVersion 客户端持有的版本号（来自If-Match），为null表示不校验
+     * @return 更新后的文章信息
+     * @throws com.blog.exception.ResourceNotFoundException 如果文章、分类或标签不存在
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException 如果版本不一致或重试后仍然冲突
+     */
+    ArticleDto updateArticle(Long id, ArticleDto articleDto, Long expectedVersion) throws com.blog.exception.ResourceNotFoundException;
+    
     /**
      * 删除指定ID的文章
      * @param id 要删除的文章ID
@@ -47,50 +67,56 @@ public interface ArticleService {
     /**
      * 分页获取所有文章
      * @param pageable 分页信息
+     * @param fields 需要返回的字段，未请求的列和关联不会被查询
      * @return 分页的文章列表
      */
-    Page<ArticleDto> getAllArticles(Pageable pageable);
+    Page<ArticleDto> getAllArticles(Pageable pageable, FieldSelection fields);
     
     /**
      * 分页获取已发布的文章
      * @param pageable 分页信息
+     * @param fields 需要返回的字段，未请求的列和关联不会被查询
      * @return 分页的已发布文章列表
      */
-    Page<ArticleDto> getPublishedArticles(Pageable pageable);
+    Page<ArticleDto> getPublishedArticles(Pageable pageable, FieldSelection fields);
     
     /**
      * 根据作者ID分页获取文章
      * @param authorId 作者的唯一标识符
      * @param pageable 分页信息
+     * @param fields 需要返回的字段，未请求的列和关联不会被查询
      * @return 指定作者的分页文章列表
      * @throws com.blog.exception.ResourceNotFoundException 如果作者不存在
      */
-    Page<ArticleDto> getArticlesByAuthor(Long authorId, Pageable pageable) throws com.blog.exception.ResourceNotFoundException;
+    Page<ArticleDto> getArticlesByAuthor(Long authorId, Pageable pageable, FieldSelection fields) throws com.blog.exception.ResourceNotFoundException;
     
     /**
      * 根据分类ID分页获取文章
      * @param categoryId 分类的唯一标识符
      * @param pageable 分页信息
+     * @param fields 需要返回的字段，未请求的列和关联不会被查询
      * @return 指定分类的分页文章列表
      * @throws com.blog.exception.ResourceNotFoundException 如果分类不存在
      */
-    Page<ArticleDto> getArticlesByCategory(Long categoryId, Pageable pageable) throws com.blog.exception.ResourceNotFoundException;
+    Page<ArticleDto> getArticlesByCategory(Long categoryId, Pageable pageable, FieldSelection fields) throws com.blog.exception.ResourceNotFoundException;
     
     /**
      * 根据标签ID分页获取文章
      * @param tagId 标签的唯一标识符
      * @param pageable 分页信息
+     * @param fields 需要返回的字段，未请求的列和关联不会被查询
      * @return 指定标签的分页文章列表
      * @throws com.blog.exception.ResourceNotFoundException 如果标签不存在
      */
-    Page<ArticleDto> getArticlesByTag(Long tagId, Pageable pageable) throws com.blog.exception.ResourceNotFoundException;
+    Page<ArticleDto> getArticlesByTag(Long tagId, Pageable pageable, FieldSelection fields) throws com.blog.exception.ResourceNotFoundException;
     
     /**
      * 分页获取热门文章
      * @param pageable 分页信息
+     * @param fields 需要返回的字段，未请求的列和关联不会被查询
      * @return 分页的热门文章列表
      */
-    Page<ArticleDto> getPopularArticles(Pageable pageable);
+    Page<ArticleDto> getPopularArticles(Pageable pageable, FieldSelection fields);
     
     /**
      * 获取热门文章Top5
@@ -104,4 +130,20 @@ public interface ArticleService {
      * @throws com.blog.exception.ResourceNotFoundException 如果文章不存在
      */
     void incrementViewCount(Long id) throws com.blog.exception.ResourceNotFoundException;
+    
+    /**
+     * 增加文章点赞数
+     * @param id 文章的唯一标识符
+     * @throws com.blog.exception.ResourceNotFoundException 如果文章不存在
+     */
+    void incrementLikeCount(Long id) throws com.blog.exception.ResourceNotFoundException;
+    
+    /**
+     * 更新文章封面，只修改封面字段并递增版本号
+     * @param id 文章的唯一标识符
+     * @param coverImage 封面地址
+     * @return 更新后的文章信息
+     * @throws com.blog.exception.ResourceNotFoundException 如果文章不存在
+     */
+    ArticleDto updateCoverImage(Long id, String coverImage) throws com.blog.exception.ResourceNotFoundException;
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.blog.service;
+
+import com.blog.dto.AuthorProfileDto;
+
+import java.util.Optional;
+
+/**
+ * 作者统计服务接口
+ * 作者主页需要的文章数、总浏览量和总点赞数保存在单独的统计记录中，
+ * 由文章事件增量维护，读取时不再按作者聚合文章表
+ */
+public interface AuthorStatsService {
+
+    /**
+     * 为新用户创建空的统计记录
+     * @param authorId 用户ID
+     */
+    void authorCreated(Long authorId);
+
+    /**
+     * 删除用户的统计记录
+     * @param authorId 用户ID
+     */
+    void authorDeleted(Long authorId);
+
+    /**
+     * 记录文章进入已发布状态（新建即发布或由草稿发布）
+     * @param authorId 作者ID
+     * @param viewCount 文章当前的浏览量
+     * @param likeCount 文章当前的点赞数
+     */
+    void articlePublished(Long authorId, long viewCount, long likeCount);
+
+    /**
+     * 记录已发布的文章被撤回或删除
+     * @param authorId 作者ID
+     * @param viewCount 文章当前的浏览量
+     * @param likeCount 文章当前的点赞数
+     */
+    void articleUnpublished(Long authorId, long viewCount, long likeCount);
+
+    /**
+     * 记录文章被浏览一次，文章未发布时不计入；只在内存中累加，由flushPending批量写入
+     * @param articleId 文章ID
+     */
+    void articleViewed(Long articleId);
+
+    /**
+     * 记录文章被点赞一次，文章未发布时不计入；只在内存中累加，由flushPending批量写入
+     * @param articleId 文章ID
+     */
+    void articleLiked(Long articleId);
+
+    /**
+     * 把内存中累加的浏览量和点赞数按作者合并后写入统计记录
+     */
+    void flushPending();
+
+    /**
+     * 获取作者主页
+     * @param authorId 作者ID
+     * @return 作者主页，用户不存在时为空
+     */
+    Optional<AuthorProfileDto> getAuthorProfile(Long authorId);
+
+    /**
+     * 按文章表重新计算所有作者的统计，并为缺少统计记录的用户补建记录
+     */
+    void reconcile();
+}
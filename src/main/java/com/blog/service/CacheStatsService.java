@@ -0,0 +1,29 @@
+package com.blog.service;
+
+import com.blog.dto.CacheRegionStatsDto;
+
+import java.util.List;
+
+/**
+ * 缓存统计服务接口
+ * 提供Hibernate二级缓存和查询缓存各区域的命中统计
+ */
+public interface CacheStatsService {
+    /**
+     * 获取所有缓存区域的统计
+     * @return 按区域名称排序的统计列表
+     */
+    List<CacheRegionStatsDto> getRegionStats();
+    
+    /**
+     * 获取单个缓存区域的统计
+     * @param regionName 区域名称
+     * @return 区域统计，区域不存在时返回null
+     */
+    CacheRegionStatsDto getRegionStats(String regionName);
+    
+    /**
+     * 清空统计计数，缓存内容不受影响
+     */
+    void clearStats();
+}
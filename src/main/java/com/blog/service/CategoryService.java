@@ -43,9 +43,14 @@ public interface CategoryService {
     
     /**
      * 删除指定ID的分类
+     * 分类下的文章移到目标分类（相当于合并分类），未指定目标分类时文章变为无分类，文章本身和标签不受影响
      * @param id 要删除的分类ID
+     * @param moveTo 目标分类ID，可为null
+     * @return 被移动的文章数
+     * @throws com.blog.exception.ResourceNotFoundException 如果分类或目标分类不存在
+     * @throws IllegalArgumentException 如果目标分类就是要删除的分类
      */
-    void deleteCategory(Long id);
+    int deleteCategory(Long id, Long moveTo) throws com.blog.exception.ResourceNotFoundException;
     
     /**
      * 分页获取所有分类
@@ -0,0 +1,40 @@
+package com.blog.service;
+
+import com.blog.dto.MediaImageDto;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * 图片存储服务接口
+ * 上传的图片按内容的SHA-256摘要保存，相同内容只保存一份；
+ * 缩略图、卡片图和大图由后台线程池生成，地址中包含内容摘要，内容不变地址就不变
+ */
+public interface MediaService {
+
+    /** 头像使用的尺寸 */
+    String AVATAR_VARIANT = "thumbnail";
+
+    /** 文章封面使用的尺寸 */
+    String COVER_VARIANT = "card";
+
+    /**
+     * 保存上传的图片，并提交生成各尺寸图片的任务
+     * @param file 上传的文件
+     * @return 图片信息和各尺寸的地址
+     * @throws IllegalArgumentException 文件为空、不是支持的图片格式或尺寸过大
+     * @throws IOException 写入存储目录失败
+     */
+    MediaImageDto storeImage(MultipartFile file) throws IOException;
+
+    /**
+     * 根据访问路径查找图片文件
+     * 请求的尺寸尚未生成时返回原图，并重新提交生成任务
+     * @param hash 内容摘要
+     * @param fileName 文件名，如"card.jpg"或"original.png"
+     * @return 图片文件，摘要或文件名无效、图片不存在时为空
+     */
+    Optional<Path> resolve(String hash, String fileName);
+}
@@ -0,0 +1,43 @@
+package com.blog.service;
+
+/**
+ * 刷新令牌服务接口
+ * 访问令牌有效期很短，客户端用刷新令牌换取新的访问令牌；刷新令牌每使用一次就轮换一次
+ */
+public interface RefreshTokenService {
+
+    /**
+     * 登录成功后签发新的刷新令牌，开始一个新的令牌家族
+     * @param userId 用户ID
+     * @return 刷新令牌原文，只在此时返回给客户端
+     */
+    String issue(Long userId);
+
+    /**
+     * 用刷新令牌换取同一家族的新刷新令牌
+     * 已使用过的令牌再次出现时视为泄露，整个家族失效
+     * @param refreshToken 刷新令牌原文
+     * @return 轮换结果，令牌无效、过期或已被使用时返回null
+     */
+    Rotation rotate(String refreshToken);
+
+    /**
+     * 注销时使刷新令牌所在家族失效
+     * @param refreshToken 刷新令牌原文
+     */
+    void revoke(String refreshToken);
+
+    /**
+     * 使用户的全部刷新令牌失效
+     * @param userId 用户ID
+     */
+    void revokeAll(Long userId);
+
+    /**
+     * 轮换结果
+     * @param userId 令牌所属用户ID
+     * @param refreshToken 新的刷新令牌原文
+     */
+    record Rotation(Long userId, String refreshToken) {
+    }
+}
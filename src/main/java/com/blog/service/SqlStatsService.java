@@ -0,0 +1,45 @@
+package com.blog.service;
+
+import com.blog.dto.SqlEndpointStatsDto;
+import com.blog.dto.SqlShapeStatsDto;
+
+import java.util.List;
+
+/**
+ * SQL执行统计服务接口
+ * 按语句形态和接口汇总数据库语句的耗时直方图
+ */
+public interface SqlStatsService {
+    /**
+     * 记录一次语句执行
+     * @param shape 语句形态
+     * @param elapsedNanos 耗时（纳秒）
+     * @param bindCount 绑定参数个数
+     */
+    void recordStatement(String shape, long elapsedNanos, int bindCount);
+    
+    /**
+     * 记录一个请求内执行的全部语句
+     * @param endpoint 请求方法和路由模板
+     * @param statementNanos 每条语句的耗时（纳秒）
+     * @param repeatedShapes 执行次数超过阈值的语句形态
+     */
+    void recordRequest(String endpoint, long[] statementNanos, List<String> repeatedShapes);
+    
+    /**
+     * 获取各语句形态的统计，按总耗时倒序
+     * @return 语句形态统计列表
+     */
+    List<SqlShapeStatsDto> getShapeStats();
+    
+    /**
+     * 获取各接口的统计，按请求数倒序
+     * @return 接口统计列表
+     */
+    List<SqlEndpointStatsDto> getEndpointStats();
+    
+    /**
+     * 清空全部统计
+     */
+    void reset();
+}
@@ -0,0 +1,40 @@
+package com.blog.service;
+
+import java.util.Date;
+
+/**
+ * 令牌吊销服务接口
+ * 认证过滤器直接用令牌中的声明构建用户信息，不再查询数据库；
+ * 用户被禁用、删除或修改密码后，通过本服务使其之前签发的令牌失效，注销时使单个令牌失效
+ */
+public interface TokenRevocationService {
+
+    /**
+     * 吊销指定用户在此之前签发的全部令牌
+     * @param userId 用户ID
+     */
+    void revokeUserTokens(Long userId);
+
+    /**
+     * 判断令牌是否已被吊销
+     * @param userId 令牌所属用户ID
+     * @param issuedAt 令牌签发时间
+     * @return 已吊销返回true
+     */
+    boolean isRevoked(Long userId, Date issuedAt);
+
+    /**
+     * 吊销单个访问令牌，直到其过期
+     * @param jti 令牌ID
+     * @param expiresAt 令牌过期时间
+     */
+    void revokeToken(String jti, Date expiresAt);
+
+    /**
+     * 判断访问令牌是否已被单独吊销
+     * @param jti 令牌ID
+     * @param expiresAt 令牌过期时间
+     * @return 已吊销返回true
+     */
+    boolean isTokenRevoked(String jti, Date expiresAt);
+}
@@ -0,0 +1,42 @@
+package com.blog.service;
+
+/**
+ * 用户名和邮箱占用情况的内存过滤器
+ * 注册表单逐字检查用户名和邮箱是否可用，绝大多数输入都没有被占用；
+ * 过滤器判定一定不存在时直接返回，只有可能存在时才需要查询数据库确认
+ */
+public interface UserAvailabilityService {
+
+    /**
+     * 判断用户名是否可能已被使用
+     * @param username 用户名
+     * @return false表示一定未被使用，true表示需要查询数据库确认；过滤器尚未构建完成时总是返回true
+     */
+    boolean mightExistUsername(String username);
+
+    /**
+     * 判断邮箱是否可能已被使用
+     * @param email 邮箱
+     * @return false表示一定未被使用，true表示需要查询数据库确认；过滤器尚未构建完成时总是返回true
+     */
+    boolean mightExistEmail(String email);
+
+    /**
+     * 记录新创建的用户
+     * @param username 用户名
+     * @param email 邮箱
+     */
+    void userCreated(String username, String email);
+
+    /**
+     * 记录被删除的用户，在当前事务提交后生效
+     * @param username 用户名
+     * @param email 邮箱
+     */
+    void userDeleted(String username, String email);
+
+    /**
+     * 从数据库重新构建过滤器
+     */
+    void rebuild();
+}
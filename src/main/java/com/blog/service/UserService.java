@@ -1,9 +1,9 @@
 package com.blog.service;
 
+import com.blog.dto.CursorPageDto;
 import com.blog.dto.UserDto;
+import com.blog.dto.UserSummaryDto;
 import com.blog.entity.User;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 
 
 import java.util.Optional;
@@ -43,6 +43,15 @@ public interface UserService {
      */
     UserDto updateUser(Long id, UserDto userDto) throws com.blog.exception.ResourceNotFoundException;
     
+    /**
+     * 更新用户头像
+     * @param id 用户ID
+     * @param avatar 头像地址
+     * @return 更新后的用户信息
+     * @throws com.blog.exception.ResourceNotFoundException 如果用户不存在
+     */
+    UserDto updateAvatar(Long id, String avatar) throws com.blog.exception.ResourceNotFoundException;
+    
     /**
      * 删除指定ID的用户
      * @param id 要删除的用户ID
@@ -50,11 +59,14 @@ public interface UserService {
     void deleteUser(Long id);
     
     /**
-     * 分页获取所有用户
-     * @param pageable 分页信息
-     * @return 分页的用户列表
+     * 按游标分页获取用户目录，不统计总数，翻到任意深度的代价都相同
+     * @param sort 排序方式：id（按ID升序）或createTime（按注册时间倒序）
+     * @param cursor 上一页返回的游标，第一页传null
+     * @param size 每页大小
+     * @return 用户公开资料的一页
+     * @throws IllegalArgumentException 排序方式或游标无效
      */
-    Page<UserDto> getAllUsers(Pageable pageable);
+    CursorPageDto<UserSummaryDto> getAllUsers(String sort, String cursor, int size);
     
     /**
      * 检查用户名是否存在
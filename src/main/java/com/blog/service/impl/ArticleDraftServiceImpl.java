@@ -0,0 +1,291 @@
+package com.blog.service.impl;
+
+import com.blog.dto.ArticleDraftDto;
+import com.blog.exception.ResourceNotFoundException;
+import com.blog.repository.ArticleRepository;
+import com.blog.service.ArticleDraftService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 文章草稿服务实现类
+ * 每篇文章在内存中保留一个草稿槽，多次自动保存只合并字段，
+ * 由定时任务在静默期结束或超过最大延迟后用一条UPDATE语句写入数据库
+ */
+@Service
+public class ArticleDraftServiceImpl implements ArticleDraftService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArticleDraftServiceImpl.class);
+
+    /** 自动注入文章数据访问层 */
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    /** 自动注入文章DTO本地缓存，草稿落库后使其失效 */
+    @Autowired
+    private ArticleDtoCache articleDtoCache;
+
+    /** 自动注入指标注册表，记录草稿落库延迟 */
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /** 最后一次保存后经过多久没有新的保存即持久化（毫秒） */
+    @Value("${blog.draft.quiet-period-ms:5000}")
+    private long quietPeriodMs;
+
+    /** 草稿在内存中停留的最长时间（毫秒），持续编辑时也会按此间隔持久化 */
+    @Value("${blog.draft.max-delay-ms:30000}")
+    private long maxDelayMs;
+
+    /** 按文章ID保存的草稿槽 */
+    private final Map<Long, DraftSlot> slots = new ConcurrentHashMap<>();
+
+    /** 草稿从第一次未落库的保存到写入数据库经过的时间 */
+    private Timer flushLag;
+
+    /**
+     * 注册草稿相关指标：落库延迟、待落库草稿数和最旧草稿的等待时间
+     */
+    @PostConstruct
+    public void registerMetrics() {
+        flushLag = Timer.builder("blog.draft.flush.lag")
+                .description("Time from the first unsaved draft edit until it is written to the database")
+                .register(meterRegistry);
+        Gauge.builder("blog.draft.pending", slots, Map::size)
+                .description("Drafts buffered in memory and not yet written")
+                .register(meterRegistry);
+        Gauge.builder("blog.draft.oldest.age", this, service -> service.oldestPendingMs() / 1000.0)
+                .description("Age of the oldest unsaved draft")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 缓冲一次草稿保存，与尚未持久化的草稿合并
+     * @param articleId 文章ID
+     * @param draftDto 本次提交的草稿字段，为null的字段保持不变
+     * @return 合并后的草稿
+     * @throws ResourceNotFoundException 如果文章不存在
+     */
+    @Override
+    public ArticleDraftDto saveDraft(Long articleId, ArticleDraftDto draftDto) throws ResourceNotFoundException {
+        // 只在第一次缓冲时检查文章是否存在，后续的自动保存不再访问数据库
+        if (!slots.containsKey(articleId) && !articleRepository.existsById(articleId)) {
+            throw new ResourceNotFoundException("Article not found");
+        }
+        while (true) {
+            DraftSlot slot = slots.computeIfAbsent(articleId, DraftSlot::new);
+            slot.lock.lock();
+            try {
+                // 槽已被刷新后移除，重新获取新的槽
+                if (slot.retired) {
+                    continue;
+                }
+                slot.merge(draftDto, System.currentTimeMillis());
+                return slot.toDto();
+            } finally {
+                slot.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 获取尚未持久化的草稿
+     * @param articleId 文章ID
+     * @return 包含草稿信息的Optional对象
+     */
+    @Override
+    public Optional<ArticleDraftDto> getDraft(Long articleId) {
+        DraftSlot slot = slots.get(articleId);
+        if (slot == null) {
+            return Optional.empty();
+        }
+        slot.lock.lock();
+        try {
+            return slot.retired ? Optional.empty() : Optional.of(slot.toDto());
+        } finally {
+            slot.lock.unlock();
+        }
+    }
+
+    /**
+     * 立即持久化指定文章的草稿
+     * @param articleId 文章ID
+     * @return 有草稿被写入数据库返回true，否则返回false
+     */
+    @Override
+    public boolean flushDraft(Long articleId) {
+        DraftSlot slot = slots.get(articleId);
+        return slot != null && flushSlot(slot, true, System.currentTimeMillis());
+    }
+
+    /**
+     * 丢弃指定文章尚未持久化的草稿
+     * @param articleId 文章ID
+     */
+    @Override
+    public void discardDraft(Long articleId) {
+        DraftSlot slot = slots.get(articleId);
+        if (slot == null) {
+            return;
+        }
+        slot.lock.lock();
+        try {
+            retire(slot);
+        } finally {
+            slot.lock.unlock();
+        }
+    }
+
+    /**
+     * 定时持久化所有已到期的草稿
+     * @return 本次写入数据库的草稿数量
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${blog.draft.flush-interval-ms:1000}")
+    public int flushDueDrafts() {
+        long now = System.currentTimeMillis();
+        int flushed = 0;
+        for (DraftSlot slot : slots.values()) {
+            if (flushSlot(slot, false, now)) {
+                flushed++;
+            }
+        }
+        return flushed;
+    }
+
+    /**
+     * 应用关闭前把所有草稿写入数据库，避免丢失编辑内容
+     */
+    @PreDestroy
+    public void flushAllDrafts() {
+        long now = System.currentTimeMillis();
+        for (DraftSlot slot : slots.values()) {
+            flushSlot(slot, true, now);
+        }
+    }
+
+    /**
+     * 持久化一个草稿槽
+     * 持有槽锁期间写库，保证同一篇文章的草稿按保存顺序落库
+     * @param slot 草稿槽
+     * @param force 是否忽略静默期立即写入
+     * @param now 当前时间（毫秒）
+     * @return 有草稿被写入数据库返回true，否则返回false
+     */
+    private boolean flushSlot(DraftSlot slot, boolean force, long now) {
+        slot.lock.lock();
+        try {
+            // 槽刚创建还未合并任何字段时跳过
+            if (slot.retired || slot.firstSavedAt == 0) {
+                return false;
+            }
+            if (!force && now - slot.lastSavedAt < quietPeriodMs && now - slot.firstSavedAt < maxDelayMs) {
+                return false;
+            }
+            int updated = articleRepository.updateDraftContent(slot.articleId, slot.title, slot.content,
+                    slot.summary, slot.coverImage, LocalDateTime.now());
+            articleDtoCache.evict(slot.articleId);
+            if (updated == 0) {
+                logger.warn("Discarding draft for missing article {}", slot.articleId);
+            } else {
+                flushLag.record(System.currentTimeMillis() - slot.firstSavedAt, TimeUnit.MILLISECONDS);
+            }
+            retire(slot);
+            return updated > 0;
+        } catch (RuntimeException e) {
+            // 写库失败时保留草稿，等待下一轮重试
+            logger.error("Failed to flush draft for article {}: {}", slot.articleId, e.getMessage());
+            return false;
+        } finally {
+            slot.lock.unlock();
+        }
+    }
+
+    /**
+     * 最旧的未落库草稿已等待的时间，抓取指标时计算
+     * @return 毫秒数，没有待落库草稿时为0
+     */
+    private long oldestPendingMs() {
+        long now = System.currentTimeMillis();
+        long oldest = 0;
+        for (DraftSlot slot : slots.values()) {
+            long firstSavedAt = slot.firstSavedAt;
+            if (firstSavedAt > 0) {
+                oldest = Math.max(oldest, now - firstSavedAt);
+            }
+        }
+        return oldest;
+    }
+
+    /**
+     * 将草稿槽标记为失效并从缓冲区移除，调用方必须持有槽锁
+     * @param slot 草稿槽
+     */
+    private void retire(DraftSlot slot) {
+        slot.retired = true;
+        slots.remove(slot.articleId, slot);
+    }
+
+    /**
+     * 单篇文章的草稿槽，所有字段都在lock保护下读写
+     */
+    private static final class DraftSlot {
+        private final Long articleId;
+        private final ReentrantLock lock = new ReentrantLock();
+        private String title;
+        private String content;
+        private String summary;
+        private String coverImage;
+        /** 抓取指标时不加锁读取，因此声明为volatile */
+        private volatile long firstSavedAt;
+        private long lastSavedAt;
+        private boolean retired;
+
+        private DraftSlot(Long articleId) {
+            this.articleId = articleId;
+        }
+
+        private void merge(ArticleDraftDto draftDto, long now) {
+            if (draftDto.getTitle() != null) {
+                title = draftDto.getTitle();
+            }
+            if (draftDto.getContent() != null) {
+                content = draftDto.getContent();
+            }
+            if (draftDto.getSummary() != null) {
+                summary = draftDto.getSummary();
+            }
+            if (draftDto.getCoverImage() != null) {
+                coverImage = draftDto.getCoverImage();
+            }
+            if (firstSavedAt == 0) {
+                firstSavedAt = now;
+            }
+            lastSavedAt = now;
+        }
+
+        private ArticleDraftDto toDto() {
+            LocalDateTime updateTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(lastSavedAt), ZoneId.systemDefault());
+            return new ArticleDraftDto(articleId, title, content, summary, coverImage, updateTime, true);
+        }
+    }
+}
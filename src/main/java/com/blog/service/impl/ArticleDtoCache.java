@@ -0,0 +1,132 @@
+package com.blog.service.impl;
+
+import com.blog.dto.ArticleDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 文章DTO本地缓存
+ * 按文章ID缓存转换好的ArticleDto，条目在TTL后过期；文章被更新、删除或草稿落库时在提交后主动失效。
+ * 浏览量和点赞数的增量更新不使缓存失效，缓存中的计数是近似值，在TTL内可能略有滞后，
+ * 适用于列表组件等对计数实时性要求不高的场景。
+ */
+@Component
+public class ArticleDtoCache {
+
+    /** 缓存条目存活时间（毫秒） */
+    @Value("${blog.article-cache.ttl-ms:30000}")
+    private long ttlMs;
+
+    /** 缓存条目上限，超过后先清理过期条目，仍然超出则不再写入 */
+    @Value("${blog.article-cache.max-size:10000}")
+    private int maxSize;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    /** 命中次数，用于监控指标 */
+    private final LongAdder hits = new LongAdder();
+
+    /** 未命中次数（含已过期） */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * 获取未过期的缓存条目
+     * @param id 文章ID
+     * @return 文章DTO，未命中或已过期返回null
+     */
+    public ArticleDto get(Long id) {
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAt < System.currentTimeMillis()) {
+            entries.remove(id, entry);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.article;
+    }
+
+    /**
+     * 写入缓存
+     * @param article 文章DTO
+     */
+    public void put(ArticleDto article) {
+        long now = System.currentTimeMillis();
+        if (entries.size() >= maxSize) {
+            entries.values().removeIf(entry -> entry.expiresAt < now);
+            if (entries.size() >= maxSize) {
+                return;
+            }
+        }
+        entries.put(article.getId(), new Entry(article, now + ttlMs));
+    }
+
+    /**
+     * 使指定文章的缓存失效
+     * @param id 文章ID
+     */
+    public void evict(Long id) {
+        entries.remove(id);
+    }
+
+    /**
+     * 在当前事务提交后使指定文章的缓存失效，没有事务时立即失效
+     * 提交前失效时，并发读取可能在提交前重新缓存旧内容，并在整个TTL内返回
+     * @param id 文章ID
+     */
+    public void evictAfterCommit(Long id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(id);
+            }
+        });
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * 获取累计命中次数
+     * @return 命中次数
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * 获取累计未命中次数
+     * @return 未命中次数
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * 获取当前缓存条目数（含尚未清理的过期条目）
+     * @return 条目数
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private record Entry(ArticleDto article, long expiresAt) {
+    }
+}
@@ -1,5 +1,7 @@
 package com.blog.service.impl;
 
+import com.blog.config.ReadWriteRoutingDataSource;
+import com.blog.config.RequestTiming;
 import com.blog.dto.ArticleDto;
 import com.blog.dto.UserDto;
 import com.blog.dto.CategoryDto;
@@ -13,25 +15,51 @@ import com.blog.repository.ArticleRepository;
 import com.blog.repository.UserRepository;
 import com.blog.repository.CategoryRepository;
 import com.blog.repository.TagRepository;
+import com.blog.service.ArticleDraftService;
 import com.blog.service.ArticleService;
+import com.blog.service.AuthorStatsService;
+import com.blog.util.FieldSelection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * 文章服务实现类
  * 实现了ArticleService接口中定义的所有方法，提供文章管理的具体业务逻辑
+ * 查询方法运行在只读事务中：Hibernate不做脏检查、不在提交时flush，JDBC连接设为只读（配置从库时路由到从库）
  */
 @Service
 public class ArticleServiceImpl implements ArticleService {
     
+    private static final Logger logger = LoggerFactory.getLogger(ArticleServiceImpl.class);
+    
+    /** 未指定期望版本号时，遇到并发冲突的最大尝试次数 */
+    private static final int MAX_UPDATE_ATTEMPTS = 3;
+    
+    /** 稀疏字段集可以按列查询的文章基本属性 */
+    private static final List<String> PROJECTABLE_FIELDS = List.of(
+            "title", "content", "summary", "coverImage", "published",
+            "viewCount", "likeCount", "createTime", "updateTime", "version");
+    
     /**
      * 自动注入文章数据访问层
      */
@@ -56,6 +84,30 @@ public class ArticleServiceImpl implements ArticleService {
     @Autowired
     private TagRepository tagRepository;
     
+    /**
+     * 自动注入文章草稿服务
+     */
+    @Autowired
+    private ArticleDraftService articleDraftService;
+    
+    /**
+     * 自动注入事务模板，用于乐观锁重试时为每次尝试开启独立事务
+     */
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    /**
+     * 自动注入文章DTO本地缓存
+     */
+    @Autowired
+    private ArticleDtoCache articleDtoCache;
+    
+    /**
+     * 自动注入作者统计服务，文章发布、撤回、删除和浏览点赞时同步更新作者统计
+     */
+    @Autowired
+    private AuthorStatsService authorStatsService;
+    
     /**
      * 创建新文章
      * @param articleDto 包含文章信息的数据传输对象
@@ -64,6 +116,7 @@ public class ArticleServiceImpl implements ArticleService {
      * @throws com.blog.exception.ResourceNotFoundException 如果分类或标签不存在
      */
     @Override
+    @Transactional
     public ArticleDto createArticle(ArticleDto articleDto, User author) throws com.blog.exception.ResourceNotFoundException {
         // 创建文章实体对象并设置属性
         Article article = new Article();
@@ -76,30 +129,19 @@ public class ArticleServiceImpl implements ArticleService {
         
         // 处理分类关联
         if (articleDto.getCategory() != null && articleDto.getCategory().getId() != null) {
-            Category category = categoryRepository.findById(articleDto.getCategory().getId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + articleDto.getCategory().getId()));
-            article.setCategory(category);
+            article.setCategory(resolveCategory(articleDto.getCategory().getId()));
         }
         
         // 处理标签关联
         if (articleDto.getTags() != null && !articleDto.getTags().isEmpty()) {
-            List<Tag> tags = new ArrayList<>();
-            for (TagDto tagDto : articleDto.getTags()) {
-                if (tagDto.getId() != null) {
-                    try {
-                        Tag tag = tagRepository.findById(tagDto.getId())
-                                .orElseThrow(() -> new ResourceNotFoundException("Tag not found with id: " + tagDto.getId()));
-                        tags.add(tag);
-                    } catch (ResourceNotFoundException e) {
-                        throw e; // 重新抛出异常
-                    }
-                }
-            }
-            article.setTags(tags);
+            article.setTags(resolveTags(articleDto.getTags()));
         }
         
         // 保存文章到数据库
         Article savedArticle = articleRepository.save(article);
+        if (Boolean.TRUE.equals(savedArticle.getPublished())) {
+            authorStatsService.articlePublished(author.getId(), 0, 0);
+        }
         // 转换为DTO并返回
         return convertToDto(savedArticle);
     }
@@ -110,9 +152,56 @@ public class ArticleServiceImpl implements ArticleService {
      * @return 包含文章信息的Optional对象
      */
     @Override
+    @Transactional(readOnly = true)
     public Optional<ArticleDto> getArticleById(Long id) {
-        // 从数据库查找文章并转换为DTO
-        return articleRepository.findById(id).map(this::convertToDto);
+        // 从数据库查找文章并转换为DTO，顺便刷新批量查询使用的缓存
+        Optional<ArticleDto> article = articleRepository.findById(id).map(this::convertToDto);
+        article.ifPresent(articleDtoCache::put);
+        return article;
+    }
+    
+    /**
+     * 批量获取文章，不增加浏览量
+     * 先从本地缓存取，未命中的文章用固定的两条查询加载（作者和分类一条，标签一条）
+     * @param ids 文章ID列表
+     * @return 按请求顺序排列的文章列表，不存在的文章被跳过
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ArticleDto> getArticlesByIds(List<Long> ids) {
+        Map<Long, ArticleDto> found = new HashMap<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Long id : ids) {
+            ArticleDto cached = articleDtoCache.get(id);
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                missing.add(id);
+            }
+        }
+        
+        if (!missing.isEmpty()) {
+            List<Article> articles = articleRepository.findAllWithAuthorAndCategoryByIdIn(missing);
+            if (!articles.isEmpty()) {
+                // 同一持久化上下文中为上面加载的文章填充标签集合
+                articleRepository.fetchTagsByIdIn(missing);
+            }
+            for (Article article : articles) {
+                ArticleDto articleDto = convertToDto(article);
+                articleDtoCache.put(articleDto);
+                found.put(article.getId(), articleDto);
+            }
+        }
+        
+        // 按请求顺序组装结果，重复的ID只返回一次
+        List<ArticleDto> result = new ArrayList<>(found.size());
+        for (Long id : new LinkedHashSet<>(ids)) {
+            ArticleDto articleDto = found.get(id);
+            if (articleDto != null) {
+                result.add(articleDto);
+            }
+        }
+        return result;
     }
     
     /**
@@ -124,47 +213,72 @@ public class ArticleServiceImpl implements ArticleService {
      */
     @Override
     public ArticleDto updateArticle(Long id, ArticleDto articleDto) throws com.blog.exception.ResourceNotFoundException {
-        // 查找要更新的文章
-        Article article = articleRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Article not found"));
-        // 更新文章属性
-        article.setTitle(articleDto.getTitle());
-        article.setContent(articleDto.getContent());
-        article.setSummary(articleDto.getSummary());
-        article.setCoverImage(articleDto.getCoverImage());
-        article.setPublished(articleDto.getPublished());
-        
-        // 处理分类关联
+        return updateArticle(id, articleDto, null);
+    }
+    
+    /**
+     * 基于乐观锁更新指定ID的文章
+     * 每次尝试在独立事务中读取最新版本并立即flush，版本冲突在事务内抛出，事务回滚后下一次尝试会重新读取
+     * @param id 要更新的文章ID
+     * @param articleDto 包含更新信息的数据传输对象
+     * @param expectedVersion 客户端持有的版本号，为null表示不校验
+     * @return 更新后的文章信息
+     * @throws com.blog.exception.ResourceNotFoundException 如果文章、分类或标签不存在
+     */
+    @Override
+    public ArticleDto updateArticle(Long id, ArticleDto articleDto, Long expectedVersion) throws com.blog.exception.ResourceNotFoundException {
+        // 分类和标签在重试之间不会变化，只解析一次
+        Category category = null;
         if (articleDto.getCategory() != null && articleDto.getCategory().getId() != null) {
-            Category category = categoryRepository.findById(articleDto.getCategory().getId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
-            article.setCategory(category);
-        } else {
-            article.setCategory(null);
+            category = resolveCategory(articleDto.getCategory().getId());
         }
-        
-        // 处理标签关联
+        List<Tag> tags = null;
         if (articleDto.getTags() != null && !articleDto.getTags().isEmpty()) {
-            List<Tag> tags = new ArrayList<>();
-            for (TagDto tagDto : articleDto.getTags()) {
-                if (tagDto.getId() != null) {
-                    try {
-                        Tag tag = tagRepository.findById(tagDto.getId())
-                                .orElseThrow(() -> new ResourceNotFoundException("Tag not found with id: " + tagDto.getId()));
-                        tags.add(tag);
-                    } catch (ResourceNotFoundException e) {
-                        throw e; // 重新抛出异常
-                    }
+            tags = resolveTags(articleDto.getTags());
+        }
+        
+        // 完整更新以本次提交为准，丢弃尚未持久化的自动保存草稿
+        articleDraftService.discardDraft(id);
+        
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Optional<ArticleDto> updated = applyUpdate(id, articleDto, expectedVersion, category, tags);
+                return updated.orElseThrow(() -> new ResourceNotFoundException("Article not found"));
+            } catch (ObjectOptimisticLockingFailureException e) {
+                // 客户端指定了版本号时由客户端决定如何合并，不在服务端重试
+                if (expectedVersion != null || attempt >= MAX_UPDATE_ATTEMPTS) {
+                    throw e;
                 }
+                logger.debug("Version conflict updating article {}, retrying (attempt {})", id, attempt);
             }
-            article.setTags(tags);
-        } else {
-            article.setTags(null);
         }
-        
-        // 保存更新后的文章
-        Article updatedArticle = articleRepository.save(article);
-        // 转换为DTO并返回
-        return convertToDto(updatedArticle);
+    }
+    
+    /**
+     * 在独立事务中执行一次文章更新
+     * @return 更新后的文章信息，文章不存在时为空
+     */
+    private Optional<ArticleDto> applyUpdate(Long id, ArticleDto articleDto, Long expectedVersion,
+                                             Category category, List<Tag> tags) {
+        return transactionTemplate.execute(status -> articleRepository.findById(id).map(article -> {
+            if (expectedVersion != null && !expectedVersion.equals(article.getVersion())) {
+                throw new ObjectOptimisticLockingFailureException(Article.class, id);
+            }
+            boolean wasPublished = Boolean.TRUE.equals(article.getPublished());
+            // 更新文章属性
+            article.setTitle(articleDto.getTitle());
+            article.setContent(articleDto.getContent());
+            article.setSummary(articleDto.getSummary());
+            article.setCoverImage(articleDto.getCoverImage());
+            article.setPublished(articleDto.getPublished());
+            article.setCategory(category);
+            article.setTags(tags);
+            // 立即flush，使版本冲突在事务内暴露并触发回滚
+            Article updatedArticle = articleRepository.saveAndFlush(article);
+            updatePublishedStats(updatedArticle, wasPublished, Boolean.TRUE.equals(updatedArticle.getPublished()));
+            articleDtoCache.evictAfterCommit(id);
+            return convertToDto(updatedArticle);
+        }));
     }
     
     /**
@@ -172,18 +286,48 @@ public class ArticleServiceImpl implements ArticleService {
      * @param id 要删除的文章ID
      */
     @Override
+    @Transactional
     public void deleteArticle(Long id) {
-        // 从数据库删除文章
-        articleRepository.deleteById(id);
+        // 丢弃草稿，从数据库删除文章，提交后使缓存失效
+        articleDraftService.discardDraft(id);
+        articleDtoCache.evictAfterCommit(id);
+        articleRepository.findById(id).ifPresent(article -> {
+            updatePublishedStats(article, Boolean.TRUE.equals(article.getPublished()), false);
+            articleRepository.delete(article);
+        });
+    }
+    
+    /**
+     * 发布状态变化时更新作者统计：计入或扣除文章数及这篇文章已有的浏览量和点赞数
+     * @param article 文章实体
+     * @param wasPublished 变化前是否计入统计
+     * @param published 变化后是否计入统计，删除时为false
+     */
+    private void updatePublishedStats(Article article, boolean wasPublished, boolean published) {
+        if (article.getAuthor() == null || published == wasPublished) {
+            return;
+        }
+        long views = article.getViewCount() == null ? 0 : article.getViewCount();
+        long likes = article.getLikeCount() == null ? 0 : article.getLikeCount();
+        if (published) {
+            authorStatsService.articlePublished(article.getAuthor().getId(), views, likes);
+        } else {
+            authorStatsService.articleUnpublished(article.getAuthor().getId(), views, likes);
+        }
     }
     
     /**
      * 分页获取所有文章
      * @param pageable 分页信息
+     * @param fields 需要返回的字段，未请求的列和关联不会被查询
      * @return 分页的文章列表
      */
     @Override
-    public Page<ArticleDto> getAllArticles(Pageable pageable) {
+    @Transactional(readOnly = true)
+    public Page<ArticleDto> getAllArticles(Pageable pageable, FieldSelection fields) {
+        if (!fields.isAll()) {
+            return findProjected(fields, null, Map.of(), null, pageable);
+        }
         // 获取所有文章并转换为DTO分页对象
         return articleRepository.findAll(pageable).map(this::convertToDto);
     }
@@ -191,10 +335,15 @@ public class ArticleServiceImpl implements ArticleService {
     /**
      * 分页获取已发布的文章
      * @param pageable 分页信息
+     * @param fields 需要返回的字段，未请求的列和关联不会被查询
      * @return 分页的已发布文章列表
      */
     @Override
-    public Page<ArticleDto> getPublishedArticles(Pageable pageable) {
+    @Transactional(readOnly = true)
+    public Page<ArticleDto> getPublishedArticles(Pageable pageable, FieldSelection fields) {
+        if (!fields.isAll()) {
+            return findProjected(fields, "a.published = true", Map.of(), "a.createTime DESC", pageable);
+        }
         // 获取已发布的文章并按创建时间倒序排列，转换为DTO分页对象
         return articleRepository.findByPublishedTrueOrderByCreateTimeDesc(pageable).map(this::convertToDto);
     }
@@ -203,13 +352,18 @@ public class ArticleServiceImpl implements ArticleService {
      * 根据作者ID分页获取文章
      * @param authorId 作者的唯一标识符
      * @param pageable 分页信息
+     * @param fields 需要返回的字段，未请求的列和关联不会被查询
      * @return 指定作者的分页文章列表
      * @throws com.blog.exception.ResourceNotFoundException 如果作者不存在
      */
     @Override
-    public Page<ArticleDto> getArticlesByAuthor(Long authorId, Pageable pageable) throws com.blog.exception.ResourceNotFoundException {
+    @Transactional(readOnly = true)
+    public Page<ArticleDto> getArticlesByAuthor(Long authorId, Pageable pageable, FieldSelection fields) throws com.blog.exception.ResourceNotFoundException {
         // 查找作者
         User author = userRepository.findById(authorId).orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        if (!fields.isAll()) {
+            return findProjected(fields, "a.published = true AND a.author = :author", Map.of("author", author), "a.createTime DESC", pageable);
+        }
         // 获取指定作者的已发布文章并按创建时间倒序排列，转换为DTO分页对象
         return articleRepository.findByAuthorAndPublishedTrueOrderByCreateTimeDesc(author, pageable).map(this::convertToDto);
     }
@@ -218,13 +372,18 @@ public class ArticleServiceImpl implements ArticleService {
      * 根据分类ID分页获取文章
      * @param categoryId 分类的唯一标识符
      * @param pageable 分页信息
+     * @param fields 需要返回的字段，未请求的列和关联不会被查询
      * @return 指定分类的分页文章列表
      * @throws com.blog.exception.ResourceNotFoundException 如果分类不存在
      */
     @Override
-    public Page<ArticleDto> getArticlesByCategory(Long categoryId, Pageable pageable) throws com.blog.exception.ResourceNotFoundException {
+    @Transactional(readOnly = true)
+    public Page<ArticleDto> getArticlesByCategory(Long categoryId, Pageable pageable, FieldSelection fields) throws com.blog.exception.ResourceNotFoundException {
         // 查找分类
         Category category = categoryRepository.findById(categoryId).orElseThrow(() -> new ResourceNotFoundException("Category not found"));
+        if (!fields.isAll()) {
+            return findProjected(fields, "a.published = true AND a.category = :category", Map.of("category", category), "a.createTime DESC", pageable);
+        }
         // 获取指定分类的已发布文章并按创建时间倒序排列，转换为DTO分页对象
         return articleRepository.findByCategoryAndPublishedTrueOrderByCreateTimeDesc(category, pageable).map(this::convertToDto);
     }
@@ -233,13 +392,18 @@ public class ArticleServiceImpl implements ArticleService {
      * 根据标签ID分页获取文章
      * @param tagId 标签的唯一标识符
      * @param pageable 分页信息
+     * @param fields 需要返回的字段，未请求的列和关联不会被查询
      * @return 指定标签的分页文章列表
      * @throws com.blog.exception.ResourceNotFoundException 如果标签不存在
      */
     @Override
-    public Page<ArticleDto> getArticlesByTag(Long tagId, Pageable pageable) throws com.blog.exception.ResourceNotFoundException {
+    @Transactional(readOnly = true)
+    public Page<ArticleDto> getArticlesByTag(Long tagId, Pageable pageable, FieldSelection fields) throws com.blog.exception.ResourceNotFoundException {
         // 查找标签
         Tag tag = tagRepository.findById(tagId).orElseThrow(() -> new ResourceNotFoundException("Tag not found"));
+        if (!fields.isAll()) {
+            return findProjected(fields, "a.published = true AND :tag MEMBER OF a.tags", Map.of("tag", tag), "a.createTime DESC", pageable);
+        }
         // 获取包含指定标签的已发布文章并按创建时间倒序排列，转换为DTO分页对象
         return articleRepository.findByTagsContainingAndPublishedTrueOrderByCreateTimeDesc(tag, pageable).map(this::convertToDto);
     }
@@ -247,10 +411,15 @@ public class ArticleServiceImpl implements ArticleService {
     /**
      * 分页获取热门文章
      * @param pageable 分页信息
+     * @param fields 需要返回的字段，未请求的列和关联不会被查询
      * @return 分页的热门文章列表
      */
     @Override
-    public Page<ArticleDto> getPopularArticles(Pageable pageable) {
+    @Transactional(readOnly = true)
+    public Page<ArticleDto> getPopularArticles(Pageable pageable, FieldSelection fields) {
+        if (!fields.isAll()) {
+            return findProjected(fields, "a.published = true", Map.of(), "a.viewCount DESC", pageable);
+        }
         // 获取热门文章并转换为DTO分页对象
         return articleRepository.findPopularArticles(pageable).map(this::convertToDto);
     }
@@ -260,6 +429,7 @@ public class ArticleServiceImpl implements ArticleService {
      * @return 热门文章列表（最多5篇）
      */
     @Override
+    @Transactional(readOnly = true)
     public List<ArticleDto> getTopPopularArticles() {
         // 获取浏览量前5的已发布文章，转换为DTO列表
         return articleRepository.findTop5ByPublishedTrueOrderByViewCountDesc()
@@ -274,13 +444,177 @@ public class ArticleServiceImpl implements ArticleService {
      * @throws com.blog.exception.ResourceNotFoundException 如果文章不存在
      */
     @Override
+    @Transactional
     public void incrementViewCount(Long id) throws com.blog.exception.ResourceNotFoundException {
-        // 查找文章
-        Article article = articleRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Article not found"));
-        // 增加浏览量
-        article.setViewCount(article.getViewCount() + 1);
-        // 保存更新后的文章
-        articleRepository.save(article);
+        // 增量更新浏览量，不加载实体，也不与内容编辑竞争版本号；本地缓存中的浏览量在TTL内允许滞后
+        // 计数允许滞后，不让随后的详情查询粘滞到主库
+        if (ReadWriteRoutingDataSource.withoutStickiness(() -> articleRepository.incrementViewCount(id)) == 0) {
+            throw new ResourceNotFoundException("Article not found");
+        }
+        authorStatsService.articleViewed(id);
+    }
+    
+    /**
+     * 增加文章点赞数
+     * @param id 文章的唯一标识符
+     * @throws com.blog.exception.ResourceNotFoundException 如果文章不存在
+     */
+    @Override
+    @Transactional
+    public void incrementLikeCount(Long id) throws com.blog.exception.ResourceNotFoundException {
+        // 增量更新点赞数，不加载实体，也不与内容编辑竞争版本号；本地缓存中的点赞数在TTL内允许滞后
+        if (ReadWriteRoutingDataSource.withoutStickiness(() -> articleRepository.incrementLikeCount(id)) == 0) {
+            throw new ResourceNotFoundException("Article not found");
+        }
+        authorStatsService.articleLiked(id);
+    }
+    
+    /**
+     * 更新文章封面
+     * 用一条UPDATE语句修改封面并递增版本号，不加载实体，持有旧版本的编辑请求能够发现冲突
+     * @param id 文章的唯一标识符
+     * @param coverImage 封面地址
+     * @return 更新后的文章信息
+     * @throws com.blog.exception.ResourceNotFoundException 如果文章不存在
+     */
+    @Override
+    @Transactional
+    public ArticleDto updateCoverImage(Long id, String coverImage) throws com.blog.exception.ResourceNotFoundException {
+        if (articleRepository.updateCoverImage(id, coverImage, LocalDateTime.now()) == 0) {
+            throw new ResourceNotFoundException("Article not found");
+        }
+        articleDtoCache.evictAfterCommit(id);
+        return articleRepository.findById(id).map(this::convertToDto)
+                .orElseThrow(() -> new ResourceNotFoundException("Article not found"));
+    }
+    
+    /**
+     * 根据ID查找分类
+     * @param categoryId 分类ID
+     * @return 分类实体
+     * @throws com.blog.exception.ResourceNotFoundException 如果分类不存在
+     */
+    private Category resolveCategory(Long categoryId) throws com.blog.exception.ResourceNotFoundException {
+        return categoryRepository.findById(categoryId)
+                .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + categoryId));
+    }
+    
+    /**
+     * 根据标签DTO列表查找标签实体，忽略没有ID的标签
+     * @param tagDtos 标签DTO列表
+     * @return 标签实体列表
+     * @throws com.blog.exception.ResourceNotFoundException 如果任一标签不存在
+     */
+    private List<Tag> resolveTags(List<TagDto> tagDtos) throws com.blog.exception.ResourceNotFoundException {
+        List<Tag> tags = new ArrayList<>();
+        for (TagDto tagDto : tagDtos) {
+            if (tagDto.getId() != null) {
+                Tag tag = tagRepository.findById(tagDto.getId())
+                        .orElseThrow(() -> new ResourceNotFoundException("Tag not found with id: " + tagDto.getId()));
+                tags.add(tag);
+            }
+        }
+        return tags;
+    }
+    
+    /**
+     * 按稀疏字段集分页查询文章
+     * 只查询请求的列；作者、分类、标签只在被请求时各用一条查询批量加载
+     * @param fields 需要返回的字段
+     * @param filter 查询条件
+     * @param params 查询条件中的命名参数
+     * @param orderBy 排序表达式
+     * @param pageable 分页信息
+     * @return 只填充了请求字段的文章分页
+     */
+    private Page<ArticleDto> findProjected(FieldSelection fields, String filter, Map<String, Object> params,
+                                           String orderBy, Pageable pageable) {
+        List<String> properties = new ArrayList<>();
+        for (String property : PROJECTABLE_FIELDS) {
+            if (fields.includes(property)) {
+                properties.add(property);
+            }
+        }
+        boolean withAuthor = fields.includes("author");
+        boolean withCategory = fields.includes("category");
+        boolean withTags = fields.includes("tags");
+        
+        // 第一列固定为文章ID，关联只查询外键列
+        List<String> columns = new ArrayList<>();
+        columns.add("a.id");
+        properties.forEach(property -> columns.add("a." + property));
+        if (withAuthor) {
+            columns.add("a.author.id");
+        }
+        if (withCategory) {
+            columns.add("a.category.id");
+        }
+        Page<Object[]> rows = articleRepository.findColumns(columns, filter, params, orderBy, pageable);
+        
+        Map<Long, ArticleDto> articles = new LinkedHashMap<>();
+        Map<Long, Long> authorIds = new HashMap<>();
+        Map<Long, Long> categoryIds = new HashMap<>();
+        for (Object[] row : rows.getContent()) {
+            ArticleDto articleDto = new ArticleDto();
+            Long id = (Long) row[0];
+            articleDto.setId(id);
+            int column = 1;
+            for (String property : properties) {
+                setProperty(articleDto, property, row[column++]);
+            }
+            if (withAuthor && row[column] != null) {
+                authorIds.put(id, (Long) row[column]);
+            }
+            if (withAuthor) {
+                column++;
+            }
+            if (withCategory && row[column] != null) {
+                categoryIds.put(id, (Long) row[column]);
+            }
+            articles.put(id, articleDto);
+        }
+        
+        if (!authorIds.isEmpty()) {
+            Map<Long, UserDto> authors = new HashMap<>();
+            userRepository.findAllById(new HashSet<>(authorIds.values()))
+                    .forEach(user -> authors.put(user.getId(), convertUserToDto(user)));
+            authorIds.forEach((articleId, authorId) -> articles.get(articleId).setAuthor(authors.get(authorId)));
+        }
+        if (!categoryIds.isEmpty()) {
+            Map<Long, CategoryDto> categories = new HashMap<>();
+            categoryRepository.findAllById(new HashSet<>(categoryIds.values()))
+                    .forEach(category -> categories.put(category.getId(), convertCategoryToDto(category)));
+            categoryIds.forEach((articleId, categoryId) -> articles.get(articleId).setCategory(categories.get(categoryId)));
+        }
+        if (withTags && !articles.isEmpty()) {
+            articles.values().forEach(articleDto -> articleDto.setTags(new ArrayList<>()));
+            for (Object[] pair : articleRepository.findTagsByArticleIdIn(articles.keySet())) {
+                articles.get((Long) pair[0]).getTags().add(convertTagToDto((Tag) pair[1]));
+            }
+        }
+        return new PageImpl<>(new ArrayList<>(articles.values()), pageable, rows.getTotalElements());
+    }
+    
+    /**
+     * 将按列查询得到的值写入DTO
+     * @param articleDto 文章DTO
+     * @param property 属性名，取自PROJECTABLE_FIELDS
+     * @param value 列值
+     */
+    private static void setProperty(ArticleDto articleDto, String property, Object value) {
+        switch (property) {
+            case "title" -> articleDto.setTitle((String) value);
+            case "content" -> articleDto.setContent((String) value);
+            case "summary" -> articleDto.setSummary((String) value);
+            case "coverImage" -> articleDto.setCoverImage((String) value);
+            case "published" -> articleDto.setPublished((Boolean) value);
+            case "viewCount" -> articleDto.setViewCount((Integer) value);
+            case "likeCount" -> articleDto.setLikeCount((Integer) value);
+            case "createTime" -> articleDto.setCreateTime((LocalDateTime) value);
+            case "updateTime" -> articleDto.setUpdateTime((LocalDateTime) value);
+            case "version" -> articleDto.setVersion((Long) value);
+            default -> throw new IllegalArgumentException("Unsupported article property: " + property);
+        }
     }
     
     /**
@@ -289,46 +623,45 @@ public class ArticleServiceImpl implements ArticleService {
      * @return 文章DTO对象
      */
     private ArticleDto convertToDto(Article article) {
-        ArticleDto articleDto = new ArticleDto();
-        articleDto.setId(article.getId());
-        articleDto.setTitle(article.getTitle());
-        articleDto.setContent(article.getContent());
-        articleDto.setSummary(article.getSummary());
-        articleDto.setCoverImage(article.getCoverImage());
-        articleDto.setPublished(article.getPublished());
-        articleDto.setViewCount(article.getViewCount());
-        articleDto.setLikeCount(article.getLikeCount());
-        articleDto.setCreateTime(article.getCreateTime());
-        articleDto.setUpdateTime(article.getUpdateTime());
+        // 转换耗时计入请求的mapping阶段；懒加载关联触发的查询仍计入db阶段
+        RequestTiming.Phase previous = RequestTiming.enter(RequestTiming.Phase.MAPPING);
+        try {
+            ArticleDto articleDto = new ArticleDto();
+            articleDto.setId(article.getId());
+            articleDto.setTitle(article.getTitle());
+            articleDto.setContent(article.getContent());
+            articleDto.setSummary(article.getSummary());
+            articleDto.setCoverImage(article.getCoverImage());
+            articleDto.setPublished(article.getPublished());
+            articleDto.setViewCount(article.getViewCount());
+            articleDto.setLikeCount(article.getLikeCount());
+            articleDto.setCreateTime(article.getCreateTime());
+            articleDto.setUpdateTime(article.getUpdateTime());
+            articleDto.setVersion(article.getVersion());
         
-        // 转换作者信息
-        if (article.getAuthor() != null) {
-            User author = article.getAuthor();
-            articleDto.setAuthor(convertUserToDto(author));
-        }
+            // 转换作者信息
+            if (article.getAuthor() != null) {
+                User author = article.getAuthor();
+                articleDto.setAuthor(convertUserToDto(author));
+            }
         
-        // 转换分类信息
-        if (article.getCategory() != null) {
-            Category category = article.getCategory();
-            CategoryDto categoryDto = new CategoryDto();
-            categoryDto.setId(category.getId());
-            categoryDto.setName(category.getName());
-            categoryDto.setDescription(category.getDescription());
-            articleDto.setCategory(categoryDto);
-        }
+            // 转换分类信息
+            if (article.getCategory() != null) {
+                articleDto.setCategory(convertCategoryToDto(article.getCategory()));
+            }
         
-        // 转换标签信息
-        if (article.getTags() != null) {
-            List<TagDto> tagDtos = article.getTags().stream().map(tag -> {
-                TagDto tagDto = new TagDto();
-                tagDto.setId(tag.getId());
-                tagDto.setName(tag.getName());
-                return tagDto;
-            }).collect(Collectors.toList());
-            articleDto.setTags(tagDtos);
-        }
+            // 转换标签信息
+            if (article.getTags() != null) {
+                List<TagDto> tagDtos = article.getTags().stream()
+                        .map(this::convertTagToDto)
+                        .collect(Collectors.toList());
+                articleDto.setTags(tagDtos);
+            }
         
-        return articleDto;
+            return articleDto;
+        } finally {
+            RequestTiming.exit(previous);
+        }
     }
     
     /**
@@ -348,4 +681,29 @@ public class ArticleServiceImpl implements ArticleService {
         userDto.setUpdateTime(user.getUpdateTime());
         return userDto;
     }
+    
+    /**
+     * 将分类实体转换为文章中内嵌的分类DTO
+     * @param category 分类实体
+     * @return 分类DTO对象
+     */
+    private CategoryDto convertCategoryToDto(Category category) {
+        CategoryDto categoryDto = new CategoryDto();
+        categoryDto.setId(category.getId());
+        categoryDto.setName(category.getName());
+        categoryDto.setDescription(category.getDescription());
+        return categoryDto;
+    }
+    
+    /**
+     * 将标签实体转换为文章中内嵌的标签DTO
+     * @param tag 标签实体
+     * @return 标签DTO对象
+     */
+    private TagDto convertTagToDto(Tag tag) {
+        TagDto tagDto = new TagDto();
+        tagDto.setId(tag.getId());
+        tagDto.setName(tag.getName());
+        return tagDto;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,268 @@
+package com.blog.service.impl;
+
+import com.blog.dto.ArticleDto;
+import com.blog.dto.AuthorProfileDto;
+import com.blog.dto.UserSummaryDto;
+import com.blog.entity.AuthorStats;
+import com.blog.repository.ArticleRepository;
+import com.blog.repository.AuthorStatsRepository;
+import com.blog.repository.UserRepository;
+import com.blog.service.AuthorStatsService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 作者统计服务实现类
+ * 发布、撤回等增量更新是单条UPDATE语句，在调用方的事务中执行，随文章的修改一起提交或回滚。
+ * 浏览和点赞只在内存中按文章累加，定时按作者合并后批量写入，热门作者的统计记录不会成为每次浏览都要争抢的行锁。
+ * 未写入的增量在进程退出时丢失，与发布、撤回交错时也会产生少量偏差，都由定时校正按文章表覆盖。
+ */
+@Service
+public class AuthorStatsServiceImpl implements AuthorStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthorStatsServiceImpl.class);
+
+    /** 校正时每条语句覆盖的用户ID区间长度 */
+    private static final long BATCH_SIZE = 1000;
+
+    /** 写入增量时每次查询作者的文章数 */
+    private static final int FLUSH_LOOKUP_SIZE = 500;
+
+    /** 自动注入作者统计数据访问层 */
+    @Autowired
+    private AuthorStatsRepository authorStatsRepository;
+
+    /** 自动注入文章数据访问层 */
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    /** 自动注入用户数据访问层 */
+    @Autowired
+    private UserRepository userRepository;
+
+    /** 自动注入事务模板，校正时每个ID区间使用独立事务 */
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /** 作者主页展示的最新文章数 */
+    @Value("${blog.author-stats.latest-articles:5}")
+    private int latestArticles;
+
+    /** 保证同一时刻只有一个线程在校正 */
+    private final ReentrantLock reconcileLock = new ReentrantLock();
+
+    /** 保证同一时刻只有一个线程在写入增量 */
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    /** 按文章累加、尚未写入的浏览量和点赞数 */
+    private final Map<Long, PendingCounts> pending = new ConcurrentHashMap<>();
+
+    /**
+     * 一篇文章尚未写入的增量
+     */
+    private static final class PendingCounts {
+        private final LongAdder views = new LongAdder();
+        private final LongAdder likes = new LongAdder();
+    }
+
+    @Override
+    @Transactional
+    public void authorCreated(Long authorId) {
+        authorStatsRepository.save(new AuthorStats(authorId));
+    }
+
+    @Override
+    @Transactional
+    public void authorDeleted(Long authorId) {
+        if (authorStatsRepository.existsById(authorId)) {
+            authorStatsRepository.deleteById(authorId);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void articlePublished(Long authorId, long viewCount, long likeCount) {
+        authorStatsRepository.addDeltas(authorId, 1, viewCount, likeCount);
+    }
+
+    @Override
+    @Transactional
+    public void articleUnpublished(Long authorId, long viewCount, long likeCount) {
+        authorStatsRepository.addDeltas(authorId, -1, -viewCount, -likeCount);
+    }
+
+    @Override
+    public void articleViewed(Long articleId) {
+        pending.computeIfAbsent(articleId, id -> new PendingCounts()).views.increment();
+    }
+
+    @Override
+    public void articleLiked(Long articleId) {
+        pending.computeIfAbsent(articleId, id -> new PendingCounts()).likes.increment();
+    }
+
+    /**
+     * 取出各文章累加的增量，按作者合并，每个作者一条UPDATE，在一个事务中写入；
+     * 上一轮没有新增量的文章从缓冲区移除
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${blog.author-stats.flush-interval-ms:1000}")
+    public void flushPending() {
+        // 串行写入，调用返回时之前取出的增量都已提交
+        flushLock.lock();
+        try {
+            flushLocked();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushLocked() {
+        Map<Long, long[]> byArticle = new HashMap<>();
+        for (Map.Entry<Long, PendingCounts> entry : pending.entrySet()) {
+            long views = entry.getValue().views.sumThenReset();
+            long likes = entry.getValue().likes.sumThenReset();
+            if (views == 0 && likes == 0) {
+                // 移除与并发累加之间可能丢失一次计数，由定时校正覆盖
+                pending.remove(entry.getKey(), entry.getValue());
+            } else {
+                byArticle.put(entry.getKey(), new long[]{views, likes});
+            }
+        }
+        if (byArticle.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Map<Long, long[]> byAuthor = new HashMap<>();
+                List<Long> ids = new ArrayList<>(byArticle.keySet());
+                for (int i = 0; i < ids.size(); i += FLUSH_LOOKUP_SIZE) {
+                    List<Long> chunk = ids.subList(i, Math.min(ids.size(), i + FLUSH_LOOKUP_SIZE));
+                    for (Object[] row : articleRepository.findPublishedAuthorIds(chunk)) {
+                        long[] counts = byArticle.get((Long) row[0]);
+                        long[] total = byAuthor.computeIfAbsent((Long) row[1], id -> new long[2]);
+                        total[0] += counts[0];
+                        total[1] += counts[1];
+                    }
+                }
+                byAuthor.forEach((authorId, total) -> authorStatsRepository.addDeltas(authorId, 0, total[0], total[1]));
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Failed to flush view and like counts for {} articles: {}", byArticle.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * 关闭前写入尚未写入的增量
+     */
+    @PreDestroy
+    public void shutdown() {
+        flushPending();
+    }
+
+    /**
+     * 获取作者主页
+     * 统计从作者的统计记录读取，最新文章沿(author_id, published, create_time)索引只取前几行，
+     * 两者的代价都与作者的文章数无关；统计记录尚未创建（下一次校正之前）时临时按文章表聚合
+     * @param authorId 作者ID
+     * @return 作者主页，用户不存在时为空
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<AuthorProfileDto> getAuthorProfile(Long authorId) {
+        return userRepository.findById(authorId).map(user -> {
+            AuthorProfileDto profile = new AuthorProfileDto();
+            profile.setAuthor(new UserSummaryDto(user.getId(), user.getUsername(), user.getNickname(),
+                    user.getAvatar(), user.getCreateTime()));
+
+            Optional<AuthorStats> stats = authorStatsRepository.findById(authorId);
+            if (stats.isPresent()) {
+                profile.setArticleCount(stats.get().getArticleCount());
+                profile.setViewCount(stats.get().getViewCount());
+                profile.setLikeCount(stats.get().getLikeCount());
+            } else {
+                Object[] row = articleRepository.summarizePublishedByAuthor(authorId).get(0);
+                profile.setArticleCount(((Number) row[0]).longValue());
+                profile.setViewCount(((Number) row[1]).longValue());
+                profile.setLikeCount(((Number) row[2]).longValue());
+            }
+
+            List<ArticleDto> articles = new ArrayList<>();
+            for (Object[] row : articleRepository.findLatestPublishedByAuthor(authorId, PageRequest.of(0, latestArticles))) {
+                ArticleDto articleDto = new ArticleDto();
+                articleDto.setId((Long) row[0]);
+                articleDto.setTitle((String) row[1]);
+                articleDto.setSummary((String) row[2]);
+                articleDto.setCoverImage((String) row[3]);
+                articleDto.setViewCount((Integer) row[4]);
+                articleDto.setLikeCount((Integer) row[5]);
+                articleDto.setCreateTime((LocalDateTime) row[6]);
+                articles.add(articleDto);
+            }
+            profile.setLatestArticles(articles);
+            return profile;
+        });
+    }
+
+    /**
+     * 应用启动完成后校正一次，补建已有用户的统计记录
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        reconcile();
+    }
+
+    /**
+     * 按用户ID区间分批校正，每批先补建缺少的记录，再用一条UPDATE按文章表重新计算
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${blog.author-stats.reconcile-interval-ms:3600000}",
+            initialDelayString = "${blog.author-stats.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        if (!reconcileLock.tryLock()) {
+            return;
+        }
+        try {
+            // 先写入缓冲的增量，避免校正后再叠加已计入文章表的浏览和点赞
+            flushPending();
+            Long maxId = userRepository.findMaxId();
+            if (maxId == null) {
+                return;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            long created = 0;
+            for (long fromId = 0; fromId < maxId; fromId += BATCH_SIZE) {
+                long from = fromId;
+                long to = fromId + BATCH_SIZE;
+                created += transactionTemplate.execute(status -> {
+                    int inserted = authorStatsRepository.insertMissing(from, to);
+                    authorStatsRepository.reconcile(from, to, now);
+                    return inserted;
+                });
+            }
+            logger.info("Reconciled author statistics up to user {}, created {} missing records", maxId, created);
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+}
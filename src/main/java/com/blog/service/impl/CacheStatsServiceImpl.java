@@ -0,0 +1,76 @@
+package com.blog.service.impl;
+
+import com.blog.dto.CacheRegionStatsDto;
+import com.blog.service.CacheStatsService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 缓存统计服务实现类
+ * 统计数据来自Hibernate Statistics，需要开启hibernate.generate_statistics
+ */
+@Service
+public class CacheStatsServiceImpl implements CacheStatsService {
+    
+    /** 自动注入实体管理器工厂 */
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    /**
+     * 获取所有缓存区域的统计
+     * @return 按区域名称排序的统计列表
+     */
+    @Override
+    public List<CacheRegionStatsDto> getRegionStats() {
+        Statistics statistics = statistics();
+        String[] regionNames = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(regionNames);
+        
+        List<CacheRegionStatsDto> result = new ArrayList<>();
+        for (String regionName : regionNames) {
+            CacheRegionStatsDto regionStats = getRegionStats(regionName);
+            if (regionStats != null) {
+                result.add(regionStats);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * 获取单个缓存区域的统计
+     * @param regionName 区域名称
+     * @return 区域统计，区域不存在时返回null
+     */
+    @Override
+    public CacheRegionStatsDto getRegionStats(String regionName) {
+        CacheRegionStatistics region = statistics().getCacheRegionStatistics(regionName);
+        if (region == null) {
+            return null;
+        }
+        long hits = region.getHitCount();
+        long misses = region.getMissCount();
+        long requests = hits + misses;
+        return new CacheRegionStatsDto(regionName, hits, misses, region.getPutCount(),
+                region.getElementCountInMemory(), requests == 0 ? 0 : (double) hits / requests);
+    }
+    
+    /**
+     * 清空统计计数，缓存内容不受影响
+     */
+    @Override
+    public void clearStats() {
+        statistics().clear();
+    }
+    
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
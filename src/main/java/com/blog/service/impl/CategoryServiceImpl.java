@@ -2,6 +2,7 @@ package com.blog.service.impl;
 
 import com.blog.dto.CategoryDto;
 import com.blog.entity.Category;
+import com.blog.repository.ArticleRepository;
 import com.blog.repository.CategoryRepository;
 import com.blog.exception.ResourceNotFoundException;
 import com.blog.service.CategoryService;
@@ -9,7 +10,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 /**
@@ -23,12 +28,21 @@ public class CategoryServiceImpl implements CategoryService {
     @Autowired
     private CategoryRepository categoryRepository;
     
+    /** 自动注入文章数据访问层 */
+    @Autowired
+    private ArticleRepository articleRepository;
+    
+    /** 自动注入文章DTO本地缓存 */
+    @Autowired
+    private ArticleDtoCache articleDtoCache;
+    
     /**
      * 创建新的分类
      * @param categoryDto 包含分类信息的数据传输对象
      * @return 创建成功的分类信息
      */
     @Override
+    @Transactional
     public CategoryDto createCategory(CategoryDto categoryDto) {
         // 创建分类实体对象
         Category category = new Category();
@@ -47,6 +61,7 @@ public class CategoryServiceImpl implements CategoryService {
      * @return 包含分类信息的Optional对象
      */
     @Override
+    @Transactional(readOnly = true)
     public Optional<CategoryDto> getCategoryById(Long id) {
         // 根据ID从数据库查找分类，并转换为DTO对象
         return categoryRepository.findById(id).map(this::convertToDto);
@@ -58,6 +73,7 @@ public class CategoryServiceImpl implements CategoryService {
      * @return 包含分类信息的Optional对象
      */
     @Override
+    @Transactional(readOnly = true)
     public Optional<CategoryDto> getCategoryByName(String name) {
         // 根据名称从数据库查找分类，并转换为DTO对象
         return categoryRepository.findByName(name).map(this::convertToDto);
@@ -71,6 +87,7 @@ public class CategoryServiceImpl implements CategoryService {
      * @throws ResourceNotFoundException 如果分类不存在
      */
     @Override
+    @Transactional
     public CategoryDto updateCategory(Long id, CategoryDto categoryDto) throws ResourceNotFoundException {
         // 根据ID查找分类，如果不存在则抛出异常
         Category category = categoryRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Category not found"));
@@ -85,12 +102,40 @@ public class CategoryServiceImpl implements CategoryService {
     
     /**
      * 删除指定ID的分类
+     * 分类下的文章用一条UPDATE移到目标分类或清空分类，不把文章加载到持久化上下文，
+     * 耗时和内存与文章数无关；之后删除分类本身
      * @param id 要删除的分类ID
+     * @param moveTo 目标分类ID，为null时文章变为无分类
+     * @return 被移动的文章数
+     * @throws ResourceNotFoundException 如果分类或目标分类不存在
      */
     @Override
-    public void deleteCategory(Long id) {
-        // 根据ID删除分类
-        categoryRepository.deleteById(id);
+    @Transactional
+    public int deleteCategory(Long id, Long moveTo) throws ResourceNotFoundException {
+        if (id.equals(moveTo)) {
+            throw new IllegalArgumentException("目标分类不能是要删除的分类");
+        }
+        Category category = categoryRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Category not found"));
+        LocalDateTime now = LocalDateTime.now();
+        int moved;
+        if (moveTo != null) {
+            Category target = categoryRepository.findById(moveTo)
+                    .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + moveTo));
+            moved = articleRepository.moveCategory(id, target, now);
+        } else {
+            moved = articleRepository.detachCategory(id, now);
+        }
+        categoryRepository.delete(category);
+        if (moved > 0) {
+            // 缓存的文章DTO带有分类信息，不知道具体是哪些文章，提交后整体清空
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    articleDtoCache.clear();
+                }
+            });
+        }
+        return moved;
     }
     
     /**
@@ -99,6 +144,7 @@ public class CategoryServiceImpl implements CategoryService {
      * @return 分页的分类列表
      */
     @Override
+    @Transactional(readOnly = true)
     public Page<CategoryDto> getAllCategories(Pageable pageable) {
         // 从数据库分页获取所有分类，并转换为DTO对象
         return categoryRepository.findAll(pageable).map(this::convertToDto);
@@ -110,6 +156,7 @@ public class CategoryServiceImpl implements CategoryService {
      * @return 分类名称存在返回true，否则返回false
      */
     @Override
+    @Transactional(readOnly = true)
     public Boolean existsByName(String name) {
         // 检查数据库中是否存在指定名称的分类
         return categoryRepository.existsByName(name);
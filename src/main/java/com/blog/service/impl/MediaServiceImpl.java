@@ -0,0 +1,212 @@
+package com.blog.service.impl;
+
+import com.blog.config.MediaProperties;
+import com.blog.dto.MediaImageDto;
+import com.blog.service.MediaService;
+import com.blog.util.ImageResizer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 图片存储服务实现类
+ * 目录结构为"存储目录/摘要前两位/摘要/文件名"，原图名为original.扩展名，各尺寸名为"尺寸名.扩展名"。
+ * 上传内容边读边计算摘要写入临时文件，不在内存中缓存整个文件；确认是图片后原子移动到最终位置，
+ * 相同内容的再次上传只删除临时文件。各尺寸的图片由固定大小的后台线程池生成，队列满时推迟到首次访问时生成。
+ */
+@Service
+public class MediaServiceImpl implements MediaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MediaServiceImpl.class);
+
+    private static final String ORIGINAL = "original";
+
+    /** 原图可能的扩展名 */
+    private static final List<String> ORIGINAL_EXTENSIONS = List.of("jpg", "png", "gif");
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    private static final Pattern FILE_NAME = Pattern.compile("([a-z]+)\\.(jpg|png|gif)");
+
+    /** 自动注入图片存储配置 */
+    @Autowired
+    private MediaProperties mediaProperties;
+
+    /** 存储根目录 */
+    private Path root;
+
+    /** 上传临时目录，与存储目录在同一文件系统上，保证可以原子移动 */
+    private Path uploads;
+
+    /** 生成缩放图片的线程池 */
+    private ThreadPoolExecutor executor;
+
+    /** 已提交尚未完成的生成任务，避免同一张图片重复排队 */
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 创建存储目录和生成线程池
+     * @throws IOException 无法创建存储目录
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        root = Paths.get(mediaProperties.getStorageDir()).toAbsolutePath().normalize();
+        uploads = Files.createDirectories(root.resolve("uploads"));
+        executor = new ThreadPoolExecutor(mediaProperties.getThreads(), mediaProperties.getThreads(),
+                0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(mediaProperties.getQueueCapacity()),
+                Thread.ofPlatform().name("image-resize-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 关闭生成线程池，未完成的图片在首次访问时重新生成
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public MediaImageDto storeImage(MultipartFile file) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("上传的文件为空");
+        }
+        Path temp = Files.createTempFile(uploads, "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (InputStream input = new DigestInputStream(file.getInputStream(), digest)) {
+                size = Files.copy(input, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+
+            ImageResizer.ImageInfo info = ImageResizer.probe(temp);
+            if ((long) info.width() * info.height() > mediaProperties.getMaxPixels()) {
+                throw new IllegalArgumentException("图片尺寸过大: " + info.width() + "x" + info.height());
+            }
+
+            Path directory = Files.createDirectories(directoryOf(hash));
+            Path original = directory.resolve(ORIGINAL + "." + info.originalExtension());
+            if (!Files.exists(original)) {
+                // 并发上传相同内容时后移动的一方覆盖内容相同的文件，结果不变
+                Files.move(temp, original, StandardCopyOption.ATOMIC_MOVE);
+            }
+            submit(hash, original, info);
+            return toDto(hash, info, size);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public Optional<Path> resolve(String hash, String fileName) {
+        if (!HASH.matcher(hash).matches()) {
+            return Optional.empty();
+        }
+        Matcher name = FILE_NAME.matcher(fileName);
+        if (!name.matches()) {
+            return Optional.empty();
+        }
+        Path directory = directoryOf(hash);
+        Path file = directory.resolve(fileName);
+        if (Files.exists(file)) {
+            return Optional.of(file);
+        }
+
+        String variant = name.group(1);
+        if (ORIGINAL.equals(variant) || !mediaProperties.getVariants().containsKey(variant)) {
+            return Optional.empty();
+        }
+        for (String extension : ORIGINAL_EXTENSIONS) {
+            Path original = directory.resolve(ORIGINAL + "." + extension);
+            if (!Files.exists(original)) {
+                continue;
+            }
+            try {
+                ImageResizer.ImageInfo info = ImageResizer.probe(original);
+                if (!info.variantExtension().equals(name.group(2))) {
+                    return Optional.empty();
+                }
+                submit(hash, original, info);
+                return Optional.of(original);
+            } catch (IOException | IllegalArgumentException e) {
+                logger.warn("Cannot read stored image {}: {}", original, e.getMessage());
+                return Optional.empty();
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * 提交生成各尺寸图片的任务，已有同一图片的任务在排队或执行时跳过
+     */
+    private void submit(String hash, Path original, ImageResizer.ImageInfo info) {
+        if (!pending.add(hash)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    ImageResizer.writeVariants(original, info, mediaProperties.getVariants(), original.getParent());
+                } catch (IOException | RuntimeException e) {
+                    logger.warn("Failed to generate variants for image {}: {}", hash, e.getMessage());
+                } finally {
+                    pending.remove(hash);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(hash);
+            logger.debug("Image resize queue is full, variants for {} will be generated on first request", hash);
+        }
+    }
+
+    private MediaImageDto toDto(String hash, ImageResizer.ImageInfo info, long size) {
+        String base = mediaProperties.getPublicUrl() + "/" + hash + "/";
+        Map<String, String> variants = new LinkedHashMap<>();
+        for (String variant : mediaProperties.getVariants().keySet()) {
+            variants.put(variant, base + variant + "." + info.variantExtension());
+        }
+        return new MediaImageDto(hash, info.format(), info.width(), info.height(), size,
+                base + ORIGINAL + "." + info.originalExtension(), variants);
+    }
+
+    private Path directoryOf(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.blog.service.impl;
+
+import com.blog.entity.RefreshToken;
+import com.blog.repository.RefreshTokenRepository;
+import com.blog.service.RefreshTokenService;
+import com.blog.util.DigestUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 刷新令牌服务实现类
+ * 令牌为32字节随机数，数据库只保存其SHA-256摘要
+ */
+@Service
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenServiceImpl.class);
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /** 自动注入刷新令牌数据访问层 */
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    /** 刷新令牌有效期（秒） */
+    @Value("${jwt.refresh-expiration:1209600}")
+    private long refreshExpiration;
+
+    @Override
+    @Transactional
+    public String issue(Long userId) {
+        return create(userId, UUID.randomUUID().toString());
+    }
+
+    @Override
+    @Transactional
+    public Rotation rotate(String refreshToken) {
+        Optional<RefreshToken> found = refreshTokenRepository.findByTokenHash(DigestUtil.sha256(refreshToken));
+        if (found.isEmpty()) {
+            return null;
+        }
+        RefreshToken current = found.get();
+        if (current.getExpiresAt().isBefore(LocalDateTime.now())) {
+            refreshTokenRepository.delete(current);
+            return null;
+        }
+        if (current.isUsed() || refreshTokenRepository.markUsed(current.getId()) == 0) {
+            // 已轮换过的令牌被再次使用，说明令牌可能被盗用，使整个家族失效
+            logger.warn("Refresh token reuse detected for user {}, revoking token family", current.getUserId());
+            refreshTokenRepository.deleteByFamilyId(current.getFamilyId());
+            return null;
+        }
+        return new Rotation(current.getUserId(), create(current.getUserId(), current.getFamilyId()));
+    }
+
+    @Override
+    @Transactional
+    public void revoke(String refreshToken) {
+        refreshTokenRepository.findByTokenHash(DigestUtil.sha256(refreshToken))
+                .ifPresent(token -> refreshTokenRepository.deleteByFamilyId(token.getFamilyId()));
+    }
+
+    @Override
+    @Transactional
+    public void revokeAll(Long userId) {
+        refreshTokenRepository.deleteByUserId(userId);
+    }
+
+    /**
+     * 定期删除过期的刷新令牌
+     */
+    @Scheduled(fixedDelayString = "${jwt.refresh-cleanup-interval-ms:3600000}")
+    public void deleteExpired() {
+        refreshTokenRepository.deleteExpired(LocalDateTime.now());
+    }
+
+    private String create(Long userId, String familyId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken entity = new RefreshToken();
+        entity.setTokenHash(DigestUtil.sha256(token));
+        entity.setUserId(userId);
+        entity.setFamilyId(familyId);
+        entity.setExpiresAt(LocalDateTime.now().plusSeconds(refreshExpiration));
+        refreshTokenRepository.save(entity);
+        return token;
+    }
+}
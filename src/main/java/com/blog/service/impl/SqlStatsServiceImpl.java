@@ -0,0 +1,179 @@
+package com.blog.service.impl;
+
+import com.blog.config.SqlMetricsProperties;
+import com.blog.dto.SqlEndpointStatsDto;
+import com.blog.dto.SqlShapeStatsDto;
+import com.blog.service.SqlStatsService;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SQL执行统计服务实现类
+ * 耗时以微秒记录在HdrHistogram中，记录过程无锁，只在查询统计时复制快照
+ */
+@Service
+public class SqlStatsServiceImpl implements SqlStatsService {
+    
+    /** 语句形态数量达到上限后新形态归入的名称 */
+    private static final String OTHER_SHAPE = "(other)";
+    
+    /** 每个接口最多保留的重复语句形态数 */
+    private static final int MAX_REPEATED_SHAPES = 20;
+    
+    /** 自动注入SQL统计配置 */
+    @Autowired
+    private SqlMetricsProperties properties;
+    
+    private final Map<String, ShapeStats> shapes = new ConcurrentHashMap<>();
+    
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    
+    /**
+     * 记录一次语句执行
+     * @param shape 语句形态
+     * @param elapsedNanos 耗时（纳秒）
+     * @param bindCount 绑定参数个数
+     */
+    @Override
+    public void recordStatement(String shape, long elapsedNanos, int bindCount) {
+        ShapeStats stats = shapes.get(shape);
+        if (stats == null) {
+            String key = shapes.size() < properties.getMaxShapes() ? shape : OTHER_SHAPE;
+            stats = shapes.computeIfAbsent(key, k -> new ShapeStats());
+        }
+        stats.latency.recordValue(toMicros(elapsedNanos));
+        stats.totalNanos.add(elapsedNanos);
+        stats.binds.add(bindCount);
+        if (elapsedNanos >= TimeUnit.MILLISECONDS.toNanos(properties.getSlowQueryMs())) {
+            stats.slow.increment();
+        }
+    }
+    
+    /**
+     * 记录一个请求内执行的全部语句
+     * @param endpoint 请求方法和路由模板
+     * @param statementNanos 每条语句的耗时（纳秒）
+     * @param repeatedShapes 执行次数超过阈值的语句形态
+     */
+    @Override
+    public void recordRequest(String endpoint, long[] statementNanos, List<String> repeatedShapes) {
+        EndpointStats stats = endpoints.computeIfAbsent(endpoint, k -> new EndpointStats());
+        long dbNanos = 0;
+        for (long nanos : statementNanos) {
+            stats.latency.recordValue(toMicros(nanos));
+            dbNanos += nanos;
+        }
+        stats.requests.increment();
+        stats.statementsPerRequest.recordValue(statementNanos.length);
+        stats.dbTimePerRequest.recordValue(toMicros(dbNanos));
+        if (!repeatedShapes.isEmpty()) {
+            stats.repeatedRequests.increment();
+            for (String shape : repeatedShapes) {
+                if (stats.repeatedShapes.size() < MAX_REPEATED_SHAPES) {
+                    stats.repeatedShapes.add(shape);
+                }
+            }
+        }
+    }
+    
+    /**
+     * 获取各语句形态的统计，按总耗时倒序
+     * @return 语句形态统计列表
+     */
+    @Override
+    public List<SqlShapeStatsDto> getShapeStats() {
+        List<SqlShapeStatsDto> result = new ArrayList<>();
+        shapes.forEach((shape, stats) -> {
+            Histogram latency = stats.latency.copy();
+            long count = latency.getTotalCount();
+            if (count == 0) {
+                return;
+            }
+            result.add(new SqlShapeStatsDto(shape, count,
+                    stats.totalNanos.sum() / 1_000_000.0,
+                    toMillis(latency.getValueAtPercentile(50)),
+                    toMillis(latency.getValueAtPercentile(99)),
+                    toMillis(latency.getMaxValue()),
+                    (double) stats.binds.sum() / count,
+                    stats.slow.sum()));
+        });
+        result.sort(Comparator.comparingDouble(SqlShapeStatsDto::getTotalMs).reversed());
+        return result;
+    }
+    
+    /**
+     * 获取各接口的统计，按请求数倒序
+     * @return 接口统计列表
+     */
+    @Override
+    public List<SqlEndpointStatsDto> getEndpointStats() {
+        List<SqlEndpointStatsDto> result = new ArrayList<>();
+        endpoints.forEach((endpoint, stats) -> {
+            Histogram latency = stats.latency.copy();
+            Histogram statementsPerRequest = stats.statementsPerRequest.copy();
+            Histogram dbTime = stats.dbTimePerRequest.copy();
+            result.add(new SqlEndpointStatsDto(endpoint,
+                    stats.requests.sum(),
+                    latency.getTotalCount(),
+                    toMillis(latency.getValueAtPercentile(50)),
+                    toMillis(latency.getValueAtPercentile(99)),
+                    statementsPerRequest.getValueAtPercentile(50),
+                    statementsPerRequest.getValueAtPercentile(99),
+                    toMillis(dbTime.getValueAtPercentile(99)),
+                    stats.repeatedRequests.sum(),
+                    new ArrayList<>(stats.repeatedShapes)));
+        });
+        result.sort(Comparator.comparingLong(SqlEndpointStatsDto::getRequests).reversed());
+        return result;
+    }
+    
+    /**
+     * 清空全部统计
+     */
+    @Override
+    public void reset() {
+        shapes.clear();
+        endpoints.clear();
+    }
+    
+    private static long toMicros(long nanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+    
+    private static double toMillis(long micros) {
+        return micros / 1000.0;
+    }
+    
+    /**
+     * 单个语句形态的统计
+     */
+    private static class ShapeStats {
+        private final Histogram latency = new ConcurrentHistogram(2);
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder binds = new LongAdder();
+        private final LongAdder slow = new LongAdder();
+    }
+    
+    /**
+     * 单个接口的统计
+     */
+    private static class EndpointStats {
+        private final Histogram latency = new ConcurrentHistogram(2);
+        private final Histogram statementsPerRequest = new ConcurrentHistogram(2);
+        private final Histogram dbTimePerRequest = new ConcurrentHistogram(2);
+        private final LongAdder requests = new LongAdder();
+        private final Set<String> repeatedShapes = ConcurrentHashMap.newKeySet();
+        private final LongAdder repeatedRequests = new LongAdder();
+    }
+}
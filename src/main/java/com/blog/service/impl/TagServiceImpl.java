@@ -9,6 +9,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -29,6 +30,7 @@ public class TagServiceImpl implements TagService {
      * @return 创建成功的标签信息
      */
     @Override
+    @Transactional
     public TagDto createTag(TagDto tagDto) {
         // 创建标签实体对象
         Tag tag = new Tag();
@@ -47,6 +49,7 @@ public class TagServiceImpl implements TagService {
      * @return 包含标签信息的Optional对象
      */
     @Override
+    @Transactional(readOnly = true)
     public Optional<TagDto> getTagById(Long id) {
         // 根据ID从数据库查找标签，并转换为DTO对象
         return tagRepository.findById(id).map(this::convertToDto);
@@ -58,6 +61,7 @@ public class TagServiceImpl implements TagService {
      * @return 包含标签信息的Optional对象
      */
     @Override
+    @Transactional(readOnly = true)
     public Optional<TagDto> getTagByName(String name) {
         // 根据名称从数据库查找标签，并转换为DTO对象
         return tagRepository.findByName(name).map(this::convertToDto);
@@ -71,6 +75,7 @@ public class TagServiceImpl implements TagService {
      * @throws ResourceNotFoundException 如果标签不存在
      */
     @Override
+    @Transactional
     public TagDto updateTag(Long id, TagDto tagDto) throws ResourceNotFoundException {
         // 根据ID查找标签，如果不存在则抛出异常
         Tag tag = tagRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Tag not found"));
@@ -88,6 +93,7 @@ public class TagServiceImpl implements TagService {
      * @param id 要删除的标签ID
      */
     @Override
+    @Transactional
     public void deleteTag(Long id) {
         // 根据ID删除标签
         tagRepository.deleteById(id);
@@ -99,6 +105,7 @@ public class TagServiceImpl implements TagService {
      * @return 分页的标签列表
      */
     @Override
+    @Transactional(readOnly = true)
     public Page<TagDto> getAllTags(Pageable pageable) {
         // 从数据库分页获取所有标签，并转换为DTO对象
         return tagRepository.findAll(pageable).map(this::convertToDto);
@@ -110,6 +117,7 @@ public class TagServiceImpl implements TagService {
      * @return 标签名称存在返回true，否则返回false
      */
     @Override
+    @Transactional(readOnly = true)
     public Boolean existsByName(String name) {
         // 检查数据库中是否存在指定名称的标签
         return tagRepository.existsByName(name);
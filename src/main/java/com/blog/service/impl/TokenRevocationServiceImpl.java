@@ -0,0 +1,217 @@
+package com.blog.service.impl;
+
+import com.blog.entity.RevokedToken;
+import com.blog.repository.RevokedTokenRepository;
+import com.blog.repository.UserRepository;
+import com.blog.service.TokenRevocationService;
+import com.blog.util.TimePartitionedBloomFilter;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 令牌吊销服务实现类
+ * 按用户吊销：在内存中记录吊销时间（秒），签发时间不晚于该时间的令牌视为失效；
+ * 超过令牌有效期的记录不再有意义，定期清理，因此内存占用只与有效期内被吊销的用户数有关。
+ * 应用内的删除用户操作同时把吊销记录写入revoked_tokens表（userId不为空），其他实例由定时任务加载；
+ * 直接修改数据库禁用的用户由定时任务按更新时间增量发现。
+ * 按令牌吊销（注销）：jti写入revoked_tokens表，并加入按过期时间分区的布隆过滤器；
+ * 每个请求先查过滤器，绝大多数令牌在这一步确定未被吊销，只有过滤器命中时才查表确认。
+ * 其他实例吊销的令牌由定时任务从表中增量加载。
+ */
+@Service
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationServiceImpl.class);
+
+    /** 按用户吊销记录的ID前缀，后接用户ID和吊销时间，不会与UUID格式的jti冲突 */
+    private static final String USER_REVOCATION_PREFIX = "user:";
+
+    /** 自动注入用户数据访问层 */
+    @Autowired
+    private UserRepository userRepository;
+
+    /** 自动注入吊销令牌数据访问层 */
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    /** JWT过期时间（秒） */
+    @Value("${jwt.expiration}")
+    private int jwtExpiration;
+
+    /** 检查被禁用用户和其他实例吊销的令牌的间隔（毫秒） */
+    @Value("${jwt.revocation.poll-interval-ms:10000}")
+    private long pollIntervalMs;
+
+    /** 接受的令牌最长有效期（秒），不小于jwt.expiration；覆盖调小jwt.expiration之前签发的令牌 */
+    @Value("${jwt.revocation.max-token-lifetime:86400}")
+    private long maxTokenLifetime;
+
+    /** 布隆过滤器每个分区的位数 */
+    @Value("${jwt.revocation.bloom-bits:65536}")
+    private int bloomBits;
+
+    /** 布隆过滤器每个元素使用的哈希函数个数 */
+    @Value("${jwt.revocation.bloom-hashes:4}")
+    private int bloomHashes;
+
+    /** 用户ID到吊销时间（纪元秒）的映射 */
+    private final Map<Long, Long> revokedAt = new ConcurrentHashMap<>();
+
+    /** 被吊销的jti，按令牌过期时间分区，分区长度为令牌有效期的四分之一 */
+    private TimePartitionedBloomFilter revokedTokens;
+
+    /** 上一次检查的时间，为null表示尚未检查 */
+    private volatile LocalDateTime lastPoll;
+
+    /** 过滤器覆盖的时间范围（毫秒） */
+    private long horizonMs;
+
+    public TokenRevocationServiceImpl() {
+    }
+
+    /**
+     * 不经过容器直接创建，不连接数据库，创建后需调用init
+     * @param jwtExpiration JWT过期时间（秒）
+     * @param maxTokenLifetime 接受的访问令牌最长有效期（秒）
+     * @param bloomBits 每个时间分区的位数
+     * @param bloomHashes 哈希函数个数
+     */
+    public TokenRevocationServiceImpl(int jwtExpiration, long maxTokenLifetime, int bloomBits, int bloomHashes) {
+        this.jwtExpiration = jwtExpiration;
+        this.maxTokenLifetime = maxTokenLifetime;
+        this.bloomBits = bloomBits;
+        this.bloomHashes = bloomHashes;
+    }
+
+    /**
+     * 按令牌有效期创建布隆过滤器，分区只在有令牌被吊销时才分配
+     */
+    @PostConstruct
+    public void init() {
+        horizonMs = Math.max(jwtExpiration, maxTokenLifetime) * 1000L;
+        revokedTokens = new TimePartitionedBloomFilter(Math.max(1000, jwtExpiration * 1000L / 4), horizonMs,
+                bloomBits, bloomHashes);
+    }
+
+    /**
+     * 吊销指定用户在此之前签发的全部令牌
+     * 令牌签发时间只精确到秒，与吊销同一秒内签发的令牌也会失效
+     * @param userId 用户ID
+     */
+    @Override
+    public void revokeUserTokens(Long userId) {
+        long now = System.currentTimeMillis() / 1000;
+        revokedAt.merge(userId, now, Math::max);
+        // 记录保留到此前签发的令牌全部过期为止
+        revokedTokenRepository.save(new RevokedToken(USER_REVOCATION_PREFIX + userId + ":" + now,
+                LocalDateTime.now().plusSeconds(horizonMs / 1000), userId, null));
+    }
+
+    /**
+     * 判断令牌是否已被吊销
+     * @param userId 令牌所属用户ID
+     * @param issuedAt 令牌签发时间，为null时视为已吊销
+     * @return 已吊销返回true
+     */
+    @Override
+    public boolean isRevoked(Long userId, Date issuedAt) {
+        Long revoked = revokedAt.get(userId);
+        if (revoked == null) {
+            return false;
+        }
+        return issuedAt == null || issuedAt.getTime() / 1000 <= revoked;
+    }
+
+    /**
+     * 吊销单个访问令牌，直到其过期
+     * @param jti 令牌ID
+     * @param expiresAt 令牌过期时间
+     */
+    @Override
+    public void revokeToken(String jti, Date expiresAt) {
+        if (jti == null || expiresAt == null || expiresAt.getTime() <= System.currentTimeMillis()) {
+            return;
+        }
+        if (!revokedTokenRepository.existsById(jti)) {
+            revokedTokenRepository.save(new RevokedToken(jti,
+                    LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault()), null, null));
+        }
+        if (withinHorizon(expiresAt)) {
+            revokedTokens.put(jti, expiresAt.getTime());
+        }
+    }
+
+    /**
+     * 判断访问令牌是否已被单独吊销
+     * 过滤器未命中时不访问数据库，也不分配对象
+     * @param jti 令牌ID，为null（早期签发的令牌）时返回false
+     * @param expiresAt 令牌过期时间
+     * @return 已吊销返回true；有效期超过jwt.revocation.max-token-lifetime的令牌无法被过滤器覆盖，同样返回true
+     */
+    @Override
+    public boolean isTokenRevoked(String jti, Date expiresAt) {
+        if (jti == null || expiresAt == null) {
+            return false;
+        }
+        if (!withinHorizon(expiresAt)) {
+            return true;
+        }
+        if (!revokedTokens.mightContain(jti, expiresAt.getTime())) {
+            return false;
+        }
+        return revokedTokenRepository.existsById(jti);
+    }
+
+    private boolean withinHorizon(Date expiresAt) {
+        return expiresAt.getTime() - System.currentTimeMillis() <= horizonMs;
+    }
+
+    /**
+     * 增量检查被禁用的用户和其他实例吊销的用户和令牌，同时清理已经过期的吊销记录
+     * 首次检查覆盖令牌的最长有效期；之后每次从上次检查时间往前多看一个间隔，
+     * 避免遗漏检查时尚未提交的修改
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.poll-interval-ms:10000}")
+    public void poll() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = lastPoll != null
+                ? lastPoll.minusNanos(pollIntervalMs * 1_000_000)
+                : now.minusNanos(horizonMs * 1_000_000);
+        List<Long> disabled = userRepository.findDisabledUserIdsUpdatedAfter(since);
+        for (Long userId : disabled) {
+            revokeUserTokens(userId);
+        }
+        if (!disabled.isEmpty()) {
+            logger.info("Revoked tokens of {} disabled users", disabled.size());
+        }
+        for (RevokedToken token : revokedTokenRepository.findRevokedSince(since, now)) {
+            if (token.getUserId() != null) {
+                long revoked = token.getCreateTime().atZone(ZoneId.systemDefault()).toEpochSecond();
+                revokedAt.merge(token.getUserId(), revoked, Math::max);
+                continue;
+            }
+            Date expiresAt = Date.from(token.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant());
+            if (withinHorizon(expiresAt)) {
+                revokedTokens.put(token.getJti(), expiresAt.getTime());
+            }
+        }
+        lastPoll = now;
+
+        revokedTokens.expire(System.currentTimeMillis());
+        revokedTokenRepository.deleteExpired(now);
+        long expiredBefore = (System.currentTimeMillis() - horizonMs) / 1000;
+        revokedAt.values().removeIf(revoked -> revoked < expiredBefore);
+    }
+}
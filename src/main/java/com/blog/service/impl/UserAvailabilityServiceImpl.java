@@ -0,0 +1,226 @@
+package com.blog.service.impl;
+
+import com.blog.repository.UserRepository;
+import com.blog.service.UserAvailabilityService;
+import com.blog.util.CountingBloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * 用户名和邮箱过滤器实现类
+ * 用户名和邮箱各一个计数布隆过滤器，应用启动完成后从数据库分批构建。
+ * 本实例创建和删除用户时直接更新；其他实例或直接写库创建的用户由定时任务按创建时间增量加入。
+ * 计数器只在确实加入过的元素上递减，重复加入只会让结果偏向“可能存在”，
+ * 定期全量重建消除删除和重复加入留下的计数。
+ */
+@Service
+public class UserAvailabilityServiceImpl implements UserAvailabilityService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserAvailabilityServiceImpl.class);
+
+    private static final int BATCH_SIZE = 10000;
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    /** 自动注入用户数据访问层 */
+    @Autowired
+    private UserRepository userRepository;
+
+    /** 预期用户数，过滤器按此分配空间 */
+    @Value("${blog.user-filter.expected-users:100000}")
+    private long expectedUsers;
+
+    /** 预期误判率 */
+    @Value("${blog.user-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    /** 增量加入新用户的间隔（毫秒） */
+    @Value("${blog.user-filter.poll-interval-ms:10000}")
+    private long pollIntervalMs;
+
+    /** 当前过滤器，构建完成前为null */
+    private volatile Filters filters;
+
+    /** 上一次增量检查的时间 */
+    private volatile LocalDateTime lastPoll;
+
+    /** 保证同一时刻只有一个线程在构建或增量检查 */
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    @Override
+    public boolean mightExistUsername(String username) {
+        Filters current = filters;
+        return current == null || username == null || current.usernames.mightContain(normalize(username));
+    }
+
+    @Override
+    public boolean mightExistEmail(String email) {
+        Filters current = filters;
+        return current == null || email == null || current.emails.mightContain(normalize(email));
+    }
+
+    @Override
+    public void userCreated(String username, String email) {
+        Filters current = filters;
+        if (current != null) {
+            current.add(username, email);
+        }
+    }
+
+    @Override
+    public void userDeleted(String username, String email) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // 事务回滚时用户仍然存在，不能提前从过滤器中删除
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(username, email);
+                }
+            });
+        } else {
+            remove(username, email);
+        }
+    }
+
+    private void remove(String username, String email) {
+        Filters current = filters;
+        if (current != null) {
+            current.remove(username, email);
+        }
+    }
+
+    /**
+     * 应用启动完成后构建过滤器，构建期间的查询都回退到数据库
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    /**
+     * 全量重建：按ID顺序分批读取用户名和邮箱，构建完成后整体替换
+     * 构建期间创建的用户随后由增量检查补上
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${blog.user-filter.rebuild-interval-ms:3600000}",
+            initialDelayString = "${blog.user-filter.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        refreshLock.lock();
+        try {
+            LocalDateTime started = LocalDateTime.now();
+            Filters rebuilt = new Filters(expectedUsers, falsePositiveRate);
+            long count = 0;
+            long afterId = 0;
+            while (true) {
+                List<Object[]> rows = userRepository.findUsernamesAndEmailsAfterId(afterId, PageRequest.of(0, BATCH_SIZE));
+                for (Object[] row : rows) {
+                    rebuilt.add((String) row[1], (String) row[2]);
+                }
+                count += rows.size();
+                if (rows.size() < BATCH_SIZE) {
+                    break;
+                }
+                afterId = (Long) rows.get(rows.size() - 1)[0];
+            }
+            if (count > expectedUsers) {
+                logger.warn("User count {} exceeds blog.user-filter.expected-users {}, false positive rate will rise",
+                        count, expectedUsers);
+            }
+            filters = rebuilt;
+            lastPoll = started;
+            pollNewUsers();
+            logger.info("Built username and email filters for {} users", count);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * 增量加入上次检查以来创建的用户，往前多看一个间隔，避免遗漏检查时尚未提交的用户
+     */
+    @Scheduled(fixedDelayString = "${blog.user-filter.poll-interval-ms:10000}")
+    public void poll() {
+        if (filters == null) {
+            return;
+        }
+        refreshLock.lock();
+        try {
+            pollNewUsers();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void pollNewUsers() {
+        LocalDateTime now = LocalDateTime.now();
+        Filters current = filters;
+        for (Object[] row : userRepository.findUsernamesAndEmailsCreatedAfter(lastPoll.minusNanos(pollIntervalMs * 1_000_000))) {
+            current.add((String) row[0], (String) row[1]);
+        }
+        lastPoll = now;
+    }
+
+    /**
+     * 规范化为数据库比较时视为相同的形式：MySQL默认排序规则不区分大小写和重音，并忽略末尾空格。
+     * 规范化只会让不同的值落到同一个键上，结果偏向“可能存在”，不会产生错误的“一定不存在”
+     */
+    static String normalize(String value) {
+        String stripped = value.stripTrailing().toLowerCase(Locale.ROOT);
+        for (int i = 0; i < stripped.length(); i++) {
+            if (stripped.charAt(i) >= 0x80) {
+                return COMBINING_MARKS.matcher(Normalizer.normalize(stripped, Normalizer.Form.NFD)).replaceAll("");
+            }
+        }
+        return stripped;
+    }
+
+    /**
+     * 用户名和邮箱的过滤器，重建时整体替换
+     */
+    private static final class Filters {
+
+        private final CountingBloomFilter usernames;
+
+        private final CountingBloomFilter emails;
+
+        private Filters(long expectedUsers, double falsePositiveRate) {
+            this.usernames = CountingBloomFilter.create(expectedUsers, falsePositiveRate);
+            this.emails = CountingBloomFilter.create(expectedUsers, falsePositiveRate);
+        }
+
+        private void add(String username, String email) {
+            if (username != null) {
+                usernames.add(normalize(username));
+            }
+            if (email != null) {
+                emails.add(normalize(email));
+            }
+        }
+
+        private void remove(String username, String email) {
+            // 跳过判定为一定不存在的值（其他实例创建后尚未增量加入的用户），避免误减其他元素的计数
+            if (username != null && usernames.mightContain(normalize(username))) {
+                usernames.remove(normalize(username));
+            }
+            if (email != null && emails.mightContain(normalize(email))) {
+                emails.remove(normalize(email));
+            }
+        }
+    }
+}
@@ -1,18 +1,30 @@
 package com.blog.service.impl;
 
+import com.blog.dto.CursorPageDto;
 import com.blog.dto.UserDto;
+import com.blog.dto.UserSummaryDto;
 import com.blog.entity.User;
 import com.blog.repository.UserRepository;
 import com.blog.exception.ResourceNotFoundException;
+import com.blog.service.AuthorStatsService;
+import com.blog.service.RefreshTokenService;
+import com.blog.service.TokenRevocationService;
+import com.blog.service.UserAvailabilityService;
 import com.blog.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -23,6 +35,9 @@ import java.util.stream.Collectors;
 @Service
 public class UserServiceImpl implements UserService {
     
+    /** 用户目录每页的最大条数 */
+    private static final int MAX_DIRECTORY_SIZE = 100;
+    
     /** 自动注入用户数据访问层 */
     @Autowired
     private UserRepository userRepository;
@@ -31,12 +46,29 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    /** 自动注入令牌吊销服务，删除用户后其令牌立即失效 */
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    
+    /** 自动注入刷新令牌服务，删除用户时清理其刷新令牌 */
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+    
+    /** 自动注入用户名和邮箱过滤器，检查占用情况时先排除一定不存在的值 */
+    @Autowired
+    private UserAvailabilityService userAvailabilityService;
+    
+    /** 自动注入作者统计服务，创建和删除用户时维护其统计记录 */
+    @Autowired
+    private AuthorStatsService authorStatsService;
+    
     /**
      * 创建新用户
      * @param userDto 包含用户信息的数据传输对象
      * @return 创建成功的用户信息
      */
     @Override
+    @Transactional
     public UserDto createUser(UserDto userDto) {
         // 创建用户实体对象
         User user = new User();
@@ -47,8 +79,10 @@ public class UserServiceImpl implements UserService {
         // 对用户密码进行加密处理
         user.setPassword(passwordEncoder.encode(userDto.getPassword()));
         
-        // 保存用户信息到数据库
+        // 保存用户信息到数据库，用户名或邮箱重复时由唯一约束抛出DataIntegrityViolationException
         User savedUser = userRepository.save(user);
+        userAvailabilityService.userCreated(savedUser.getUsername(), savedUser.getEmail());
+        authorStatsService.authorCreated(savedUser.getId());
         // 转换为DTO对象并返回
         return convertToDto(savedUser);
     }
@@ -59,6 +93,7 @@ public class UserServiceImpl implements UserService {
      * @return 包含用户信息的Optional对象
      */
     @Override
+    @Transactional(readOnly = true)
     public Optional<UserDto> getUserById(Long id) {
         // 根据ID从数据库查找用户，并转换为DTO对象
         return userRepository.findById(id).map(this::convertToDto);
@@ -70,6 +105,7 @@ public class UserServiceImpl implements UserService {
      * @return 包含用户信息的Optional对象
      */
     @Override
+    @Transactional(readOnly = true)
     public Optional<UserDto> getUserByUsername(String username) {
         // 根据用户名从数据库查找用户，并转换为DTO对象
         return userRepository.findByUsername(username).map(this::convertToDto);
@@ -83,6 +119,7 @@ public class UserServiceImpl implements UserService {
      * @throws ResourceNotFoundException 如果用户不存在
      */
     @Override
+    @Transactional
     public UserDto updateUser(Long id, UserDto userDto) throws ResourceNotFoundException {
         // 根据ID查找用户，如果不存在则抛出异常
         User user = userRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("User not found"));
@@ -96,25 +133,102 @@ public class UserServiceImpl implements UserService {
         return convertToDto(updatedUser);
     }
     
+    /**
+     * 更新用户头像，只修改头像字段
+     * @param id 用户ID
+     * @param avatar 头像地址
+     * @return 更新后的用户信息
+     * @throws ResourceNotFoundException 如果用户不存在
+     */
+    @Override
+    @Transactional
+    public UserDto updateAvatar(Long id, String avatar) throws ResourceNotFoundException {
+        User user = userRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        user.setAvatar(avatar);
+        return convertToDto(userRepository.save(user));
+    }
+    
     /**
      * 删除指定ID的用户
      * @param id 要删除的用户ID
      */
     @Override
+    @Transactional
     public void deleteUser(Long id) {
-        // 根据ID删除用户
-        userRepository.deleteById(id);
+        // 根据ID删除用户，并吊销其已签发的令牌
+        userRepository.findById(id).ifPresent(user -> {
+            userRepository.delete(user);
+            userAvailabilityService.userDeleted(user.getUsername(), user.getEmail());
+            authorStatsService.authorDeleted(id);
+        });
+        tokenRevocationService.revokeUserTokens(id);
+        refreshTokenService.revokeAll(id);
     }
     
     /**
-     * 分页获取所有用户
-     * @param pageable 分页信息
-     * @return 分页的用户列表
+     * 按游标分页获取用户目录
+     * 游标记录上一页最后一个用户的位置，按ID为"ID"，按注册时间为"注册时间_ID"，Base64编码后返回；
+     * 查询从该位置沿索引继续读取，只多取一条判断是否还有下一页，不执行COUNT
+     * @param sort 排序方式：id或createTime
+     * @param cursor 上一页返回的游标，第一页传null
+     * @param size 每页大小，超过上限时按上限处理
+     * @return 用户公开资料的一页
      */
     @Override
-    public Page<UserDto> getAllUsers(Pageable pageable) {
-        // 从数据库分页获取所有用户，并转换为DTO对象
-        return userRepository.findAll(pageable).map(this::convertToDto);
+    @Transactional(readOnly = true)
+    public CursorPageDto<UserSummaryDto> getAllUsers(String sort, String cursor, int size) {
+        Pageable limit = PageRequest.of(0, Math.max(1, Math.min(size, MAX_DIRECTORY_SIZE)));
+        String position = cursor == null || cursor.isEmpty() ? null : decodeCursor(cursor);
+        Slice<UserSummaryDto> slice;
+        if ("id".equals(sort)) {
+            slice = userRepository.findDirectoryAfterId(position == null ? 0L : parseId(position), limit);
+        } else if ("createTime".equals(sort)) {
+            if (position == null) {
+                slice = userRepository.findDirectoryNewest(limit);
+            } else {
+                int separator = position.lastIndexOf('_');
+                if (separator < 0) {
+                    throw new IllegalArgumentException("无效的游标");
+                }
+                LocalDateTime createTime;
+                try {
+                    createTime = LocalDateTime.parse(position.substring(0, separator));
+                } catch (DateTimeParseException e) {
+                    throw new IllegalArgumentException("无效的游标");
+                }
+                slice = userRepository.findDirectoryCreatedBefore(createTime, parseId(position.substring(separator + 1)), limit);
+            }
+        } else {
+            throw new IllegalArgumentException("不支持的排序方式: " + sort);
+        }
+        
+        List<UserSummaryDto> content = slice.getContent();
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            UserSummaryDto last = content.get(content.size() - 1);
+            nextCursor = encodeCursor("id".equals(sort) ? String.valueOf(last.getId()) : last.getCreateTime() + "_" + last.getId());
+        }
+        return new CursorPageDto<>(content, nextCursor, slice.hasNext());
+    }
+    
+    private static String encodeCursor(String position) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static String decodeCursor(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("无效的游标");
+        }
+    }
+    
+    private static long parseId(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("无效的游标");
+        }
     }
     
     /**
@@ -123,8 +237,12 @@ public class UserServiceImpl implements UserService {
      * @return 用户名存在返回true，否则返回false
      */
     @Override
+    @Transactional(readOnly = true)
     public Boolean existsByUsername(String username) {
-        // 检查数据库中是否存在指定用户名
+        // 过滤器判定一定不存在时直接返回，否则查询数据库确认
+        if (!userAvailabilityService.mightExistUsername(username)) {
+            return false;
+        }
         return userRepository.existsByUsername(username);
     }
     
@@ -134,8 +252,12 @@ public class UserServiceImpl implements UserService {
      * @return 邮箱存在返回true，否则返回false
      */
     @Override
+    @Transactional(readOnly = true)
     public Boolean existsByEmail(String email) {
-        // 检查数据库中是否存在指定邮箱
+        // 过滤器判定一定不存在时直接返回，否则查询数据库确认
+        if (!userAvailabilityService.mightExistEmail(email)) {
+            return false;
+        }
         return userRepository.existsByEmail(email);
     }
     
@@ -0,0 +1,37 @@
+package com.blog.util;
+
+/**
+ * 布隆过滤器共用的哈希函数
+ * 第i个位置取h1 + i * h2（双重哈希），只需计算一次字符串哈希
+ */
+final class BloomHashing {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private BloomHashing() {
+    }
+
+    /**
+     * FNV-1a哈希，直接遍历字符，不分配字节数组
+     */
+    static long hash(String value) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * 由第一个哈希派生第二个哈希（SplitMix64终结函数），保证为奇数
+     */
+    static long mix(long hash) {
+        long z = hash + 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return (z ^ (z >>> 31)) | 1;
+    }
+}
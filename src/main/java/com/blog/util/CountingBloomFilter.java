@@ -0,0 +1,109 @@
+package com.blog.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 支持删除的计数布隆过滤器
+ * 每个位置是一个4位计数器，16个计数器压缩在一个long中，用CAS增减，读写都不加锁。
+ * 计数器达到15后不再变化，避免溢出后被错误减到0；因此只有删除确实加入过的元素，
+ * 查询结果为false时元素才一定不在集合中。
+ */
+public final class CountingBloomFilter {
+
+    private static final int MAX_COUNT = 15;
+
+    /** 计数器个数，取2的幂以便用掩码取模 */
+    private final int counters;
+
+    private final int hashes;
+
+    private final AtomicLongArray words;
+
+    /**
+     * @param counters 计数器个数，向上取整为2的幂
+     * @param hashes 每个元素使用的哈希函数个数
+     */
+    public CountingBloomFilter(int counters, int hashes) {
+        if (counters <= 0 || hashes <= 0) {
+            throw new IllegalArgumentException("Bloom filter sizes must be positive");
+        }
+        this.counters = Math.max(16, Integer.highestOneBit(counters - 1) << 1);
+        this.hashes = hashes;
+        this.words = new AtomicLongArray(this.counters >>> 4);
+    }
+
+    /**
+     * 按预期元素个数和误判率创建过滤器
+     * @param expectedInsertions 预期元素个数
+     * @param falsePositiveRate 预期误判率
+     * @return 计数布隆过滤器
+     */
+    public static CountingBloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        double ln2 = Math.log(2);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (ln2 * ln2));
+        int k = (int) Math.max(1, Math.round((double) m / n * ln2));
+        return new CountingBloomFilter((int) Math.min(m, 1 << 30), k);
+    }
+
+    /**
+     * 加入元素
+     * @param value 元素
+     */
+    public void add(String value) {
+        long h1 = BloomHashing.hash(value);
+        long h2 = BloomHashing.mix(h1);
+        for (int i = 0; i < hashes; i++) {
+            update((int) ((h1 + i * h2) & (counters - 1)), 1);
+        }
+    }
+
+    /**
+     * 删除元素，调用方需保证元素确实加入过
+     * @param value 元素
+     */
+    public void remove(String value) {
+        long h1 = BloomHashing.hash(value);
+        long h2 = BloomHashing.mix(h1);
+        for (int i = 0; i < hashes; i++) {
+            update((int) ((h1 + i * h2) & (counters - 1)), -1);
+        }
+    }
+
+    /**
+     * 判断元素是否可能在集合中
+     * @param value 元素
+     * @return false表示一定不在集合中，true表示可能在集合中
+     */
+    public boolean mightContain(String value) {
+        long h1 = BloomHashing.hash(value);
+        long h2 = BloomHashing.mix(h1);
+        for (int i = 0; i < hashes; i++) {
+            int counter = (int) ((h1 + i * h2) & (counters - 1));
+            if (count(words.get(counter >>> 4), counter) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void update(int counter, int delta) {
+        int word = counter >>> 4;
+        int shift = (counter & 15) << 2;
+        while (true) {
+            long current = words.get(word);
+            int count = count(current, counter);
+            if (count == MAX_COUNT || (delta < 0 && count == 0)) {
+                return;
+            }
+            long next = current + ((long) delta << shift);
+            if (words.compareAndSet(word, current, next)) {
+                return;
+            }
+        }
+    }
+
+    private static int count(long word, int counter) {
+        return (int) ((word >>> ((counter & 15) << 2)) & MAX_COUNT);
+    }
+}
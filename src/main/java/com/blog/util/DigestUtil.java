@@ -0,0 +1,30 @@
+package com.blog.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * 摘要工具类
+ * 令牌只以摘要的形式保存或用作缓存键，不保留原文
+ */
+public final class DigestUtil {
+
+    private DigestUtil() {
+    }
+
+    /**
+     * 计算字符串的SHA-256摘要
+     * @param value 字符串
+     * @return Base64编码的摘要
+     */
+    public static String sha256(String value) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
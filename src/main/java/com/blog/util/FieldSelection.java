@@ -0,0 +1,90 @@
+package com.blog.util;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 稀疏字段集
+ * 解析请求参数fields（如"id,title,author.nickname"），判断某个属性路径是否需要返回。
+ * 请求了"author"表示返回作者的全部字段，请求了"author.nickname"表示只返回作者的昵称。
+ */
+public final class FieldSelection {
+
+    private static final FieldSelection ALL = new FieldSelection(Collections.emptySet());
+
+    /** 请求的属性路径，为空表示返回全部字段 */
+    private final Set<String> paths;
+
+    private FieldSelection(Set<String> paths) {
+        this.paths = paths;
+    }
+
+    /**
+     * 返回全部字段的字段集
+     * @return 字段集
+     */
+    public static FieldSelection all() {
+        return ALL;
+    }
+
+    /**
+     * 解析fields参数
+     * @param spec 逗号分隔的属性路径，为空时返回全部字段
+     * @return 字段集
+     */
+    public static FieldSelection parse(String spec) {
+        if (spec == null || spec.isBlank()) {
+            return ALL;
+        }
+        Set<String> paths = new LinkedHashSet<>();
+        for (String path : spec.split(",")) {
+            String trimmed = path.trim();
+            if (!trimmed.isEmpty()) {
+                paths.add(trimmed);
+            }
+        }
+        return paths.isEmpty() ? ALL : new FieldSelection(Collections.unmodifiableSet(paths));
+    }
+
+    /**
+     * 是否返回全部字段
+     * @return 未指定fields时返回true
+     */
+    public boolean isAll() {
+        return paths.isEmpty();
+    }
+
+    /**
+     * 判断属性路径是否需要返回
+     * 路径本身被请求、它的某个上级被完整请求、或它的某个下级被请求时返回true
+     * @param path 以点号分隔的属性路径，如"author.nickname"
+     * @return 需要返回时为true
+     */
+    public boolean includes(String path) {
+        if (paths.isEmpty() || paths.contains(path)) {
+            return true;
+        }
+        // 上级被完整请求，如请求"author"时包含"author.nickname"
+        int dot = path.lastIndexOf('.');
+        while (dot > 0) {
+            if (paths.contains(path.substring(0, dot))) {
+                return true;
+            }
+            dot = path.lastIndexOf('.', dot - 1);
+        }
+        // 下级被请求，如请求"author.nickname"时需要输出"author"对象本身
+        String prefix = path + ".";
+        for (String requested : paths) {
+            if (requested.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return isAll() ? "*" : String.join(",", paths);
+    }
+}
@@ -0,0 +1,206 @@
+package com.blog.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * 把磁盘文件写入HTTP响应，支持条件请求和单区间的Range请求
+ * 容器支持sendfile（Tomcat的NIO连接器默认开启）时只设置请求属性，由容器在请求处理结束后
+ * 通过sendfile把文件从页缓存直接发送到套接字，文件内容不经过JVM堆；
+ * 不支持sendfile或文件较小时按位置分块读入固定大小的堆缓冲区再写入响应流
+ */
+public final class FileResponseWriter {
+
+    /** 容器支持sendfile时为true */
+    public static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+
+    /** 要发送的文件的绝对路径 */
+    public static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+
+    /** 发送区间的起始位置（含） */
+    public static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+
+    /** 发送区间的结束位置（不含） */
+    public static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    /** 小于此大小的内容直接写入响应，省去sendfile的额外调度（与Tomcat DefaultServlet的默认值相同） */
+    private static final long SENDFILE_THRESHOLD = 48 * 1024;
+
+    /** 不支持sendfile时的复制缓冲区大小 */
+    private static final int COPY_BUFFER_SIZE = 16 * 1024;
+
+    /** Range头无法满足时的标记 */
+    private static final long[] UNSATISFIABLE = new long[0];
+
+    private FileResponseWriter() {
+    }
+
+    /**
+     * 写入文件
+     * @param request 请求
+     * @param response 响应
+     * @param file 文件
+     * @param contentType 内容类型
+     * @param cacheControl Cache-Control响应头
+     * @throws IOException 读取文件或写入响应失败
+     */
+    public static void write(HttpServletRequest request, HttpServletResponse response, Path file,
+                             String contentType, String cacheControl) throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        long length = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        // 文件只会被整体原子替换，修改时间和大小足以区分内容，可作为强校验的ETag
+        String etag = "\"" + Long.toHexString(lastModified) + "-" + Long.toHexString(length) + "\"";
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (notModified(request, etag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long start = 0;
+        long end = length;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && ifRangeMatches(request, etag, lastModified)) {
+            long[] bounds = parseRange(range, length);
+            if (bounds == UNSATISFIABLE) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (bounds != null) {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + length);
+            }
+        }
+
+        response.setContentType(contentType);
+        response.setContentLengthLong(end - start);
+        if ("HEAD".equals(request.getMethod()) || start == end) {
+            return;
+        }
+        if (end - start >= SENDFILE_THRESHOLD && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end);
+            return;
+        }
+        // 响应流不是通道，FileChannel.transferTo只能退化为经直接缓冲区再复制到堆的两次复制；
+        // 按位置读入一个堆缓冲区再写出只复制一次，且不需要先跳过区间前的内容
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            OutputStream output = response.getOutputStream();
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(COPY_BUFFER_SIZE, end - start));
+            long position = start;
+            while (position < end) {
+                buffer.clear().limit((int) Math.min(buffer.capacity(), end - position));
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    break;
+                }
+                output.write(buffer.array(), 0, read);
+                position += read;
+            }
+        }
+    }
+
+    /**
+     * 判断客户端缓存的版本是否仍然有效；If-None-Match优先于If-Modified-Since
+     */
+    private static boolean notModified(HttpServletRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if ("*".equals(tag) || etag.equals(tag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        long ifModifiedSince = dateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+        return ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+
+    /**
+     * If-Range与当前版本一致时才按Range返回部分内容，否则返回完整内容
+     */
+    private static boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return etag.equals(ifRange.trim());
+        }
+        long date = dateHeader(request, HttpHeaders.IF_RANGE);
+        return date >= 0 && lastModified / 1000 == date / 1000;
+    }
+
+    /**
+     * 解析单个字节区间；多区间请求按完整内容返回
+     * @return [起始位置, 结束位置（不含）]，格式不合法时为null，无法满足时为UNSATISFIABLE
+     */
+    private static long[] parseRange(String range, long length) {
+        if (!range.startsWith("bytes=") || range.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = range.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            if (dash == 0) {
+                long suffix = Long.parseLong(spec.substring(1));
+                if (suffix <= 0) {
+                    return UNSATISFIABLE;
+                }
+                return new long[]{Math.max(0, length - suffix), length};
+            }
+            long first = Long.parseLong(spec.substring(0, dash));
+            long last = dash == spec.length() - 1 ? Long.MAX_VALUE : Long.parseLong(spec.substring(dash + 1));
+            if (first < 0 || last < first) {
+                return null;
+            }
+            if (first >= length) {
+                return UNSATISFIABLE;
+            }
+            return new long[]{first, Math.min(last, length - 1) + 1};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static long dateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.blog.util;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 图片格式识别和缩放
+ * 只读取文件头判断格式和尺寸；缩放时按最大尺寸下采样解码一次，再依次缩小得到各尺寸，
+ * 大图解码占用的内存与目标尺寸而不是原图尺寸成正比
+ */
+public final class ImageResizer {
+
+    /** 允许上传的格式（ImageIO的格式名） */
+    private static final Set<String> SUPPORTED_FORMATS = Set.of("jpeg", "png", "gif");
+
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private ImageResizer() {
+    }
+
+    /**
+     * 图片的基本信息
+     * @param format 格式名：jpeg、png或gif
+     * @param width 宽度（像素）
+     * @param height 高度（像素）
+     * @param alpha 是否带透明通道，带透明通道的图片缩放后保存为PNG，否则保存为JPEG
+     */
+    public record ImageInfo(String format, int width, int height, boolean alpha) {
+
+        /**
+         * @return 缩放后图片的扩展名
+         */
+        public String variantExtension() {
+            return alpha ? "png" : "jpg";
+        }
+
+        /**
+         * @return 原图的扩展名
+         */
+        public String originalExtension() {
+            return "jpeg".equals(format) ? "jpg" : format;
+        }
+    }
+
+    /**
+     * 识别图片格式和尺寸，不解码像素
+     * @param file 图片文件
+     * @return 图片信息
+     * @throws IllegalArgumentException 不是支持的图片格式
+     * @throws IOException 读取失败
+     */
+    public static ImageInfo probe(Path file) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            ImageReader reader = readerFor(input);
+            try {
+                String format = reader.getFormatName().toLowerCase(Locale.ROOT);
+                if (!SUPPORTED_FORMATS.contains(format)) {
+                    throw new IllegalArgumentException("不支持的图片格式: " + format);
+                }
+                Iterator<ImageTypeSpecifier> types = reader.getImageTypes(0);
+                boolean alpha = types.hasNext() && types.next().getColorModel().hasAlpha();
+                return new ImageInfo(format, reader.getWidth(0), reader.getHeight(0), alpha);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * 生成各尺寸的图片，已存在的尺寸跳过；每个文件先写入临时文件再原子替换，读取方不会看到写了一半的图片
+     * @param original 原图
+     * @param info 原图信息
+     * @param variants 尺寸名到最长边的映射
+     * @param directory 输出目录，文件名为"尺寸名.扩展名"
+     * @throws IOException 读取或写入失败
+     */
+    public static void writeVariants(Path original, ImageInfo info, Map<String, Integer> variants, Path directory)
+            throws IOException {
+        int largest = 0;
+        for (Map.Entry<String, Integer> variant : variants.entrySet()) {
+            if (!Files.exists(directory.resolve(variant.getKey() + "." + info.variantExtension()))) {
+                largest = Math.max(largest, variant.getValue());
+            }
+        }
+        if (largest == 0) {
+            return;
+        }
+        BufferedImage source = decode(original, info, largest);
+        for (Map.Entry<String, Integer> variant : variants.entrySet()) {
+            Path target = directory.resolve(variant.getKey() + "." + info.variantExtension());
+            if (Files.exists(target)) {
+                continue;
+            }
+            BufferedImage scaled = scale(source, variant.getValue(), info.alpha());
+            Path temp = Files.createTempFile(directory, "." + variant.getKey(), ".tmp");
+            try {
+                write(scaled, info.variantExtension(), temp);
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    /**
+     * 解码原图，原图远大于目标尺寸时按整数倍下采样，只保留所需的像素
+     */
+    private static BufferedImage decode(Path original, ImageInfo info, int maxSide) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(original.toFile())) {
+            ImageReader reader = readerFor(input);
+            try {
+                ImageReadParam param = reader.getDefaultReadParam();
+                // 下采样后仍保留目标尺寸的两倍，再平滑缩小，避免锯齿
+                int subsampling = Math.max(1, Math.max(info.width(), info.height()) / (maxSide * 2));
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * 按最长边等比缩小，每次最多缩小一半，兼顾速度和质量；不放大
+     */
+    private static BufferedImage scale(BufferedImage source, int maxSide, boolean alpha) {
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        double ratio = Math.min(1.0, (double) maxSide / Math.max(source.getWidth(), source.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+        BufferedImage current = source;
+        do {
+            int width = Math.max(targetWidth, current.getWidth() / 2);
+            int height = Math.max(targetHeight, current.getHeight() / 2);
+            BufferedImage next = new BufferedImage(width, height, type);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                if (!alpha) {
+                    // JPEG没有透明通道，透明区域填充为白色
+                    graphics.setColor(Color.WHITE);
+                    graphics.fillRect(0, 0, width, height);
+                }
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (current.getWidth() != targetWidth || current.getHeight() != targetHeight);
+        return current;
+    }
+
+    private static void write(BufferedImage image, String extension, Path target) throws IOException {
+        if ("png".equals(extension)) {
+            if (!ImageIO.write(image, "png", target.toFile())) {
+                throw new IOException("No PNG writer available");
+            }
+            return;
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private static ImageReader readerFor(ImageInputStream input) {
+        if (input == null) {
+            throw new IllegalArgumentException("无法读取图片");
+        }
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+        if (!readers.hasNext()) {
+            throw new IllegalArgumentException("不支持的图片格式");
+        }
+        ImageReader reader = readers.next();
+        reader.setInput(input, true, true);
+        return reader;
+    }
+}
@@ -22,6 +22,13 @@ public class ResponseUtil {
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
     
+    public static ResponseEntity<Object> buildErrorResponse(String message, HttpStatus status) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("error", message);
+        return new ResponseEntity<>(response, status);
+    }
+    
     public static ResponseEntity<Object> buildNotFoundResponse(String message) {
         Map<String, Object> response = new HashMap<>();
         response.put("success", false);
@@ -0,0 +1,140 @@
+package com.blog.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 按过期时间分区的布隆过滤器
+ * 每个元素带有过期时间，按过期时间落入固定长度的时间分区；查询时只检查元素所在的分区。
+ * 分区保存在环形数组中，分区过期后其槽位被新分区复用，过期元素无需逐个删除，内存占用固定。
+ * 查询不分配对象：直接遍历字符串字符计算哈希，按位检查；结果为false时元素一定不在集合中，
+ * 为true时可能是误判，调用方需要再精确确认。
+ */
+public final class TimePartitionedBloomFilter {
+
+    /** 每个分区覆盖的时间长度（毫秒） */
+    private final long partitionMillis;
+
+    /** 每个分区的位数，取2的幂以便用掩码取模 */
+    private final int bits;
+
+    private final int hashes;
+
+    private final AtomicReferenceArray<Partition> ring;
+
+    /**
+     * @param partitionMillis 每个分区覆盖的时间长度（毫秒）
+     * @param maxLifetimeMillis 元素从加入到过期的最长时间（毫秒），决定同时存活的分区数
+     * @param bitsPerPartition 每个分区的位数，向上取整为2的幂
+     * @param hashes 每个元素使用的哈希函数个数
+     */
+    public TimePartitionedBloomFilter(long partitionMillis, long maxLifetimeMillis, int bitsPerPartition, int hashes) {
+        if (partitionMillis <= 0 || maxLifetimeMillis <= 0 || bitsPerPartition <= 0 || hashes <= 0) {
+            throw new IllegalArgumentException("Bloom filter sizes must be positive");
+        }
+        this.partitionMillis = partitionMillis;
+        this.bits = Math.max(64, Integer.highestOneBit(bitsPerPartition - 1) << 1);
+        this.hashes = hashes;
+        // 当前分区之后最多还有maxLifetime/partition个分区会收到元素，再留一个槽位给即将过期的分区
+        this.ring = new AtomicReferenceArray<>((int) ((maxLifetimeMillis + partitionMillis - 1) / partitionMillis) + 2);
+    }
+
+    /**
+     * 加入元素
+     * @param value 元素
+     * @param expiresAtMillis 元素的过期时间（纪元毫秒）
+     */
+    public void put(String value, long expiresAtMillis) {
+        Partition partition = partitionFor(expiresAtMillis / partitionMillis);
+        long h1 = BloomHashing.hash(value);
+        long h2 = BloomHashing.mix(h1);
+        for (int i = 0; i < hashes; i++) {
+            int bit = (int) ((h1 + i * h2) & (bits - 1));
+            partition.set(bit);
+        }
+    }
+
+    /**
+     * 判断元素是否可能在集合中
+     * @param value 元素
+     * @param expiresAtMillis 元素的过期时间（纪元毫秒）
+     * @return false表示一定不在集合中，true表示可能在集合中
+     */
+    public boolean mightContain(String value, long expiresAtMillis) {
+        long index = expiresAtMillis / partitionMillis;
+        Partition partition = ring.get(slot(index));
+        if (partition == null || partition.index != index) {
+            return false;
+        }
+        long h1 = BloomHashing.hash(value);
+        long h2 = BloomHashing.mix(h1);
+        for (int i = 0; i < hashes; i++) {
+            int bit = (int) ((h1 + i * h2) & (bits - 1));
+            if (!partition.get(bit)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 释放已经过期的分区
+     * @param nowMillis 当前时间（纪元毫秒）
+     */
+    public void expire(long nowMillis) {
+        long current = nowMillis / partitionMillis;
+        for (int i = 0; i < ring.length(); i++) {
+            Partition partition = ring.get(i);
+            if (partition != null && partition.index < current) {
+                ring.compareAndSet(i, partition, null);
+            }
+        }
+    }
+
+    private Partition partitionFor(long index) {
+        int slot = slot(index);
+        while (true) {
+            Partition existing = ring.get(slot);
+            if (existing != null && existing.index == index) {
+                return existing;
+            }
+            if (existing != null && existing.index > index) {
+                // 元素的过期时间早于槽位中的分区，说明它已经过期，没有必要再记录
+                return new Partition(index, bits);
+            }
+            Partition created = new Partition(index, bits);
+            if (ring.compareAndSet(slot, existing, created)) {
+                return created;
+            }
+        }
+    }
+
+    private int slot(long index) {
+        return (int) Math.floorMod(index, (long) ring.length());
+    }
+
+    private static final class Partition {
+
+        private final long index;
+
+        private final AtomicLongArray words;
+
+        private Partition(long index, int bits) {
+            this.index = index;
+            this.words = new AtomicLongArray(bits >>> 6);
+        }
+
+        private void set(int bit) {
+            long mask = 1L << bit;
+            int word = bit >>> 6;
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+
+        private boolean get(int bit) {
+            return (words.get(bit >>> 6) & (1L << bit)) != 0;
+        }
+    }
+}
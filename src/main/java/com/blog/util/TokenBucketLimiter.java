@@ -0,0 +1,98 @@
+package com.blog.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 无锁令牌桶限流器
+ * 每个键一个令牌桶，桶的全部状态是一个long：令牌恰好补满的时刻（纳秒，即GCRA的理论到达时间）。
+ * 取令牌时把该时刻后推一个补充间隔，超过容量对应的时长即拒绝，用一次CAS完成，不加锁也不分配对象；
+ * 补满时刻早于当前时间的桶与新建的桶等价，可以随时删除，因此按空闲时间清理不会改变限流结果。
+ */
+public final class TokenBucketLimiter {
+
+    /** 桶容量，即允许的突发请求数 */
+    private final int capacity;
+
+    /** 补充一个令牌的间隔（纳秒） */
+    private final long intervalNanos;
+
+    /** 桶从空到满的时长（纳秒） */
+    private final long burstNanos;
+
+    /** 补满后保留多久才清理（纳秒） */
+    private final long idleNanos;
+
+    private final ConcurrentHashMap<Object, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    /** 上一次清理的时间（纳秒） */
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+
+    /**
+     * @param capacity 桶容量
+     * @param refillPerSecond 每秒补充的令牌数
+     * @param idleMillis 桶补满后保留的时间（毫秒），同时也是清理的间隔
+     */
+    public TokenBucketLimiter(int capacity, double refillPerSecond, long idleMillis) {
+        if (capacity <= 0 || refillPerSecond <= 0 || idleMillis <= 0) {
+            throw new IllegalArgumentException("Token bucket sizes must be positive");
+        }
+        this.capacity = capacity;
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / refillPerSecond));
+        this.burstNanos = intervalNanos * capacity;
+        this.idleNanos = idleMillis * 1_000_000L;
+    }
+
+    /**
+     * 尝试为指定键取一个令牌
+     * @param key 限流键，需实现equals和hashCode
+     * @return 取到令牌时返回剩余令牌数（不小于0）；被拒绝时返回负数，其绝对值是需要等待的纳秒数
+     */
+    public long tryAcquire(Object key) {
+        long now = System.nanoTime();
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        long result;
+        while (true) {
+            long full = bucket.get();
+            long next = Math.max(full, now) + intervalNanos;
+            long ahead = next - now;
+            if (ahead > burstNanos) {
+                result = -(ahead - burstNanos);
+                break;
+            }
+            if (bucket.compareAndSet(full, next)) {
+                result = (burstNanos - ahead) / intervalNanos;
+                break;
+            }
+        }
+        sweepIfDue(now);
+        return result;
+    }
+
+    /**
+     * 每个空闲周期由一个线程删除已经补满超过空闲时间的桶，其他线程不等待
+     * @param now 当前时间（纳秒）
+     */
+    private void sweepIfDue(long now) {
+        long last = lastSweep.get();
+        if (now - last < idleNanos || !lastSweep.compareAndSet(last, now)) {
+            return;
+        }
+        long expiredBefore = now - idleNanos;
+        buckets.values().removeIf(bucket -> bucket.get() - expiredBefore < 0);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return 当前保留的桶数量
+     */
+    public int size() {
+        return buckets.size();
+    }
+}
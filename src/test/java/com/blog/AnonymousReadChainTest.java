@@ -0,0 +1,72 @@
+package com.blog;
+
+import com.blog.config.JwtAuthTokenFilter;
+import com.blog.config.JwtUtils;
+import com.blog.config.UserDetailsImpl;
+import com.blog.entity.User;
+import com.blog.repository.UserRepository;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 匿名只读请求走单独的精简过滤器链，带令牌的请求仍经过JWT认证
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class AnonymousReadChainTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private FilterChainProxy filterChainProxy;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    public void testAnonymousReadsSkipJwtFilter() throws Exception {
+        List<Filter> publicReads = filterChainProxy.getFilters("/api/articles/published");
+        assertTrue(publicReads.stream().noneMatch(filter -> filter instanceof JwtAuthTokenFilter));
+        List<Filter> protectedReads = filterChainProxy.getFilters("/api/users/1");
+        assertTrue(protectedReads.stream().anyMatch(filter -> filter instanceof JwtAuthTokenFilter));
+
+        mockMvc.perform(get("/api/articles/published?page=0&size=10").header("Origin", "http://example.com"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Access-Control-Allow-Origin", "*"))
+                .andExpect(header().string("X-Content-Type-Options", "nosniff"));
+    }
+
+    @Test
+    public void testAuthenticatedReadsUseFullChain() throws Exception {
+        User user = new User();
+        user.setUsername("reader");
+        user.setEmail("reader@example.com");
+        user.setPassword("password");
+        user = userRepository.save(user);
+        String token = jwtUtils.generateJwtToken(UserDetailsImpl.build(user));
+
+        mockMvc.perform(get("/api/articles/published?page=0&size=10").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        // 带令牌的请求经过JWT过滤器，无效令牌与之前一样不影响公开接口
+        mockMvc.perform(get("/api/articles/published?page=0&size=10").header("Authorization", "Bearer invalid"))
+                .andExpect(status().isOk());
+    }
+}
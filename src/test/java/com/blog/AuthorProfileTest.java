@@ -0,0 +1,126 @@
+package com.blog;
+
+import com.blog.dto.ArticleDto;
+import com.blog.dto.AuthorProfileDto;
+import com.blog.dto.UserDto;
+import com.blog.entity.User;
+import com.blog.repository.AuthorStatsRepository;
+import com.blog.repository.UserRepository;
+import com.blog.service.ArticleService;
+import com.blog.service.AuthorStatsService;
+import com.blog.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 作者统计随文章发布、撤回、删除和浏览点赞增量更新，校正后与文章表一致
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class AuthorProfileTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private AuthorStatsService authorStatsService;
+
+    @Autowired
+    private AuthorStatsRepository authorStatsRepository;
+
+    @Test
+    public void testStatsFollowArticleEvents() throws Exception {
+        UserDto userDto = new UserDto();
+        userDto.setUsername("profile-author");
+        userDto.setEmail("profile-author@example.com");
+        userDto.setPassword("password");
+        Long authorId = userService.createUser(userDto).getId();
+        User author = userRepository.findById(authorId).orElseThrow();
+
+        ArticleDto first = articleService.createArticle(article("first", true), author);
+        ArticleDto draft = articleService.createArticle(article("draft", false), author);
+        articleService.incrementViewCount(first.getId());
+        articleService.incrementViewCount(first.getId());
+        articleService.incrementLikeCount(first.getId());
+        // 未发布文章的浏览不计入作者统计
+        articleService.incrementViewCount(draft.getId());
+        assertStats(authorId, 1, 2, 1);
+
+        // 发布时计入文章已有的浏览量
+        articleService.updateArticle(draft.getId(), article("draft", true));
+        assertStats(authorId, 2, 3, 1);
+
+        articleService.updateArticle(first.getId(), article("first", false));
+        assertStats(authorId, 1, 1, 0);
+
+        articleService.deleteArticle(draft.getId());
+        assertStats(authorId, 0, 0, 0);
+
+        articleService.updateArticle(first.getId(), article("first", true));
+        authorStatsRepository.addDeltas(authorId, 5, 100, 100);
+        authorStatsService.reconcile();
+        AuthorProfileDto profile = assertStats(authorId, 1, 2, 1);
+        assertEquals(1, profile.getLatestArticles().size());
+        assertEquals("first", profile.getLatestArticles().get(0).getTitle());
+
+        String body = mockMvc.perform(get("/api/users/public/" + authorId + "/profile"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertTrue(body.contains("\"articleCount\":1"), body);
+        assertFalse(body.contains("email"), body);
+        mockMvc.perform(get("/api/users/public/999999/profile")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void testProfileWithoutStatsRecord() throws Exception {
+        // 直接写库创建、尚未校正的用户临时按文章表聚合
+        User author = new User();
+        author.setUsername("unreconciled-author");
+        author.setEmail("unreconciled-author@example.com");
+        author.setPassword("password");
+        author = userRepository.save(author);
+        ArticleDto article = articleService.createArticle(article("unreconciled", true), author);
+        articleService.incrementViewCount(article.getId());
+
+        assertFalse(authorStatsRepository.existsById(author.getId()));
+        assertStats(author.getId(), 1, 1, 0);
+    }
+
+    private AuthorProfileDto assertStats(Long authorId, long articles, long views, long likes) {
+        // 浏览和点赞先在内存中累加，读取前写入
+        authorStatsService.flushPending();
+        AuthorProfileDto profile = authorStatsService.getAuthorProfile(authorId).orElseThrow();
+        assertEquals(articles, profile.getArticleCount());
+        assertEquals(views, profile.getViewCount());
+        assertEquals(likes, profile.getLikeCount());
+        return profile;
+    }
+
+    private static ArticleDto article(String title, boolean published) {
+        ArticleDto articleDto = new ArticleDto();
+        articleDto.setTitle(title);
+        articleDto.setContent(title + " content");
+        articleDto.setPublished(published);
+        return articleDto;
+    }
+}
@@ -0,0 +1,107 @@
+package com.blog;
+
+import com.blog.dto.ArticleDto;
+import com.blog.dto.CategoryDto;
+import com.blog.dto.TagDto;
+import com.blog.entity.User;
+import com.blog.exception.ResourceNotFoundException;
+import com.blog.repository.ArticleRepository;
+import com.blog.repository.CategoryRepository;
+import com.blog.repository.UserRepository;
+import com.blog.service.ArticleService;
+import com.blog.service.CategoryService;
+import com.blog.service.TagService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 删除分类时文章用批量UPDATE移到目标分类或变为无分类，文章和标签保留
+ */
+@SpringBootTest
+public class CategoryDeleteTest {
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TagService tagService;
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    public void testDeleteMovesOrDetachesArticles() throws Exception {
+        User author = new User();
+        author.setUsername("category-author");
+        author.setEmail("category-author@example.com");
+        author.setPassword("password");
+        author = userRepository.save(author);
+        Long source = category("merge-source");
+        Long target = category("merge-target");
+        Long tagId = tagService.createTag(tag("category-tag")).getId();
+
+        ArticleDto first = articleService.createArticle(article("first", source, tagId), author);
+        ArticleDto second = articleService.createArticle(article("second", source, tagId), author);
+        // 先写入文章DTO缓存，删除后缓存中不能残留旧分类
+        articleService.getArticlesByIds(List.of(first.getId(), second.getId()));
+
+        assertThrows(IllegalArgumentException.class, () -> categoryService.deleteCategory(source, source));
+        assertThrows(ResourceNotFoundException.class, () -> categoryService.deleteCategory(source, 999999L));
+        assertThrows(ResourceNotFoundException.class, () -> categoryService.deleteCategory(999999L, null));
+
+        assertEquals(2, categoryService.deleteCategory(source, target));
+        assertFalse(categoryRepository.existsById(source));
+        for (ArticleDto article : articleService.getArticlesByIds(List.of(first.getId(), second.getId()))) {
+            assertEquals(target, article.getCategory().getId());
+            assertEquals(1, article.getTags().size());
+            assertEquals(first.getVersion() + 1, article.getVersion());
+        }
+
+        assertEquals(2, categoryService.deleteCategory(target, null));
+        assertFalse(categoryRepository.existsById(target));
+        ArticleDto detached = articleService.getArticleById(first.getId()).orElseThrow();
+        assertNull(detached.getCategory());
+        assertEquals(1, detached.getTags().size());
+        assertEquals(2, articleRepository.findAllById(List.of(first.getId(), second.getId())).size());
+    }
+
+    private Long category(String name) {
+        CategoryDto categoryDto = new CategoryDto();
+        categoryDto.setName(name);
+        return categoryService.createCategory(categoryDto).getId();
+    }
+
+    private static TagDto tag(String name) {
+        TagDto tagDto = new TagDto();
+        tagDto.setName(name);
+        return tagDto;
+    }
+
+    private static ArticleDto article(String title, Long categoryId, Long tagId) {
+        CategoryDto category = new CategoryDto();
+        category.setId(categoryId);
+        TagDto tag = new TagDto();
+        tag.setId(tagId);
+        ArticleDto articleDto = new ArticleDto();
+        articleDto.setTitle(title);
+        articleDto.setContent(title + " content");
+        articleDto.setPublished(true);
+        articleDto.setCategory(category);
+        articleDto.setTags(List.of(tag));
+        return articleDto;
+    }
+}
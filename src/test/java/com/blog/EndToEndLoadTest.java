@@ -0,0 +1,61 @@
+package com.blog;
+
+import com.blog.load.LoadDriver;
+import com.blog.load.SyntheticDataGenerator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 端到端负载测试
+ * 以load配置（内嵌H2文件库）启动应用并生成合成数据，按配置的请求比例回放文章读取、登录和写入流量，
+ * 输出每个接口的吞吐量和延迟分位数，完整分布写入target/load-report/*.hgrm。
+ * 运行方式：mvn test -Pload-test -Dtest=EndToEndLoadTest
+ * 数据量用-Dblog.load.articles等调整；负载用-Dload.clients、-Dload.seconds、-Dload.warmup-seconds、
+ * -Dload.rate（每秒请求数，0为闭环）和-Dload.mix（例如list=40,detail=50,signin=10）调整。
+ */
+@Tag("load")
+public class EndToEndLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 200);
+
+    private static final int SECONDS = Integer.getInteger("load.seconds", 60);
+
+    private static final int WARMUP_SECONDS = Integer.getInteger("load.warmup-seconds", 15);
+
+    private static final double RATE = Double.parseDouble(System.getProperty("load.rate", "0"));
+
+    private static final String MIX = System.getProperty("load.mix",
+            "list=30,detail=35,batch=3,category=6,tag=4,author=4,popular=4,signin=2,like=5,create=3,update=4");
+
+    @Test
+    public void replayTrafficMix() throws Exception {
+        // 命令行参数优先于surefire设置的spring.profiles.active=test
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BlogApplication.class)
+                .properties("server.port=0")
+                .run("--spring.profiles.active=load")) {
+            SyntheticDataGenerator.Dataset dataset = context.getBean(SyntheticDataGenerator.class).getDataset();
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            LoadDriver driver = new LoadDriver(URI.create("http://localhost:" + port), dataset,
+                    LoadDriver.parseMix(MIX), Long.getLong("blog.load.seed", 42));
+            LoadDriver.Report report = driver.run(CLIENTS, Duration.ofSeconds(WARMUP_SECONDS),
+                    Duration.ofSeconds(SECONDS), RATE);
+
+            System.out.printf("%d clients, %d s, %s%n", CLIENTS, SECONDS,
+                    RATE > 0 ? "target " + RATE + " req/s" : "closed loop");
+            report.print(System.out);
+            report.writeHistograms(Path.of("target", "load-report"));
+
+            assertTrue(report.getTotalRequests() > 0);
+        }
+    }
+}
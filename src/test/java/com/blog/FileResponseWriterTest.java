@@ -0,0 +1,117 @@
+package com.blog;
+
+import com.blog.util.FileResponseWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 文件响应的Range、条件请求和sendfile处理
+ */
+public class FileResponseWriterTest {
+
+    private static final String CACHE = "max-age=31536000, public, immutable";
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+
+    private byte[] content;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        content = new byte[100 * 1024];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        file = Files.write(directory.resolve("card.jpg"), content);
+    }
+
+    @Test
+    public void testFullAndRangeResponses() throws Exception {
+        MockHttpServletResponse full = write(new MockHttpServletRequest("GET", "/media"));
+        assertEquals(200, full.getStatus());
+        assertArrayEquals(content, full.getContentAsByteArray());
+        assertEquals(CACHE, full.getHeader("Cache-Control"));
+        assertEquals("bytes", full.getHeader("Accept-Ranges"));
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/media");
+        request.addHeader("Range", "bytes=10-19");
+        MockHttpServletResponse partial = write(request);
+        assertEquals(206, partial.getStatus());
+        assertEquals("bytes 10-19/" + content.length, partial.getHeader("Content-Range"));
+        assertArrayEquals(Arrays.copyOfRange(content, 10, 20), partial.getContentAsByteArray());
+
+        request = new MockHttpServletRequest("GET", "/media");
+        request.addHeader("Range", "bytes=-5");
+        MockHttpServletResponse suffix = write(request);
+        assertEquals(206, suffix.getStatus());
+        assertArrayEquals(Arrays.copyOfRange(content, content.length - 5, content.length), suffix.getContentAsByteArray());
+
+        request = new MockHttpServletRequest("GET", "/media");
+        request.addHeader("Range", "bytes=" + content.length + "-");
+        MockHttpServletResponse unsatisfiable = write(request);
+        assertEquals(416, unsatisfiable.getStatus());
+        assertEquals("bytes */" + content.length, unsatisfiable.getHeader("Content-Range"));
+
+        request = new MockHttpServletRequest("GET", "/media");
+        request.addHeader("Range", "bytes=0-1,5-6");
+        assertEquals(200, write(request).getStatus());
+    }
+
+    @Test
+    public void testConditionalRequests() throws Exception {
+        String etag = write(new MockHttpServletRequest("GET", "/media")).getHeader("ETag");
+        assertNotNull(etag);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/media");
+        request.addHeader("If-None-Match", "\"other\", " + etag);
+        MockHttpServletResponse notModified = write(request);
+        assertEquals(304, notModified.getStatus());
+        assertEquals(0, notModified.getContentAsByteArray().length);
+
+        request = new MockHttpServletRequest("GET", "/media");
+        request.addHeader("If-Modified-Since", Files.getLastModifiedTime(file).toMillis());
+        assertEquals(304, write(request).getStatus());
+
+        request = new MockHttpServletRequest("GET", "/media");
+        request.addHeader("Range", "bytes=0-9");
+        request.addHeader("If-Range", "\"stale\"");
+        MockHttpServletResponse stale = write(request);
+        assertEquals(200, stale.getStatus());
+        assertEquals(content.length, stale.getContentAsByteArray().length);
+
+        MockHttpServletResponse head = write(new MockHttpServletRequest("HEAD", "/media"));
+        assertEquals(200, head.getStatus());
+        assertEquals(content.length, head.getContentLengthLong());
+        assertEquals(0, head.getContentAsByteArray().length);
+    }
+
+    @Test
+    public void testSendfileHandsFileToContainer() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/media");
+        request.setAttribute(FileResponseWriter.SENDFILE_SUPPORTED, Boolean.TRUE);
+        request.addHeader("Range", "bytes=1024-");
+        MockHttpServletResponse response = write(request);
+        assertEquals(206, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(file.toAbsolutePath().toString(), request.getAttribute(FileResponseWriter.SENDFILE_FILENAME));
+        assertEquals(1024L, request.getAttribute(FileResponseWriter.SENDFILE_START));
+        assertEquals((long) content.length, request.getAttribute(FileResponseWriter.SENDFILE_END));
+    }
+
+    private MockHttpServletResponse write(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FileResponseWriter.write(request, response, file, "image/jpeg", CACHE);
+        return response;
+    }
+}
@@ -2,14 +2,22 @@ package com.blog;
 
 import com.blog.config.JwtUtils;
 import com.blog.config.UserDetailsImpl;
+import com.blog.entity.RevokedToken;
 import com.blog.entity.User;
+import com.blog.repository.RevokedTokenRepository;
+import com.blog.service.TokenRevocationService;
+import com.blog.service.impl.TokenRevocationServiceImpl;
+import io.jsonwebtoken.Claims;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -19,6 +27,15 @@ public class JwtUtilsTest {
     @Autowired
     private JwtUtils jwtUtils;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private TokenRevocationServiceImpl tokenRevocationServiceImpl;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
     @Test
     public void testJwtTokenGenerationAndValidation() {
         // 创建一个模拟的用户对象
@@ -49,4 +66,73 @@ public class JwtUtilsTest {
         // 用户名应该匹配
         assertEquals("testuser", username);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testVerifiedTokenIsCachedAndTamperedTokenRejected() {
+        User user = new User();
+        user.setId(2L);
+        user.setUsername("cacheuser");
+        user.setEmail("cache@example.com");
+        user.setPassword("password");
+        UserDetailsImpl userDetails = UserDetailsImpl.build(user);
+        String jwt = jwtUtils.generateJwtToken(
+                new UsernamePasswordAuthenticationToken(userDetails, null, Collections.emptyList()));
+
+        // 第二次验证命中缓存，返回同一份声明
+        Claims claims = jwtUtils.parseJwtClaims(jwt);
+        assertNotNull(claims);
+        assertEquals("cacheuser", claims.getSubject());
+        assertSame(claims, jwtUtils.parseJwtClaims(jwt));
+
+        // 篡改签名的令牌摘要不同，不会命中缓存
+        String tampered = jwt.substring(0, jwt.length() - 2) + (jwt.endsWith("A") ? "BB" : "AA");
+        assertNull(jwtUtils.parseJwtClaims(tampered));
+        assertFalse(jwtUtils.validateJwtToken("not-a-token"));
+    }
+
+    @Test
+    public void testPrincipalBuiltFromClaimsAndRevocation() {
+        User user = new User();
+        user.setId(3L);
+        user.setUsername("claimsuser");
+        user.setEmail("claims@example.com");
+        user.setPassword("password");
+        UserDetailsImpl userDetails = UserDetailsImpl.build(user);
+        String jwt = jwtUtils.generateJwtToken(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+
+        // 用户ID、邮箱和权限都来自令牌，不查询数据库
+        Claims claims = jwtUtils.parseJwtClaims(jwt);
+        UserDetailsImpl principal = jwtUtils.buildUserDetails(claims);
+        assertEquals(3L, principal.getId());
+        assertEquals("claimsuser", principal.getUsername());
+        assertEquals("claims@example.com", principal.getEmail());
+        assertEquals(List.of("USER"), principal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority).toList());
+
+        // 吊销后，之前签发的令牌失效
+        assertFalse(tokenRevocationService.isRevoked(3L, claims.getIssuedAt()));
+        tokenRevocationService.revokeUserTokens(3L);
+        assertTrue(tokenRevocationService.isRevoked(3L, claims.getIssuedAt()));
+        assertFalse(tokenRevocationService.isRevoked(4L, claims.getIssuedAt()));
+    }
+
+    @Test
+    public void testUserRevocationFromAnotherInstance() {
+        User user = new User();
+        user.setId(5L);
+        user.setUsername("remoteuser");
+        user.setEmail("remote@example.com");
+        user.setPassword("password");
+        UserDetailsImpl userDetails = UserDetailsImpl.build(user);
+        Claims claims = jwtUtils.parseJwtClaims(jwtUtils.generateJwtToken(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities())));
+
+        // 其他实例删除用户时只写入吊销记录，本实例在下一次检查时加载
+        revokedTokenRepository.save(new RevokedToken("user:5:remote", LocalDateTime.now().plusHours(1), 5L, null));
+        assertFalse(tokenRevocationService.isRevoked(5L, claims.getIssuedAt()));
+        tokenRevocationServiceImpl.poll();
+        assertTrue(tokenRevocationService.isRevoked(5L, claims.getIssuedAt()));
+        assertFalse(tokenRevocationService.isTokenRevoked(claims.getId(), claims.getExpiration()));
+    }
+}
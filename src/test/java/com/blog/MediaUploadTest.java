@@ -0,0 +1,218 @@
+package com.blog;
+
+import com.blog.config.JwtUtils;
+import com.blog.config.UserDetailsImpl;
+import com.blog.dto.MediaImageDto;
+import com.blog.entity.Article;
+import com.blog.entity.User;
+import com.blog.repository.ArticleRepository;
+import com.blog.repository.UserRepository;
+import com.blog.service.MediaService;
+import com.blog.util.FileResponseWriter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 图片按内容摘要去重保存，后台生成各尺寸图片，头像地址改写为缩略图
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class MediaUploadTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MediaService mediaService;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Test
+    public void testUploadDeduplicatesAndGeneratesVariants() throws Exception {
+        byte[] png = image(1200, 800);
+        MediaImageDto first = mediaService.storeImage(new MockMultipartFile("file", "a.png", "image/png", png));
+        MediaImageDto second = mediaService.storeImage(new MockMultipartFile("file", "b.png", "image/png", png));
+        assertEquals(first.getHash(), second.getHash());
+        assertEquals(1200, first.getWidth());
+        assertEquals("/media/" + first.getHash() + "/thumbnail.jpg", first.getVariants().get("thumbnail"));
+
+        Path thumbnail = awaitVariant(first.getHash(), "thumbnail.jpg");
+        BufferedImage scaled = ImageIO.read(thumbnail.toFile());
+        assertEquals(160, scaled.getWidth());
+        assertEquals(107, scaled.getHeight());
+
+        // 尺寸按缩略图、卡片图、大图的顺序生成，等卡片图写完再访问
+        awaitVariant(first.getHash(), "card.jpg");
+        mockMvc.perform(get(first.getVariants().get("card")))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "image/jpeg"))
+                .andExpect(header().string("Cache-Control", containsString("immutable")));
+        mockMvc.perform(get("/media/" + first.getHash() + "/missing.jpg")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/media/../secret/original.png")).andExpect(status().is4xxClientError());
+
+        assertThrows(IllegalArgumentException.class, () -> mediaService.storeImage(
+                new MockMultipartFile("file", "a.png", "image/png", "not an image".getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    public void testMissingVariantFallsBackToOriginal() throws Exception {
+        byte[] png = image(900, 600);
+        MediaImageDto image = mediaService.storeImage(new MockMultipartFile("file", "c.png", "image/png", png));
+        Path directory = awaitVariant(image.getHash(), "full.jpg").getParent();
+        // 删除已生成的卡片图，模拟尚未生成的尺寸
+        Files.delete(directory.resolve("card.jpg"));
+
+        mockMvc.perform(get(image.getVariants().get("card")))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "image/png"))
+                .andExpect(header().string("Cache-Control", "no-store"));
+        // 回退时重新提交生成任务
+        awaitVariant(image.getHash(), "card.jpg");
+    }
+
+    @Test
+    public void testServerTimingDoesNotBufferMedia() throws Exception {
+        // 随机噪点图片压缩率低，卡片图超过sendfile的大小下限
+        MediaImageDto image = mediaService.storeImage(
+                new MockMultipartFile("file", "d.png", "image/png", noise(1000, 700, 7)));
+        long size = Files.size(awaitVariant(image.getHash(), "card.jpg"));
+        assertTrue(size > 48 * 1024, "card.jpg is only " + size + " bytes");
+
+        // 请求计时不能包装文件响应，否则sendfile时Content-Length丢失
+        MvcResult result = mockMvc.perform(get(image.getVariants().get("card"))
+                        .header("X-Server-Timing", "1")
+                        .header("Range", "bytes=0-")
+                        .requestAttr(FileResponseWriter.SENDFILE_SUPPORTED, Boolean.TRUE))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().longValue("Content-Length", size))
+                .andExpect(header().doesNotExist("Server-Timing"))
+                .andReturn();
+        assertEquals(size, result.getRequest().getAttribute(FileResponseWriter.SENDFILE_END));
+    }
+
+    @Test
+    public void testAvatarUploadRewritesAvatar() throws Exception {
+        User user = new User();
+        user.setUsername("avatar-user");
+        user.setEmail("avatar-user@example.com");
+        user.setPassword("password");
+        user.setAvatar("https://example.com/huge.png");
+        user = userRepository.save(user);
+        String token = jwtUtils.generateJwtToken(UserDetailsImpl.build(user));
+
+        mockMvc.perform(multipart("/api/users/" + user.getId() + "/avatar")
+                        .file(new MockMultipartFile("file", "avatar.png", "image/png", image(300, 300)))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        String avatar = userRepository.findById(user.getId()).orElseThrow().getAvatar();
+        assertTrue(avatar.matches("/media/[0-9a-f]{64}/thumbnail\\.jpg"), avatar);
+    }
+
+    @Test
+    public void testCoverUploadRequiresLoginAndArticle() throws Exception {
+        User user = new User();
+        user.setUsername("cover-user");
+        user.setEmail("cover-user@example.com");
+        user.setPassword("password");
+        user = userRepository.save(user);
+        Article article = new Article();
+        article.setTitle("封面文章");
+        article.setContent("内容");
+        article.setPublished(true);
+        article.setAuthor(user);
+        article = articleRepository.save(article);
+        String token = jwtUtils.generateJwtToken(UserDetailsImpl.build(user));
+        // 图片目录在多次运行之间保留，内容每次不同才能确认被拒绝的请求没有写入
+        byte[] png = noise(64, 48, System.nanoTime());
+
+        mockMvc.perform(multipart("/api/articles/" + article.getId() + "/cover")
+                        .file(new MockMultipartFile("file", "cover.png", "image/png", png)))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(multipart("/api/articles/999999/cover")
+                        .file(new MockMultipartFile("file", "cover.png", "image/png", png))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNotFound());
+        // 被拒绝的请求都没有写入图片
+        String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(png));
+        assertTrue(mediaService.resolve(hash, "card.jpg").isEmpty());
+
+        mockMvc.perform(multipart("/api/articles/" + article.getId() + "/cover")
+                        .file(new MockMultipartFile("file", "cover.png", "image/png", png))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        assertEquals("/media/" + hash + "/card.jpg", articleRepository.findById(article.getId()).orElseThrow().getCoverImage());
+    }
+
+    private Path awaitVariant(String hash, String fileName) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            Optional<Path> file = mediaService.resolve(hash, fileName);
+            if (file.isPresent() && file.get().getFileName().toString().equals(fileName)) {
+                return file.get();
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Variant " + fileName + " was not generated");
+    }
+
+    private static byte[] noise(int width, int height, long seed) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(seed);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, random.nextInt(0x1000000));
+            }
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", output);
+        return output.toByteArray();
+    }
+
+    private static byte[] image(int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.ORANGE);
+        graphics.fillRect(0, 0, width, height);
+        graphics.setColor(new Color(width % 256, height % 256, 128));
+        graphics.fillOval(width / 4, height / 4, width / 2, height / 2);
+        graphics.dispose();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", output);
+        assertNotNull(ImageIO.read(new ByteArrayInputStream(output.toByteArray())));
+        return output.toByteArray();
+    }
+}
@@ -0,0 +1,91 @@
+package com.blog;
+
+import com.blog.dto.ArticleDraftDto;
+import com.blog.entity.Article;
+import com.blog.entity.User;
+import com.blog.repository.ArticleRepository;
+import com.blog.repository.UserRepository;
+import com.blog.service.ArticleDraftService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Prometheus抓取端点：按路由模板的请求分位数、连接池、缓存和草稿指标
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ArticleDraftService articleDraftService;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    public void testPrometheusEndpointExposesRouteAndPoolMetrics() throws Exception {
+        mockMvc.perform(get("/api/articles/published?page=0&size=10")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/articles/batch?ids=1,2")).andExpect(status().isOk());
+
+        String body = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<String> lines = body.lines().toList();
+
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("http_server_requests_seconds{")
+                && line.contains("uri=\"/api/articles/published\"") && line.contains("quantile=\"0.999\"")));
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("hikaricp_connections_active{")
+                && line.contains("pool=\"primary\"")));
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("hikaricp_connections_acquire_seconds{")
+                && line.contains("quantile=\"0.99\"")));
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("cache_gets_total{")
+                && line.contains("cache=\"user\"") && line.contains("result=\"hit\"")));
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("cache_gets_total{")
+                && line.contains("cache=\"article-dto\"") && line.contains("result=\"miss\"")));
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("blog_draft_pending{")));
+    }
+
+    @Test
+    public void testDraftFlushLagIsRecorded() throws Exception {
+        User author = new User();
+        author.setUsername("metrics-author");
+        author.setPassword("password");
+        author.setEmail("metrics-author@example.com");
+        author = userRepository.save(author);
+
+        Article article = new Article();
+        article.setTitle("指标文章");
+        article.setContent("内容");
+        article.setAuthor(author);
+        article = articleRepository.save(article);
+
+        long before = meterRegistry.get("blog.draft.flush.lag").timer().count();
+        articleDraftService.saveDraft(article.getId(), new ArticleDraftDto(null, "草稿标题", null, null, null, null, false));
+        assertEquals(1.0, meterRegistry.get("blog.draft.pending").gauge().value());
+
+        assertTrue(articleDraftService.flushDraft(article.getId()));
+        assertEquals(before + 1, meterRegistry.get("blog.draft.flush.lag").timer().count());
+        assertEquals(0.0, meterRegistry.get("blog.draft.pending").gauge().value());
+    }
+}
@@ -0,0 +1,102 @@
+package com.blog;
+
+import com.blog.config.BoundedPasswordEncoder;
+import com.blog.entity.User;
+import com.blog.exception.PasswordHashingRejectedException;
+import com.blog.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 密码哈希：专用线程池满时快速拒绝，登录时升级低强度的哈希
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class PasswordHashingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void testHashUpgradedOnSignin() throws Exception {
+        User user = new User();
+        user.setUsername("upgrade-user");
+        user.setEmail("upgrade-user@example.com");
+        user.setPassword(new BCryptPasswordEncoder(4).encode("password"));
+        user = userRepository.save(user);
+
+        mockMvc.perform(post("/api/auth/signin")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"upgrade-user\",\"password\":\"password\"}"))
+                .andExpect(status().isOk());
+
+        // 测试配置的强度为5，登录成功后哈希按新强度重新计算
+        String upgraded = userRepository.findById(user.getId()).orElseThrow().getPassword();
+        assertTrue(upgraded.startsWith("$2a$05$"), upgraded);
+        assertNotNull(meterRegistry.get("blog.password.hash.queue").gauge());
+    }
+
+    @Test
+    public void testRejectsWhenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blocking, 1, 1, 5000);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            // 一个在执行，一个在排队，第三个立即被拒绝
+            callers.submit(() -> encoder.encode("first"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            callers.submit(() -> encoder.encode("second"));
+            while (encoder.getQueueDepth() == 0) {
+                Thread.onSpinWait();
+            }
+            assertThrows(PasswordHashingRejectedException.class, () -> encoder.encode("third"));
+            assertEquals(1, encoder.getRejectedCount());
+        } finally {
+            release.countDown();
+            callers.shutdown();
+            encoder.shutdown();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.blog;
+
+import com.blog.config.JwtUtils;
+import com.blog.config.UserDetailsImpl;
+import com.blog.entity.User;
+import com.blog.repository.UserRepository;
+import com.blog.util.TokenBucketLimiter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 限流：登录按IP计数，发表文章按用户计数，超出后返回429和限流响应头
+ */
+@SpringBootTest(properties = {
+        "blog.rate-limit.enabled=true",
+        "blog.rate-limit.routes[0].name=auth",
+        "blog.rate-limit.routes[0].methods=POST",
+        "blog.rate-limit.routes[0].paths=/api/auth/signin",
+        "blog.rate-limit.routes[0].key=ip",
+        "blog.rate-limit.routes[0].capacity=3",
+        "blog.rate-limit.routes[0].refill-per-second=0.001",
+        "blog.rate-limit.routes[1].name=article-write",
+        "blog.rate-limit.routes[1].methods=POST",
+        "blog.rate-limit.routes[1].paths=/api/articles",
+        "blog.rate-limit.routes[1].key=user",
+        "blog.rate-limit.routes[1].capacity=2",
+        "blog.rate-limit.routes[1].refill-per-second=0.001"
+})
+@AutoConfigureMockMvc
+public class RateLimitTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    public void testSigninLimitedPerIp() throws Exception {
+        for (int i = 3; i > 0; i--) {
+            mockMvc.perform(signin("10.0.0.1"))
+                    .andExpect(header().string("X-RateLimit-Limit", "3"))
+                    .andExpect(header().string("X-RateLimit-Remaining", String.valueOf(i - 1)));
+        }
+        mockMvc.perform(signin("10.0.0.1"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("X-RateLimit-Remaining", "0"))
+                .andExpect(header().exists("Retry-After"));
+
+        // 其他地址有自己的令牌桶
+        mockMvc.perform(signin("10.0.0.2"))
+                .andExpect(header().string("X-RateLimit-Remaining", "2"));
+    }
+
+    @Test
+    public void testArticleWritesLimitedPerUser() throws Exception {
+        String first = token("limit-writer-1");
+        String second = token("limit-writer-2");
+
+        for (int i = 0; i < 2; i++) {
+            int status = mockMvc.perform(createArticle(first)).andReturn().getResponse().getStatus();
+            assertNotEquals(429, status);
+        }
+        mockMvc.perform(createArticle(first)).andExpect(status().isTooManyRequests());
+
+        // 同一地址的另一个用户不受影响
+        int status = mockMvc.perform(createArticle(second)).andReturn().getResponse().getStatus();
+        assertNotEquals(429, status);
+    }
+
+    @Test
+    public void testBucketRefills() throws Exception {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, 20, 60_000);
+        assertEquals(1, limiter.tryAcquire("key"));
+        assertEquals(0, limiter.tryAcquire("key"));
+        long rejected = limiter.tryAcquire("key");
+        assertTrue(rejected < 0 && -rejected <= 50_000_000L, String.valueOf(rejected));
+
+        Thread.sleep(60);
+        assertTrue(limiter.tryAcquire("key") >= 0);
+        assertEquals(1, limiter.tryAcquire("other"));
+    }
+
+    private MockHttpServletRequestBuilder signin(String remoteAddr) {
+        return post("/api/auth/signin")
+                .with(request -> {
+                    request.setRemoteAddr(remoteAddr);
+                    return request;
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"nobody\",\"password\":\"wrong-password\"}");
+    }
+
+    private MockHttpServletRequestBuilder createArticle(String token) {
+        return post("/api/articles")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"限流文章\",\"content\":\"内容\"}");
+    }
+
+    private String token(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password");
+        user = userRepository.save(user);
+        return jwtUtils.generateJwtToken(UserDetailsImpl.build(user));
+    }
+}
@@ -0,0 +1,199 @@
+package com.blog;
+
+import com.blog.entity.Article;
+import com.blog.entity.Category;
+import com.blog.entity.Tag;
+import com.blog.entity.User;
+import com.blog.repository.ArticleRepository;
+import com.blog.repository.CategoryRepository;
+import com.blog.repository.TagRepository;
+import com.blog.repository.UserRepository;
+import com.blog.service.ArticleService;
+import com.blog.util.FieldSelection;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 只读事务边界的效果：列表接口只占用一次连接、连接在序列化前归还、不产生flush。
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ReadOnlyTransactionTest {
+
+    private static final AtomicLong acquisitions = new AtomicLong();
+
+    private static final AtomicLong openConnections = new AtomicLong();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    public void seed() {
+        if (articleRepository.count() > 0) {
+            return;
+        }
+        User author = new User();
+        author.setUsername("readonly-author");
+        author.setPassword("password");
+        author.setEmail("readonly-author@example.com");
+        author = userRepository.save(author);
+
+        Category category = new Category();
+        category.setName("readonly-category");
+        category = categoryRepository.save(category);
+
+        Tag tag = new Tag();
+        tag.setName("readonly-tag");
+        tag = tagRepository.save(tag);
+
+        for (int i = 0; i < 10; i++) {
+            Article article = new Article();
+            article.setTitle("只读文章 " + i);
+            article.setContent("内容 " + i);
+            article.setPublished(true);
+            article.setAuthor(author);
+            article.setCategory(category);
+            article.setTags(List.of(tag));
+            articleRepository.save(article);
+        }
+    }
+
+    @Test
+    public void testListEndpointUsesSingleConnectionWithoutFlush() throws Exception {
+        Statistics statistics = statistics();
+        reset();
+        long flushes = statistics.getFlushCount();
+
+        mockMvc.perform(get("/api/articles/published?page=0&size=10")).andExpect(status().isOk());
+
+        assertEquals(1, acquisitions.get());
+        assertEquals(flushes, statistics.getFlushCount());
+    }
+
+    @Test
+    public void testConnectionReturnedBeforeRendering() {
+        // 查询和DTO转换在一个事务内完成，服务方法返回时连接已经归还，序列化期间不占用连接
+        reset();
+        articleService.getPublishedArticles(PageRequest.of(0, 10), FieldSelection.all());
+
+        assertEquals(1, acquisitions.get(), "read-only listing should use a single connection");
+        assertEquals(0, openConnections.get(), "connection should be returned before rendering");
+    }
+
+    @Test
+    public void testReadOnlyTransactionSkipsFlush() {
+        Statistics statistics = statistics();
+
+        long flushes = statistics.getFlushCount();
+        transactionTemplate.executeWithoutResult(status ->
+                articleService.getPublishedArticles(PageRequest.of(0, 10), FieldSelection.all()));
+        long readWriteFlushes = statistics.getFlushCount() - flushes;
+
+        flushes = statistics.getFlushCount();
+        articleService.getPublishedArticles(PageRequest.of(0, 10), FieldSelection.all());
+        long readOnlyFlushes = statistics.getFlushCount() - flushes;
+
+        assertTrue(readWriteFlushes > 0);
+        assertEquals(0, readOnlyFlushes);
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private static void reset() {
+        acquisitions.set(0);
+        openConnections.set(0);
+    }
+
+    /**
+     * 包装应用数据源，统计连接获取次数和尚未归还的连接数
+     */
+    @TestConfiguration
+    static class ConnectionTrackingConfig {
+
+        @Bean
+        public static BeanPostProcessor connectionTrackingPostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource) {
+                        return new TrackingDataSource(dataSource);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    static class TrackingDataSource extends DelegatingDataSource {
+
+        TrackingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = super.getConnection();
+            acquisitions.incrementAndGet();
+            openConnections.incrementAndGet();
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if ("close".equals(method.getName())) {
+                            openConnections.decrementAndGet();
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.blog;
+
+import com.blog.config.DataSourceRoutingProperties;
+import com.blog.config.ReadWriteRoutingDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 使用两个内嵌H2数据库分别模拟主库和从库，每个库的node表记录自己的名字
+ */
+public class ReadWriteRoutingDataSourceTest {
+
+    private EmbeddedDatabase primary;
+
+    private EmbeddedDatabase replica;
+
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate readWrite;
+
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    public void setUp() {
+        primary = createDatabase("primary");
+        replica = createDatabase("replica");
+        // 从库上的lag表模拟复制延迟
+        new JdbcTemplate(replica).execute("CREATE TABLE lag (seconds BIGINT)");
+        new JdbcTemplate(replica).update("INSERT INTO lag VALUES (0)");
+
+        DataSourceRoutingProperties properties = new DataSourceRoutingProperties();
+        properties.setLagQuery("SELECT seconds FROM lag");
+        properties.setMaxLagSeconds(5);
+        properties.setStickinessWindowMs(300);
+        routingDataSource = new ReadWriteRoutingDataSource(primary, Map.of("replica-0", replica), properties);
+        routingDataSource.afterPropertiesSet();
+        routingDataSource.checkReplicas();
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.1");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    public void testReadOnlyTransactionsUseReplica() {
+        assertEquals("replica", readOnly.execute(status -> currentNode()));
+        assertEquals("primary", readWrite.execute(status -> currentNode()));
+    }
+
+    @Test
+    public void testReadYourWritesStickiness() throws Exception {
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET name = name"));
+
+        assertEquals("primary", readOnly.execute(status -> currentNode()));
+
+        // 其他会话不受影响
+        MockHttpServletRequest other = new MockHttpServletRequest();
+        other.setRemoteAddr("10.0.0.2");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(other));
+        assertEquals("replica", readOnly.execute(status -> currentNode()));
+
+        MockHttpServletRequest writer = new MockHttpServletRequest();
+        writer.setRemoteAddr("10.0.0.1");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(writer));
+        Thread.sleep(400);
+        assertEquals("replica", readOnly.execute(status -> currentNode()));
+    }
+
+    @Test
+    public void testLaggingReplicaIsEvicted() {
+        new JdbcTemplate(replica).update("UPDATE lag SET seconds = 30");
+        routingDataSource.checkReplicas();
+
+        assertTrue(routingDataSource.getHealthyReplicas().isEmpty());
+        assertEquals("primary", readOnly.execute(status -> currentNode()));
+
+        new JdbcTemplate(replica).update("UPDATE lag SET seconds = 1");
+        routingDataSource.checkReplicas();
+
+        assertEquals("replica", readOnly.execute(status -> currentNode()));
+    }
+
+    private String currentNode() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private EmbeddedDatabase createDatabase(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName("routing_" + name)
+                .build();
+        JdbcTemplate template = new JdbcTemplate(database);
+        template.execute("CREATE TABLE node (name VARCHAR(20))");
+        template.update("INSERT INTO node VALUES (?)", name);
+        return database;
+    }
+}
@@ -0,0 +1,117 @@
+package com.blog;
+
+import com.blog.util.TimePartitionedBloomFilter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 刷新令牌轮换、重用检测和注销后访问令牌失效
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class RefreshTokenTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void testRefreshRotationAndLogout() throws Exception {
+        mockMvc.perform(post("/api/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"refresh-user\",\"password\":\"password\",\"email\":\"refresh-user@example.com\"}"))
+                .andExpect(status().isOk());
+        JsonNode signin = data(mockMvc.perform(post("/api/auth/signin")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"refresh-user\",\"password\":\"password\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        String firstRefresh = signin.get("refreshToken").asText();
+        long userId = signin.get("id").asLong();
+
+        // 刷新得到新的访问令牌和刷新令牌
+        JsonNode refreshed = data(mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"" + firstRefresh + "\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        String accessToken = refreshed.get("token").asText();
+        String secondRefresh = refreshed.get("refreshToken").asText();
+        assertNotEquals(firstRefresh, secondRefresh);
+        mockMvc.perform(get("/api/users/" + userId).header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk());
+
+        // 旧刷新令牌被重用时整个家族失效，新刷新令牌也不能再用
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"" + firstRefresh + "\"}"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"" + secondRefresh + "\"}"))
+                .andExpect(status().isUnauthorized());
+
+        // 注销后访问令牌立即失效
+        mockMvc.perform(post("/api/auth/logout").header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/users/" + userId).header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void testRefreshKeepsAdminAuthority() throws Exception {
+        mockMvc.perform(post("/api/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"refresh-admin\",\"password\":\"password\",\"email\":\"refresh-admin@example.com\"}"))
+                .andExpect(status().isOk());
+        JsonNode signin = data(mockMvc.perform(post("/api/auth/signin")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"refresh-admin\",\"password\":\"password\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+
+        // 刷新后的访问令牌仍带有ADMIN权限
+        JsonNode refreshed = data(mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"" + signin.get("refreshToken").asText() + "\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        mockMvc.perform(get("/api/admin/cache/stats").header("Authorization", "Bearer " + refreshed.get("token").asText()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testBloomFilterPartitionsByExpiry() {
+        long partition = 60_000;
+        TimePartitionedBloomFilter filter = new TimePartitionedBloomFilter(partition, 4 * partition, 1024, 4);
+        long now = System.currentTimeMillis();
+        filter.put("revoked", now + partition);
+
+        assertTrue(filter.mightContain("revoked", now + partition));
+        assertFalse(filter.mightContain("revoked", now + 3 * partition));
+        assertFalse(filter.mightContain("other", now + partition));
+
+        // 分区过期后被释放
+        filter.expire(now + 3 * partition);
+        assertFalse(filter.mightContain("revoked", now + partition));
+    }
+
+    private JsonNode data(String body) throws Exception {
+        return objectMapper.readTree(body).get("data");
+    }
+}
@@ -0,0 +1,73 @@
+package com.blog;
+
+import com.blog.entity.Article;
+import com.blog.entity.User;
+import com.blog.repository.ArticleRepository;
+import com.blog.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 配置从库后，文章详情的浏览量更新不让随后的读取粘滞到主库
+ * 从库指向与主库相同的内存库，按从库连接池的取连接次数判断读取落在哪里
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:blog_replica_routing;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "blog.datasource.replicas[0].url=jdbc:h2:mem:blog_replica_routing;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "blog.datasource.lag-query=SELECT 0",
+        "blog.datasource.health-check-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+public class ReplicaReadRoutingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void testArticleDetailReadsFromReplica() throws Exception {
+        // 测试线程绑定了模拟请求，准备数据前解除，避免准备数据的写入让该客户端粘滞到主库
+        RequestContextHolder.resetRequestAttributes();
+        User author = new User();
+        author.setUsername("replica-author");
+        author.setEmail("replica-author@example.com");
+        author.setPassword("password");
+        author = userRepository.save(author);
+        Article article = new Article();
+        article.setTitle("从库文章");
+        article.setContent("内容");
+        article.setPublished(true);
+        article.setAuthor(author);
+        article = articleRepository.save(article);
+
+        for (int i = 1; i <= 2; i++) {
+            long before = replicaAcquisitions();
+            mockMvc.perform(get("/api/articles/" + article.getId())).andExpect(status().isOk());
+            assertEquals(before + 1, replicaAcquisitions(), "detail request " + i + " was not served by the replica");
+        }
+        assertEquals(2, articleRepository.findById(article.getId()).orElseThrow().getViewCount());
+    }
+
+    private long replicaAcquisitions() {
+        Timer timer = meterRegistry.find("hikaricp.connections.acquire").tag("pool", "replica-0").timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
@@ -0,0 +1,87 @@
+package com.blog;
+
+import com.blog.entity.Article;
+import com.blog.entity.User;
+import com.blog.repository.ArticleRepository;
+import com.blog.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 请求分阶段计时：按需附加Server-Timing响应头，并按路由模板和阶段记录指标
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class RequestTimingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    public void testServerTimingHeaderOnRequest() throws Exception {
+        User author = new User();
+        author.setUsername("timing-author");
+        author.setPassword("password");
+        author.setEmail("timing-author@example.com");
+        author = userRepository.save(author);
+
+        Article article = new Article();
+        article.setTitle("计时文章");
+        article.setContent("内容");
+        article.setPublished(true);
+        article.setAuthor(author);
+        articleRepository.save(article);
+
+        MockHttpServletResponse response = mockMvc.perform(get("/api/articles/published?page=0&size=10")
+                        .header("X-Server-Timing", "1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        String serverTiming = response.getHeader("Server-Timing");
+        assertNotNull(serverTiming);
+        assertTrue(serverTiming.contains("db;desc=\""), serverTiming);
+        assertTrue(serverTiming.contains("mapping;dur="), serverTiming);
+        assertTrue(serverTiming.contains("serialization;dur="), serverTiming);
+        assertTrue(serverTiming.matches(".*, total;dur=\\d+\\.\\d{2}"), serverTiming);
+        assertTrue(response.getContentAsString(StandardCharsets.UTF_8).contains("计时文章"));
+    }
+
+    @Test
+    public void testPhasesRecordedWithoutHeader() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/api/articles/published?page=0&size=10"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        assertNull(response.getHeader("Server-Timing"));
+        assertTrue(meterRegistry.get("blog.request.phase")
+                .tag("uri", "/api/articles/published")
+                .tag("phase", "db")
+                .timer().count() > 0);
+        assertTrue(meterRegistry.get("blog.request.phase")
+                .tag("uri", "/api/articles/published")
+                .tag("phase", "serialization")
+                .timer().count() > 0);
+    }
+}
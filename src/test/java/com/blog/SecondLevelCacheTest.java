@@ -0,0 +1,173 @@
+package com.blog;
+
+import com.blog.config.JwtUtils;
+import com.blog.config.UserDetailsImpl;
+import com.blog.entity.Article;
+import com.blog.entity.Category;
+import com.blog.entity.Tag;
+import com.blog.entity.User;
+import com.blog.repository.ArticleRepository;
+import com.blog.repository.CategoryRepository;
+import com.blog.repository.TagRepository;
+import com.blog.repository.UserRepository;
+import com.blog.service.CacheStatsService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 二级缓存和查询缓存：同一页文章重复渲染时，作者、分类、标签不再查询数据库
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class SecondLevelCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheStatsService cacheStatsService;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    private Category category;
+
+    @BeforeEach
+    public void seed() {
+        category = categoryRepository.findByName("cache-category").orElse(null);
+        if (category != null) {
+            return;
+        }
+        User author = new User();
+        author.setUsername("cache-author");
+        author.setPassword("password");
+        author.setEmail("cache-author@example.com");
+        author = userRepository.save(author);
+
+        category = new Category();
+        category.setName("cache-category");
+        category = categoryRepository.save(category);
+
+        Tag java = new Tag();
+        java.setName("cache-java");
+        Tag spring = new Tag();
+        spring.setName("cache-spring");
+        List<Tag> tags = tagRepository.saveAll(List.of(java, spring));
+
+        // 多于一页，列表接口需要额外的count查询
+        for (int i = 0; i < 12; i++) {
+            Article article = new Article();
+            article.setTitle("缓存文章 " + i);
+            article.setContent("内容 " + i);
+            article.setPublished(true);
+            article.setAuthor(author);
+            article.setCategory(category);
+            article.setTags(tags);
+            articleRepository.save(article);
+        }
+    }
+
+    @Test
+    public void testRepeatedPageRenderSkipsAssociationSelects() throws Exception {
+        String url = "/api/articles/category/" + category.getId() + "?page=0&size=10";
+        mockMvc.perform(get(url)).andExpect(status().isOk());
+
+        Statistics statistics = statistics();
+        statistics.clear();
+        mockMvc.perform(get(url)).andExpect(status().isOk());
+
+        // 只剩分页查询和count查询
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityStatistics(User.class.getName()).getLoadCount());
+        assertEquals(0, statistics.getEntityStatistics(Category.class.getName()).getLoadCount());
+        assertEquals(0, statistics.getEntityStatistics(Tag.class.getName()).getLoadCount());
+        assertTrue(statistics.getSecondLevelCacheHitCount() > 0);
+        assertTrue(cacheStatsService.getRegionStats().stream()
+                .anyMatch(region -> region.getRegion().equals("user") && region.getHitCount() > 0));
+    }
+
+    @Test
+    public void testSingleColumnProjection() throws Exception {
+        mockMvc.perform(get("/api/articles/category/" + category.getId() + "?page=0&size=10&fields=id"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(10))
+                .andExpect(jsonPath("$.content[0].id").isNumber())
+                .andExpect(jsonPath("$.content[0].title").doesNotExist());
+    }
+
+    @Test
+    public void testFindByUsernameUsesQueryCache() {
+        userRepository.findByUsername("cache-author");
+
+        Statistics statistics = statistics();
+        statistics.clear();
+        assertTrue(userRepository.findByUsername("cache-author").isPresent());
+
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testStatsEndpointsRequireAdmin() throws Exception {
+        String userToken = token("cache-author");
+        mockMvc.perform(get("/api/admin/cache/stats").header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(delete("/api/admin/cache/stats").header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isForbidden());
+
+        if (userRepository.findByUsername("stats-admin").isEmpty()) {
+            User admin = new User();
+            admin.setUsername("stats-admin");
+            admin.setPassword("password");
+            admin.setEmail("stats-admin@example.com");
+            userRepository.save(admin);
+        }
+        String adminToken = token("stats-admin");
+        mockMvc.perform(get("/api/admin/cache/stats").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/admin/cache/stats").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isNoContent());
+    }
+
+    private String token(String username) {
+        return jwtUtils.generateJwtToken((UserDetailsImpl) userDetailsService.loadUserByUsername(username));
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
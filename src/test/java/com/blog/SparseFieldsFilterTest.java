@@ -0,0 +1,101 @@
+package com.blog;
+
+import com.blog.config.SparseFieldsFilter;
+import com.blog.dto.ArticleDto;
+import com.blog.dto.TagDto;
+import com.blog.dto.UserDto;
+import com.blog.util.FieldSelection;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SparseFieldsFilterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .setFilterProvider(new SimpleFilterProvider()
+                    .addFilter(SparseFieldsFilter.FILTER_ID, new SparseFieldsFilter()));
+
+    @AfterEach
+    public void resetRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void testFieldSelectionPaths() {
+        FieldSelection fields = FieldSelection.parse("id, title,author.nickname");
+
+        assertFalse(fields.isAll());
+        assertTrue(fields.includes("title"));
+        assertTrue(fields.includes("author"));
+        assertTrue(fields.includes("author.nickname"));
+        assertFalse(fields.includes("author.email"));
+        assertFalse(fields.includes("content"));
+        assertTrue(FieldSelection.parse(" ").isAll());
+        assertTrue(FieldSelection.parse("author").includes("author.email"));
+    }
+
+    @Test
+    public void testNestedFieldsInsidePage() throws Exception {
+        withFields("title,author.nickname,tags.name");
+
+        String json = objectMapper.writeValueAsString(new PageImpl<>(List.of(sampleArticle())));
+        JsonNode article = objectMapper.readTree(json).get("content").get(0);
+
+        assertEquals("标题", article.get("title").asText());
+        assertFalse(article.has("content"));
+        assertFalse(article.has("id"));
+        assertEquals("作者", article.get("author").get("nickname").asText());
+        assertFalse(article.get("author").has("email"));
+        assertEquals("java", article.get("tags").get(0).get("name").asText());
+        assertFalse(article.get("tags").get(0).has("id"));
+    }
+
+    @Test
+    public void testAllFieldsWithoutParameter() throws Exception {
+        withFields(null);
+
+        JsonNode article = objectMapper.readTree(objectMapper.writeValueAsString(sampleArticle()));
+
+        assertTrue(article.has("content"));
+        assertEquals("author@example.com", article.get("author").get("email").asText());
+    }
+
+    private void withFields(String fields) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (fields != null) {
+            request.setParameter("fields", fields);
+        }
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private ArticleDto sampleArticle() {
+        UserDto author = new UserDto();
+        author.setId(1L);
+        author.setNickname("作者");
+        author.setEmail("author@example.com");
+
+        TagDto tag = new TagDto();
+        tag.setId(2L);
+        tag.setName("java");
+
+        ArticleDto article = new ArticleDto();
+        article.setId(3L);
+        article.setTitle("标题");
+        article.setContent("正文");
+        article.setAuthor(author);
+        article.setTags(List.of(tag));
+        return article;
+    }
+}
@@ -0,0 +1,134 @@
+package com.blog;
+
+import com.blog.config.JwtUtils;
+import com.blog.config.SqlMetricsListener;
+import com.blog.config.UserDetailsImpl;
+import com.blog.dto.SqlEndpointStatsDto;
+import com.blog.dto.SqlShapeStatsDto;
+import com.blog.entity.Article;
+import com.blog.entity.Category;
+import com.blog.entity.User;
+import com.blog.repository.ArticleRepository;
+import com.blog.repository.CategoryRepository;
+import com.blog.repository.UserRepository;
+import com.blog.service.SqlStatsService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SQL统计代理：按语句形态和接口记录耗时，并识别同一请求内重复执行的语句
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class SqlMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SqlStatsService sqlStatsService;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Test
+    public void testNormalizeStatementShape() {
+        assertEquals("select a1_0.id from articles a1_0 where a1_0.id in (?...) and a1_0.title = ? limit ?",
+                SqlMetricsListener.normalize("select a1_0.id from articles a1_0\n  where a1_0.id in (?, ?, ?) and a1_0.title = 'it''s' limit 10"));
+    }
+
+    @Test
+    public void testRepeatedAuthorLookupsAreFlagged() throws Exception {
+        Category category = new Category();
+        category.setName("sql-category");
+        category = categoryRepository.save(category);
+        // 每篇文章一个不同的作者，缓存为空时渲染列表会逐个查询作者
+        for (int i = 0; i < 6; i++) {
+            User author = new User();
+            author.setUsername("sql-author-" + i);
+            author.setPassword("password");
+            author.setEmail("sql-author-" + i + "@example.com");
+            author = userRepository.save(author);
+
+            Article article = new Article();
+            article.setTitle("统计文章 " + i);
+            article.setContent("内容 " + i);
+            article.setPublished(true);
+            article.setAuthor(author);
+            article.setCategory(category);
+            articleRepository.save(article);
+        }
+        entityManagerFactory.getCache().evictAll();
+        sqlStatsService.reset();
+
+        mockMvc.perform(get("/api/articles/category/" + category.getId() + "?page=0&size=10"))
+                .andExpect(status().isOk());
+
+        SqlEndpointStatsDto endpoint = sqlStatsService.getEndpointStats().stream()
+                .filter(stats -> stats.getEndpoint().equals("GET /api/articles/category/{categoryId}"))
+                .findFirst().orElseThrow();
+        assertEquals(1, endpoint.getRequests());
+        assertEquals(1, endpoint.getRepeatedStatementRequests());
+        assertTrue(endpoint.getRepeatedShapes().stream().anyMatch(shape -> shape.contains("from users")));
+        assertTrue(endpoint.getStatements() > 6);
+
+        SqlShapeStatsDto userLookup = sqlStatsService.getShapeStats().stream()
+                .filter(stats -> stats.getShape().contains("from users"))
+                .findFirst().orElseThrow();
+        assertEquals(6, userLookup.getCount());
+        assertEquals(1.0, userLookup.getMeanBinds());
+    }
+
+    @Test
+    public void testStatsEndpointsRequireAdmin() throws Exception {
+        for (String username : new String[]{"sql-reader", "stats-admin"}) {
+            if (userRepository.findByUsername(username).isEmpty()) {
+                User user = new User();
+                user.setUsername(username);
+                user.setPassword("password");
+                user.setEmail(username + "@example.com");
+                userRepository.save(user);
+            }
+        }
+        String userToken = token("sql-reader");
+        mockMvc.perform(get("/api/admin/sql/shapes").header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(delete("/api/admin/sql/stats").header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isForbidden());
+
+        String adminToken = token("stats-admin");
+        mockMvc.perform(get("/api/admin/sql/endpoints").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/admin/sql/stats").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isNoContent());
+    }
+
+    private String token(String username) {
+        return jwtUtils.generateJwtToken((UserDetailsImpl) userDetailsService.loadUserByUsername(username));
+    }
+}
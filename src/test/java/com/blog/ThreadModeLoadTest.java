@@ -0,0 +1,153 @@
+package com.blog;
+
+import com.blog.entity.Article;
+import com.blog.entity.User;
+import com.blog.repository.ArticleRepository;
+import com.blog.repository.UserRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 平台线程与虚拟线程请求处理模式的负载对比
+ * 分别以两种模式启动应用，用相同的并发客户端压测文章列表接口，输出吞吐量和p99延迟。
+ * 运行方式：mvn test -Pload-test，可用-Dload.clients、-Dload.seconds调整并发数和持续时间
+ */
+@Tag("load")
+public class ThreadModeLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 400);
+
+    private static final int SECONDS = Integer.getInteger("load.seconds", 15);
+
+    @Test
+    public void comparePlatformAndVirtualThreads() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.printf("%-10s %12s %10s %10s %8s%n", "mode", "req/s", "p50(ms)", "p99(ms)", "errors");
+        for (Result result : List.of(platform, virtual)) {
+            System.out.printf("%-10s %12.1f %10.2f %10.2f %8d%n",
+                    result.mode, result.throughput, result.p50Ms, result.p99Ms, result.errors);
+        }
+
+        assertEquals(0, platform.errors);
+        assertEquals(0, virtual.errors);
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BlogApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:load_" + mode + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "blog.threads.virtual=" + virtualThreads,
+                        "logging.level.root=WARN")
+                .run()) {
+            seed(context);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + "/api/articles/published?page=0&size=10");
+            return drive(mode, uri);
+        }
+    }
+
+    private void seed(ConfigurableApplicationContext context) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        ArticleRepository articleRepository = context.getBean(ArticleRepository.class);
+
+        User author = new User();
+        author.setUsername("load-author");
+        author.setPassword("password");
+        author.setEmail("load-author@example.com");
+        author = userRepository.save(author);
+
+        List<Article> articles = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Article article = new Article();
+            article.setTitle("压测文章 " + i);
+            article.setContent("内容 " + i);
+            article.setPublished(true);
+            article.setAuthor(author);
+            articles.add(article);
+        }
+        articleRepository.saveAll(articles);
+    }
+
+    private Result drive(String mode, URI uri) throws Exception {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+
+        // 预热
+        for (int i = 0; i < 200; i++) {
+            client.send(request, HttpResponse.BodyHandlers.discarding());
+        }
+
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.nanoTime() + Duration.ofSeconds(SECONDS).toNanos();
+        List<Future<long[]>> futures = new ArrayList<>();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTS; c++) {
+                futures.add(clients.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        long elapsed = System.nanoTime() - start;
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = elapsed;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+        }
+
+        long[] all = futures.stream().map(future -> {
+            try {
+                return future.get();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }).flatMapToLong(Arrays::stream).sorted().toArray();
+        assertTrue(all.length > 0);
+
+        Result result = new Result();
+        result.mode = mode;
+        result.throughput = all.length / (double) SECONDS;
+        result.p50Ms = all[(int) (all.length * 0.50)] / 1_000_000.0;
+        result.p99Ms = all[Math.min(all.length - 1, (int) (all.length * 0.99))] / 1_000_000.0;
+        result.errors = errors.get();
+        return result;
+    }
+
+    private static class Result {
+        String mode;
+        double throughput;
+        double p50Ms;
+        double p99Ms;
+        long errors;
+    }
+}
@@ -0,0 +1,87 @@
+package com.blog;
+
+import com.blog.dto.UserDto;
+import com.blog.service.UserAvailabilityService;
+import com.blog.service.UserService;
+import com.blog.util.CountingBloomFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 用户名和邮箱过滤器：注册和删除时更新，过滤器过期时由唯一约束兜底
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class UserAvailabilityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserAvailabilityService userAvailabilityService;
+
+    @Test
+    public void testFilterFollowsSignupAndDelete() throws Exception {
+        assertFalse(userAvailabilityService.mightExistUsername("available-user"));
+        assertFalse(userService.existsByUsername("available-user"));
+
+        signup("available-user", "available-user@example.com").andExpect(status().isOk());
+        // 与数据库的比较规则一致：不区分大小写，忽略末尾空格
+        assertTrue(userAvailabilityService.mightExistUsername("Available-User "));
+        assertTrue(userAvailabilityService.mightExistEmail("available-user@example.com"));
+        assertTrue(userService.existsByUsername("available-user"));
+        signup("available-user", "other@example.com").andExpect(status().isBadRequest());
+
+        UserDto user = userService.getUserByUsername("available-user").orElseThrow();
+        userService.deleteUser(user.getId());
+        assertFalse(userAvailabilityService.mightExistUsername("available-user"));
+        assertFalse(userAvailabilityService.mightExistEmail("available-user@example.com"));
+    }
+
+    @Test
+    public void testUniqueConstraintCatchesStaleFilter() throws Exception {
+        signup("stale-user", "stale-user@example.com").andExpect(status().isOk());
+        // 模拟其他实例刚注册、本实例尚未同步的用户
+        userAvailabilityService.userDeleted("stale-user", "stale-user@example.com");
+
+        String body = signup("stale-user", "stale-user@example.com")
+                .andExpect(status().isBadRequest())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertTrue(body.contains("用户名或邮箱已被使用"), body);
+    }
+
+    @Test
+    public void testCountingFilterRemove() {
+        CountingBloomFilter filter = new CountingBloomFilter(1024, 4);
+        filter.add("a");
+        filter.add("a");
+        filter.add("b");
+        filter.remove("a");
+        assertTrue(filter.mightContain("a"));
+        filter.remove("a");
+        assertFalse(filter.mightContain("a"));
+        assertTrue(filter.mightContain("b"));
+    }
+
+    private ResultActions signup(String username, String email) throws Exception {
+        return mockMvc.perform(post("/api/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"" + username + "\",\"password\":\"password\",\"email\":\"" + email + "\"}"));
+    }
+}
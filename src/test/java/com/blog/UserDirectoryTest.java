@@ -0,0 +1,88 @@
+package com.blog;
+
+import com.blog.config.JwtUtils;
+import com.blog.config.UserDetailsImpl;
+import com.blog.dto.CursorPageDto;
+import com.blog.dto.UserSummaryDto;
+import com.blog.entity.User;
+import com.blog.repository.UserRepository;
+import com.blog.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 用户目录按游标分页：每页只取公开资料，翻页不重复不遗漏
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class UserDirectoryTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    public void testCursorWalksWholeDirectory() {
+        for (int i = 0; i < 5; i++) {
+            save("directory-user-" + i);
+        }
+        long total = userRepository.count();
+        for (String sort : new String[]{"id", "createTime"}) {
+            Set<Long> seen = new HashSet<>();
+            String cursor = null;
+            do {
+                CursorPageDto<UserSummaryDto> page = userService.getAllUsers(sort, cursor, 2);
+                for (UserSummaryDto user : page.getContent()) {
+                    assertTrue(seen.add(user.getId()), sort + " returned user " + user.getId() + " twice");
+                }
+                cursor = page.getNextCursor();
+                assertEquals(page.isHasNext(), cursor != null);
+            } while (cursor != null);
+            assertEquals(total, seen.size());
+        }
+        assertThrows(IllegalArgumentException.class, () -> userService.getAllUsers("id", "not-a-cursor", 2));
+        assertThrows(IllegalArgumentException.class, () -> userService.getAllUsers("email", null, 2));
+    }
+
+    @Test
+    public void testDirectoryExposesOnlyPublicFields() throws Exception {
+        User user = save("directory-reader");
+        String token = jwtUtils.generateJwtToken(UserDetailsImpl.build(user));
+
+        String body = mockMvc.perform(get("/api/users?sort=createTime&size=1").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertTrue(body.contains("\"nextCursor\""), body);
+        assertFalse(body.contains("email"), body);
+        assertFalse(body.contains("password"), body);
+    }
+
+    private User save(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password");
+        return userRepository.save(user);
+    }
+}
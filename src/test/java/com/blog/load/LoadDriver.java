@@ -0,0 +1,364 @@
+package com.blog.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * HTTP负载驱动
+ * 每个客户端运行在一个虚拟线程上，按配置的比例随机选择请求类型并发送，按路由模板分别用HdrHistogram记录延迟。
+ * rate为0时是闭环模式（收到响应后立即发送下一个请求）；rate大于0时按固定速率发送，
+ * 延迟从计划发送时间算起，服务端变慢导致的排队时间也会计入，避免协调遗漏（coordinated omission）低估尾延迟。
+ */
+public class LoadDriver {
+
+    /** 预先登录获取令牌的用户数，写请求从中随机选择身份 */
+    private static final int TOKEN_POOL_SIZE = 20;
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    private final Context context;
+
+    private final Map<LoadOperation, Integer> mix;
+
+    private final long seed;
+
+    /**
+     * @param baseUri 应用地址
+     * @param dataset 已生成数据的ID范围
+     * @param mix 请求类型及权重
+     * @param seed 随机数种子
+     */
+    public LoadDriver(URI baseUri, SyntheticDataGenerator.Dataset dataset, Map<LoadOperation, Integer> mix, long seed) {
+        this.context = new Context(baseUri, dataset);
+        this.mix = mix;
+        this.seed = seed;
+    }
+
+    /**
+     * 解析请求比例，格式为"类型=权重"，逗号分隔，例如"list=40,detail=50,signin=10"
+     * @param spec 比例配置
+     * @return 请求类型到权重的映射
+     */
+    public static Map<LoadOperation, Integer> parseMix(String spec) {
+        Map<LoadOperation, Integer> mix = new EnumMap<>(LoadOperation.class);
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid load mix entry: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                mix.put(LoadOperation.of(parts[0]), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("Load mix is empty: " + spec);
+        }
+        return mix;
+    }
+
+    /**
+     * 运行负载
+     * @param clients 并发客户端数
+     * @param warmup 预热时长，期间的请求不计入结果
+     * @param duration 统计时长
+     * @param ratePerSecond 总发送速率，0表示闭环模式
+     * @return 各请求类型的统计结果
+     */
+    public Report run(int clients, Duration warmup, Duration duration, double ratePerSecond) throws Exception {
+        if (mix.keySet().stream().anyMatch(operation -> operation == LoadOperation.CREATE || operation == LoadOperation.UPDATE)) {
+            context.tokens = signIn(Math.min(TOKEN_POOL_SIZE, context.dataset.users().size()));
+        }
+
+        LoadOperation[] operations = mix.keySet().toArray(new LoadOperation[0]);
+        int[] cumulativeWeights = new int[operations.length];
+        int totalWeight = 0;
+        for (int i = 0; i < operations.length; i++) {
+            totalWeight += mix.get(operations[i]);
+            cumulativeWeights[i] = totalWeight;
+        }
+
+        Map<LoadOperation, EndpointStats> stats = new EnumMap<>(LoadOperation.class);
+        for (LoadOperation operation : operations) {
+            stats.put(operation, new EndpointStats(operation));
+        }
+
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long deadline = measureFrom + duration.toNanos();
+        long intervalNanos = ratePerSecond > 0 ? (long) (clients * 1_000_000_000L / ratePerSecond) : 0;
+        SplittableRandom seeds = new SplittableRandom(seed);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                SplittableRandom random = seeds.split();
+                // 定速模式下错开各客户端的起始时间，避免所有请求同时到达
+                long firstSend = System.nanoTime() + (intervalNanos > 0 ? random.nextLong(intervalNanos) : 0);
+                executor.submit(() -> {
+                    long intendedStart = firstSend;
+                    while (true) {
+                        if (intervalNanos > 0) {
+                            long wait = intendedStart - System.nanoTime();
+                            if (wait > 0) {
+                                LockSupport.parkNanos(wait);
+                            }
+                        } else {
+                            intendedStart = System.nanoTime();
+                        }
+                        if (intendedStart >= deadline) {
+                            return null;
+                        }
+                        LoadOperation operation = pick(operations, cumulativeWeights, random);
+                        boolean success = send(operation.request(context, random).build());
+                        long elapsed = System.nanoTime() - intendedStart;
+                        if (intendedStart >= measureFrom) {
+                            stats.get(operation).record(elapsed, success);
+                        }
+                        intendedStart += intervalNanos;
+                    }
+                });
+            }
+        }
+        return new Report(new ArrayList<>(stats.values()), duration);
+    }
+
+    private boolean send(HttpRequest request) {
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() / 100 == 2;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static LoadOperation pick(LoadOperation[] operations, int[] cumulativeWeights, SplittableRandom random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    /**
+     * 以排名靠前的用户登录，获取写请求使用的令牌
+     */
+    private List<String> signIn(int users) throws Exception {
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            HttpRequest request = context.post("/api/auth/signin", "{\"username\":\""
+                    + SyntheticDataGenerator.USERNAME_PREFIX + i + "\",\"password\":\""
+                    + SyntheticDataGenerator.PASSWORD + "\"}").build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            JsonNode token = objectMapper.readTree(response.body()).path("data").path("token");
+            if (response.statusCode() != 200 || !token.isTextual()) {
+                throw new IllegalStateException("Sign-in failed for load user " + i + ": " + response.body());
+            }
+            tokens.add(token.asText());
+        }
+        return tokens;
+    }
+
+    /**
+     * 请求构造所需的共享状态
+     */
+    static class Context {
+
+        private final URI baseUri;
+
+        private final SyntheticDataGenerator.Dataset dataset;
+
+        /** 列表页码：绝大多数请求只看前几页 */
+        final ZipfDistribution pageRanks = new ZipfDistribution(50, 1.5);
+
+        private final ZipfDistribution articleRanks;
+
+        private final ZipfDistribution userRanks;
+
+        private final ZipfDistribution categoryRanks;
+
+        private final ZipfDistribution tagRanks;
+
+        private volatile List<String> tokens = List.of();
+
+        Context(URI baseUri, SyntheticDataGenerator.Dataset dataset) {
+            this.baseUri = baseUri;
+            this.dataset = dataset;
+            this.articleRanks = new ZipfDistribution(dataset.articles().size(), 1.0);
+            this.userRanks = new ZipfDistribution(dataset.users().size(), 1.1);
+            this.categoryRanks = new ZipfDistribution(dataset.categories().size(), 1.0);
+            this.tagRanks = new ZipfDistribution(dataset.tags().size(), 1.2);
+        }
+
+        /** 热点文章：越新的文章访问越多 */
+        long hotArticle(SplittableRandom random) {
+            return dataset.articles().last() - articleRanks.sample(random);
+        }
+
+        long author(SplittableRandom random) {
+            return dataset.users().first() + userRanks.sample(random);
+        }
+
+        long category(SplittableRandom random) {
+            return dataset.categories().first() + categoryRanks.sample(random);
+        }
+
+        long tag(SplittableRandom random) {
+            return dataset.tags().first() + tagRanks.sample(random);
+        }
+
+        String username(SplittableRandom random) {
+            return SyntheticDataGenerator.USERNAME_PREFIX + userRanks.sample(random);
+        }
+
+        String token(SplittableRandom random) {
+            List<String> pool = tokens;
+            return pool.get(random.nextInt(pool.size()));
+        }
+
+        HttpRequest.Builder get(String path) {
+            return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(Duration.ofSeconds(30)).GET();
+        }
+
+        HttpRequest.Builder post(String path, String json) {
+            return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(json));
+        }
+
+        HttpRequest.Builder put(String path, String json) {
+            return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(json));
+        }
+    }
+
+    /**
+     * 单个请求类型的延迟直方图（微秒）和失败次数
+     */
+    public static class EndpointStats {
+
+        private final LoadOperation operation;
+
+        private final Histogram histogram = new ConcurrentHistogram(TimeUnit.SECONDS.toMicros(60), 3);
+
+        private final LongAdder errors = new LongAdder();
+
+        EndpointStats(LoadOperation operation) {
+            this.operation = operation;
+            histogram.setAutoResize(true);
+        }
+
+        void record(long elapsedNanos, boolean success) {
+            histogram.recordValue(Math.max(1, elapsedNanos / 1000));
+            if (!success) {
+                errors.increment();
+            }
+        }
+
+        public LoadOperation getOperation() {
+            return operation;
+        }
+
+        public Histogram getHistogram() {
+            return histogram;
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+    }
+
+    /**
+     * 负载结果
+     */
+    public static class Report {
+
+        private final List<EndpointStats> endpoints;
+
+        private final Duration duration;
+
+        Report(List<EndpointStats> endpoints, Duration duration) {
+            this.endpoints = endpoints;
+            this.duration = duration;
+        }
+
+        public List<EndpointStats> getEndpoints() {
+            return endpoints;
+        }
+
+        public long getTotalRequests() {
+            return endpoints.stream().mapToLong(stats -> stats.histogram.getTotalCount()).sum();
+        }
+
+        /**
+         * 按请求类型输出吞吐量和延迟分位数
+         */
+        public void print(PrintStream out) {
+            out.printf("%-42s %9s %9s %9s %9s %9s %9s %9s %7s%n",
+                    "endpoint", "requests", "req/s", "p50(ms)", "p90(ms)", "p99(ms)", "p999(ms)", "max(ms)", "errors");
+            Histogram total = new Histogram(3);
+            long totalErrors = 0;
+            for (EndpointStats stats : endpoints) {
+                print(out, stats.operation.getEndpoint(), stats.histogram, stats.getErrors());
+                total.add(stats.histogram);
+                totalErrors += stats.getErrors();
+            }
+            print(out, "TOTAL", total, totalErrors);
+        }
+
+        private void print(PrintStream out, String name, Histogram histogram, long errors) {
+            out.printf("%-42s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %7d%n", name,
+                    histogram.getTotalCount(),
+                    histogram.getTotalCount() / (duration.toMillis() / 1000.0),
+                    histogram.getValueAtPercentile(50) / 1000.0,
+                    histogram.getValueAtPercentile(90) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0,
+                    histogram.getMaxValue() / 1000.0,
+                    errors);
+        }
+
+        /**
+         * 将每个请求类型的完整分位数分布写入目录，格式可用HdrHistogram的绘图工具查看
+         * @param directory 输出目录
+         */
+        public void writeHistograms(Path directory) throws IOException {
+            Files.createDirectories(directory);
+            for (EndpointStats stats : endpoints) {
+                Path file = directory.resolve(stats.operation.name().toLowerCase() + ".hgrm");
+                try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                    // 直方图单位为微秒，按毫秒输出
+                    stats.histogram.outputPercentileDistribution(out, 1000.0);
+                }
+            }
+        }
+    }
+}
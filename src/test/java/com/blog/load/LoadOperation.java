@@ -0,0 +1,131 @@
+package com.blog.load;
+
+import java.net.http.HttpRequest;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.StringJoiner;
+
+/**
+ * 负载驱动回放的请求类型
+ * 每种请求按路由模板单独统计，请求参数按Zipf分布选择，热点集中在最新的文章和排名靠前的作者、分类、标签上。
+ */
+public enum LoadOperation {
+
+    LIST("GET /api/articles/published") {
+        @Override
+        HttpRequest.Builder request(LoadDriver.Context context, SplittableRandom random) {
+            return context.get("/api/articles/published?page=" + context.pageRanks.sample(random) + "&size=10");
+        }
+    },
+
+    DETAIL("GET /api/articles/{id}") {
+        @Override
+        HttpRequest.Builder request(LoadDriver.Context context, SplittableRandom random) {
+            return context.get("/api/articles/" + context.hotArticle(random));
+        }
+    },
+
+    BATCH("GET /api/articles/batch") {
+        @Override
+        HttpRequest.Builder request(LoadDriver.Context context, SplittableRandom random) {
+            StringJoiner ids = new StringJoiner(",");
+            for (int i = 0; i < 20; i++) {
+                ids.add(String.valueOf(context.hotArticle(random)));
+            }
+            return context.get("/api/articles/batch?ids=" + ids);
+        }
+    },
+
+    CATEGORY("GET /api/articles/category/{categoryId}") {
+        @Override
+        HttpRequest.Builder request(LoadDriver.Context context, SplittableRandom random) {
+            return context.get("/api/articles/category/" + context.category(random) + "?page=0&size=10");
+        }
+    },
+
+    TAG("GET /api/articles/tag/{tagId}") {
+        @Override
+        HttpRequest.Builder request(LoadDriver.Context context, SplittableRandom random) {
+            return context.get("/api/articles/tag/" + context.tag(random) + "?page=0&size=10");
+        }
+    },
+
+    AUTHOR("GET /api/articles/author/{authorId}") {
+        @Override
+        HttpRequest.Builder request(LoadDriver.Context context, SplittableRandom random) {
+            return context.get("/api/articles/author/" + context.author(random) + "?page=0&size=10");
+        }
+    },
+
+    POPULAR("GET /api/articles/popular") {
+        @Override
+        HttpRequest.Builder request(LoadDriver.Context context, SplittableRandom random) {
+            return context.get("/api/articles/popular?page=0&size=10");
+        }
+    },
+
+    SIGNIN("POST /api/auth/signin") {
+        @Override
+        HttpRequest.Builder request(LoadDriver.Context context, SplittableRandom random) {
+            return context.post("/api/auth/signin", "{\"username\":\"" + context.username(random)
+                    + "\",\"password\":\"" + SyntheticDataGenerator.PASSWORD + "\"}");
+        }
+    },
+
+    LIKE("POST /api/articles/{id}/like") {
+        @Override
+        HttpRequest.Builder request(LoadDriver.Context context, SplittableRandom random) {
+            return context.post("/api/articles/" + context.hotArticle(random) + "/like", "");
+        }
+    },
+
+    CREATE("POST /api/articles") {
+        @Override
+        HttpRequest.Builder request(LoadDriver.Context context, SplittableRandom random) {
+            return context.post("/api/articles", articleBody(context, random, "新文章"))
+                    .header("Authorization", "Bearer " + context.token(random));
+        }
+    },
+
+    UPDATE("PUT /api/articles/{id}") {
+        @Override
+        HttpRequest.Builder request(LoadDriver.Context context, SplittableRandom random) {
+            return context.put("/api/articles/" + context.hotArticle(random), articleBody(context, random, "修改文章"))
+                    .header("Authorization", "Bearer " + context.token(random));
+        }
+    };
+
+    /** 统计和报告中使用的路由模板 */
+    private final String endpoint;
+
+    LoadOperation(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * 构造一次请求
+     * @param context 驱动上下文，提供基础地址、ID分布和登录令牌
+     * @param random 当前客户端的随机数生成器
+     * @return 请求构建器
+     */
+    abstract HttpRequest.Builder request(LoadDriver.Context context, SplittableRandom random);
+
+    /**
+     * 按名称（不区分大小写）查找请求类型
+     */
+    public static LoadOperation of(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+
+    private static String articleBody(LoadDriver.Context context, SplittableRandom random, String title) {
+        return "{\"title\":\"" + title + " " + random.nextInt(1_000_000) + "\","
+                + "\"content\":\"压测内容 " + random.nextLong() + "\","
+                + "\"summary\":\"压测摘要\",\"published\":true,"
+                + "\"category\":{\"id\":" + context.category(random) + "},"
+                + "\"tags\":[{\"id\":" + context.tag(random) + "}]}";
+    }
+}
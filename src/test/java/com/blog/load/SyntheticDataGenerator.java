@@ -0,0 +1,284 @@
+package com.blog.load;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.SplittableRandom;
+
+/**
+ * 负载测试数据生成器（load配置）
+ * 应用启动后用JDBC批量写入用户、分类、标签和文章，数据量由blog.load.*配置。
+ * 作者、分类、标签按Zipf分布分配，浏览量服从帕累托分布（约20%的文章占80%的浏览）；
+ * 文章ID随发布时间递增。数据库文件保留在target/load-db下，已有数据足够时不会重复生成。
+ * 所有用户的密码都是{@link #PASSWORD}。
+ */
+@Component
+@Profile("load")
+public class SyntheticDataGenerator implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    /** 生成用户的统一密码 */
+    public static final String PASSWORD = "password";
+
+    /** 生成用户的用户名前缀，用户名为前缀加序号 */
+    public static final String USERNAME_PREFIX = "load-user-";
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String LOREM = "Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor "
+            + "incididunt ut labore et dolore magna aliqua. Ut enim ad minim veniam, quis nostrud exercitation ullamco "
+            + "laboris nisi ut aliquip ex ea commodo consequat. Duis aute irure dolor in reprehenderit in voluptate velit "
+            + "esse cillum dolore eu fugiat nulla pariatur. Excepteur sint occaecat cupidatat non proident, sunt in culpa "
+            + "qui officia deserunt mollit anim id est laborum. ";
+
+    /** 直接写主库连接池，批量写入不经过SQL统计代理 */
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    /** 自动注入密码编码器，与登录校验使用相同的强度 */
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Value("${blog.load.users:10000}")
+    private int users;
+
+    @Value("${blog.load.categories:50}")
+    private int categories;
+
+    @Value("${blog.load.tags:2000}")
+    private int tags;
+
+    @Value("${blog.load.articles:1000000}")
+    private long articles;
+
+    @Value("${blog.load.seed:42}")
+    private long seed;
+
+    private volatile Dataset dataset;
+
+    @Override
+    public void run(ApplicationArguments args) throws SQLException {
+        try (Connection connection = primaryDataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            SplittableRandom random = new SplittableRandom(seed);
+            if (count(connection, "users") == 0) {
+                insertUsers(connection);
+                insertNamed(connection, "categories", "load-category-", categories);
+                insertNamed(connection, "tags", "load-tag-", tags);
+            }
+            long existing = count(connection, "articles");
+            if (existing < articles) {
+                insertArticles(connection, articles - existing, random.split());
+            }
+            dataset = new Dataset(idRange(connection, "users"), idRange(connection, "categories"),
+                    idRange(connection, "tags"), idRange(connection, "articles"));
+        }
+        logger.warn("Load dataset ready: {}", dataset);
+    }
+
+    /**
+     * 获取已生成数据的ID范围
+     * @return 数据集，生成完成前为null
+     */
+    public Dataset getDataset() {
+        return dataset;
+    }
+
+    private void insertUsers(Connection connection) throws SQLException {
+        // BCrypt计算很慢，所有用户共用一个哈希
+        String encodedPassword = passwordEncoder.encode(PASSWORD);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String sql = "INSERT INTO users (username, password, email, nickname, enabled, create_time, update_time) "
+                + "VALUES (?, ?, ?, ?, TRUE, ?, ?)";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < users; i++) {
+                statement.setString(1, USERNAME_PREFIX + i);
+                statement.setString(2, encodedPassword);
+                statement.setString(3, USERNAME_PREFIX + i + "@example.com");
+                statement.setString(4, "压测用户" + i);
+                statement.setTimestamp(5, now);
+                statement.setTimestamp(6, now);
+                addBatch(connection, statement, i + 1);
+            }
+            flush(connection, statement);
+        }
+    }
+
+    private void insertNamed(Connection connection, String table, String prefix, int size) throws SQLException {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String sql = "INSERT INTO " + table + " (name, description, create_time, update_time) VALUES (?, ?, ?, ?)";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < size; i++) {
+                statement.setString(1, prefix + i);
+                statement.setString(2, "压测数据 " + prefix + i);
+                statement.setTimestamp(3, now);
+                statement.setTimestamp(4, now);
+                addBatch(connection, statement, i + 1);
+            }
+            flush(connection, statement);
+        }
+    }
+
+    private void insertArticles(Connection connection, long size, SplittableRandom random) throws SQLException {
+        IdRange userIds = idRange(connection, "users");
+        IdRange categoryIds = idRange(connection, "categories");
+        IdRange tagIds = idRange(connection, "tags");
+        ZipfDistribution authors = new ZipfDistribution(userIds.size(), 1.1);
+        ZipfDistribution categoryRanks = new ZipfDistribution(categoryIds.size(), 1.0);
+        ZipfDistribution tagRanks = new ZipfDistribution(tagIds.size(), 1.2);
+
+        // 发布时间在最近两年内均匀递增，新文章ID更大
+        LocalDateTime start = LocalDateTime.now().minusDays(730);
+        long stepMillis = Math.max(1, Duration.ofDays(730).toMillis() / size);
+        long started = System.nanoTime();
+
+        String articleSql = "INSERT INTO articles (title, content, summary, cover_image, published, view_count, "
+                + "like_count, version, create_time, update_time, author_id, category_id) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, 0, ?, ?, ?, ?)";
+        String tagSql = "INSERT INTO article_tags (article_id, tag_id) VALUES (?, ?)";
+        try (PreparedStatement articleStatement = connection.prepareStatement(articleSql, new String[]{"id"});
+             PreparedStatement tagStatement = connection.prepareStatement(tagSql)) {
+            int[][] pendingTags = new int[BATCH_SIZE][];
+            for (long i = 0; i < size; i++) {
+                int pending = (int) (i % BATCH_SIZE);
+                Timestamp createTime = Timestamp.valueOf(
+                        start.plus(i * stepMillis + random.nextLong(stepMillis), ChronoUnit.MILLIS));
+                int views = paretoViews(random);
+
+                articleStatement.setString(1, "压测文章 " + i);
+                articleStatement.setString(2, LOREM.repeat(1 + random.nextInt(4)));
+                articleStatement.setString(3, "摘要 " + i);
+                articleStatement.setString(4, random.nextInt(3) == 0 ? null : "https://cdn.example.com/cover/" + i + ".png");
+                articleStatement.setBoolean(5, random.nextInt(100) < 92);
+                articleStatement.setInt(6, views);
+                articleStatement.setInt(7, views / 50);
+                articleStatement.setTimestamp(8, createTime);
+                articleStatement.setTimestamp(9, createTime);
+                articleStatement.setLong(10, userIds.first() + authors.sample(random));
+                articleStatement.setLong(11, categoryIds.first() + categoryRanks.sample(random));
+                articleStatement.addBatch();
+
+                int[] articleTags = new int[random.nextInt(5)];
+                for (int t = 0; t < articleTags.length; t++) {
+                    articleTags[t] = distinctRank(tagRanks, random, articleTags, t);
+                }
+                pendingTags[pending] = articleTags;
+
+                if (pending == BATCH_SIZE - 1 || i == size - 1) {
+                    articleStatement.executeBatch();
+                    try (ResultSet keys = articleStatement.getGeneratedKeys()) {
+                        for (int row = 0; row <= pending && keys.next(); row++) {
+                            for (int rank : pendingTags[row]) {
+                                tagStatement.setLong(1, keys.getLong(1));
+                                tagStatement.setLong(2, tagIds.first() + rank);
+                                tagStatement.addBatch();
+                            }
+                        }
+                    }
+                    tagStatement.executeBatch();
+                    connection.commit();
+                }
+                if ((i + 1) % 100_000 == 0) {
+                    logger.warn("Generated {}/{} articles in {} s", i + 1, size,
+                            (System.nanoTime() - started) / 1_000_000_000);
+                }
+            }
+        }
+    }
+
+    /**
+     * 帕累托分布（alpha≈1.16，即80/20法则）的浏览量
+     */
+    private static int paretoViews(SplittableRandom random) {
+        double views = 10 / Math.pow(1 - random.nextDouble(), 1 / 1.16);
+        return (int) Math.min(views, 10_000_000);
+    }
+
+    /**
+     * 采样一个与已选标签不重复的排名，多次采样仍重复时顺序查找未选过的排名
+     */
+    private static int distinctRank(ZipfDistribution distribution, SplittableRandom random, int[] chosen, int count) {
+        for (int attempt = 0; attempt < 10; attempt++) {
+            int rank = distribution.sample(random);
+            if (!contains(chosen, count, rank)) {
+                return rank;
+            }
+        }
+        int rank = random.nextInt(distribution.size());
+        while (contains(chosen, count, rank)) {
+            rank = (rank + 1) % distribution.size();
+        }
+        return rank;
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void addBatch(Connection connection, PreparedStatement statement, int rows) throws SQLException {
+        statement.addBatch();
+        if (rows % BATCH_SIZE == 0) {
+            flush(connection, statement);
+        }
+    }
+
+    private static void flush(Connection connection, PreparedStatement statement) throws SQLException {
+        statement.executeBatch();
+        connection.commit();
+    }
+
+    private static long count(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static IdRange idRange(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT MIN(id), MAX(id) FROM " + table)) {
+            resultSet.next();
+            return new IdRange(resultSet.getLong(1), resultSet.getLong(2));
+        }
+    }
+
+    /**
+     * 连续的ID区间
+     */
+    public record IdRange(long first, long last) {
+
+        public int size() {
+            return (int) Math.max(0, last - first + 1);
+        }
+    }
+
+    /**
+     * 生成数据的ID范围，供负载驱动构造请求
+     */
+    public record Dataset(IdRange users, IdRange categories, IdRange tags, IdRange articles) {
+    }
+}
@@ -0,0 +1,47 @@
+package com.blog.load;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Zipf分布采样：排名k的概率与1/k^s成正比
+ * 用于模拟少数作者、分类、标签和文章占据大部分流量的真实分布。
+ */
+public class ZipfDistribution {
+
+    private final double[] cumulative;
+
+    /**
+     * @param size 元素个数
+     * @param exponent 偏斜指数，越大越集中在排名靠前的元素
+     */
+    public ZipfDistribution(int size, double exponent) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Zipf size must be positive: " + size);
+        }
+        cumulative = new double[size];
+        double sum = 0;
+        for (int k = 0; k < size; k++) {
+            sum += 1 / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k < size; k++) {
+            cumulative[k] /= sum;
+        }
+    }
+
+    /**
+     * 采样一个排名
+     * @param random 随机数生成器
+     * @return 从0开始的排名
+     */
+    public int sample(RandomGenerator random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+
+    public int size() {
+        return cumulative.length;
+    }
+}